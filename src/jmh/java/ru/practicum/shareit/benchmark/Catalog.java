@@ -0,0 +1,76 @@
+package ru.practicum.shareit.benchmark;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Random;
+import java.util.StringJoiner;
+
+/**
+ * Детерминированный генератор каталога для бенчмарков: слова из слогов,
+ * частота слов убывает со степенным законом, как в реальных названиях.
+ */
+public final class Catalog {
+    private static final String[] SYLLABLES = {
+        "дре", "ль", "мо", "ло", "ток", "пи", "ла", "от", "вер", "тка",
+        "ку", "стр", "ка", "ле", "сни", "ца", "наб", "ор", "клю", "чей"
+    };
+    private static final String[] WORDS = new String[1000];
+
+    static {
+        for (int i = 0; i < WORDS.length; i++) {
+            WORDS[i] = SYLLABLES[i % 20] + SYLLABLES[i / 20 % 20] + SYLLABLES[i / 400];
+        }
+    }
+
+    public static final String FREQUENT_WORD = WORDS[50];
+    public static final String RARE_WORD = WORDS[WORDS.length - 1];
+
+    private Catalog() {
+    }
+
+    public static String word(Random random) {
+        return WORDS[(int) (WORDS.length * Math.pow(random.nextDouble(), 3))];
+    }
+
+    public static String text(Random random, int words) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < words; i++) {
+            joiner.add(word(random));
+        }
+        return joiner.toString();
+    }
+
+    public static Item item(Random random, int ownerId) {
+        return Item.builder()
+                .name(text(random, 2))
+                .description(text(random, 8))
+                .available(random.nextInt(10) != 0)
+                .ownerId(ownerId)
+                .build();
+    }
+
+    public static ItemDto itemDto(Random random) {
+        return ItemDto.builder()
+                .name(text(random, 2))
+                .description(text(random, 8))
+                .available(true)
+                .build();
+    }
+
+    public static User user(int number) {
+        return User.builder()
+                .name("user" + number)
+                .email("user" + number + "@mail.ru")
+                .build();
+    }
+
+    public static UserDto userDto(int number) {
+        return UserDto.builder()
+                .name("user" + number)
+                .email("user" + number + "@mail.ru")
+                .build();
+    }
+}
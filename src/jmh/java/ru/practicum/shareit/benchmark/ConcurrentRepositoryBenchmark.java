@@ -0,0 +1,108 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.item.dao.ItemStorageProperties;
+import ru.practicum.shareit.item.dao.ShardedItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Смешанная нагрузка на репозитории: в группе 6 потоков читают, 2 пишут.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ConcurrentRepositoryBenchmark {
+    static final int ITEMS_PER_OWNER = 50;
+
+    @Param({"100000"})
+    int catalogSize;
+
+    @Param({"heap", "sharded"})
+    String storage;
+
+    ItemRepository itemRepository;
+    UserRepository userRepository;
+    int owners;
+    AtomicInteger nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        itemRepository = "sharded".equals(storage)
+                ? new ShardedItemRepository(new ItemStorageProperties())
+                : new ItemRepositoryInMemory();
+        userRepository = new UserRepositoryInMemory();
+        owners = Math.max(1, catalogSize / ITEMS_PER_OWNER);
+        for (int i = 0; i < owners; i++) {
+            userRepository.create(Catalog.user(i));
+        }
+        nextUser = new AtomicInteger(owners);
+        for (int i = 0; i < catalogSize; i++) {
+            itemRepository.create(Catalog.item(random, 1 + i % owners));
+        }
+    }
+
+    @Benchmark
+    @Group("items")
+    @GroupThreads(3)
+    public Optional<Item> readItemById() {
+        return itemRepository.findItemById(1 + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    @Benchmark
+    @Group("items")
+    @GroupThreads(3)
+    public List<Item> readSearch() {
+        return itemRepository.findItemsByParams(Catalog.word(ThreadLocalRandom.current()), true);
+    }
+
+    @Benchmark
+    @Group("items")
+    @GroupThreads(2)
+    public Item writeItem() {
+        return itemRepository.create(Catalog.item(ThreadLocalRandom.current(),
+                1 + ThreadLocalRandom.current().nextInt(owners)));
+    }
+
+    @Benchmark
+    @Group("users")
+    @GroupThreads(6)
+    public Optional<User> readUserById() {
+        return userRepository.findUserById(1 + ThreadLocalRandom.current().nextInt(owners));
+    }
+
+    @Benchmark
+    @Group("users")
+    @GroupThreads(2)
+    public User writeUser() {
+        return userRepository.create(Catalog.user(nextUser.incrementAndGet()));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMapperBenchmark {
+    Item item;
+    ItemDto itemDto;
+    User user;
+    UserDto userDto;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        item = Catalog.item(random, 1);
+        item.setId(1);
+        itemDto = ItemDtoMapper.mapItemToItemDto(item);
+        user = Catalog.user(1);
+        user.setId(1);
+        userDto = UserDtoMapper.mapUserToUserDto(user);
+    }
+
+    @Benchmark
+    public ItemDto mapItemToItemDto() {
+        return ItemDtoMapper.mapItemToItemDto(item);
+    }
+
+    @Benchmark
+    public Item mapItemDtoToItem() {
+        return ItemDtoMapper.mapItemDtoToItem(itemDto);
+    }
+
+    @Benchmark
+    public UserDto mapUserToUserDto() {
+        return UserDtoMapper.mapUserToUserDto(user);
+    }
+
+    @Benchmark
+    public User mapUserDtoToUser() {
+        return UserDtoMapper.mapUserDtoToUser(userDto);
+    }
+}
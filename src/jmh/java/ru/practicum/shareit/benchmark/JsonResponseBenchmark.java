@@ -0,0 +1,86 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.json.JsonResponseCache;
+import ru.practicum.shareit.pagination.Page;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ответ на чтение вещи и страницы из 20 вещей: прежний путь (DTO и сериализация Jackson на каждый запрос)
+ * против готового JSON по версии из {@link JsonResponseCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonResponseBenchmark {
+    static final int PAGE_SIZE = 20;
+
+    ObjectMapper objectMapper;
+    JsonResponseCache jsonCache;
+    Item item;
+    List<Item> items;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        objectMapper = new ObjectMapper();
+        jsonCache = new JsonResponseCache(objectMapper, new CacheProperties());
+        items = new ArrayList<>();
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            Item generated = Catalog.item(random, 1);
+            generated.setId(i);
+            generated.setVersion(1);
+            items.add(generated);
+        }
+        item = items.getFirst();
+    }
+
+    @Benchmark
+    public byte[] itemSerialized() throws Exception {
+        ItemDto dto = ItemDtoMapper.mapItemToItemDto(item);
+        return ResponseEntity.ok().eTag(ETags.of(dto.getVersion())).body(objectMapper.writeValueAsBytes(dto)).getBody();
+    }
+
+    @Benchmark
+    public byte[] itemCached() {
+        return jsonCache.entity(null, ItemDto.class, item.getId(), item::getVersion,
+                () -> ItemDtoMapper.mapItemToItemDto(item), ItemDto::getVersion).getBody();
+    }
+
+    @Benchmark
+    public byte[] pageSerialized() throws Exception {
+        return objectMapper.writeValueAsBytes(items.stream().map(ItemDtoMapper::mapItemToItemDto).toList());
+    }
+
+    /**
+     * Страница из сервиса приходит DTO, поэтому отображение остается; не выполняется только сериализация.
+     */
+    @Benchmark
+    public byte[] pageCached() {
+        return jsonCache.page(new Page<>(items.stream().map(ItemDtoMapper::mapItemToItemDto).toList(), null),
+                ItemDto.class, ItemDto::getId, ItemDto::getVersion).getBody();
+    }
+}
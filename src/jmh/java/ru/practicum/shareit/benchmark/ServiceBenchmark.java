@@ -0,0 +1,135 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepositoryInMemory;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Сценарии ItemServiceImpl/UserServiceImpl поверх in-memory репозиториев, включая маппинг DTO.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ServiceBenchmark {
+    static final int ITEMS_PER_OWNER = 50;
+    static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, null);
+
+    @Param({"10000", "100000"})
+    int catalogSize;
+
+    ItemService itemService;
+    UserService userService;
+    int owners;
+    int[] itemIds;
+    ItemDto[] patches;
+    AtomicInteger nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        UserRepository userRepository = new UserRepositoryInMemory();
+        ItemRepository itemRepository = new ItemRepositoryInMemory();
+        userService = new UserServiceImpl(userRepository, itemRepository);
+        itemService = new ItemServiceImpl(itemRepository, userRepository,
+                new ItemRequestRepositoryInMemory());
+
+        owners = Math.max(1, catalogSize / ITEMS_PER_OWNER);
+        for (int i = 0; i < owners; i++) {
+            userService.create(Catalog.userDto(i));
+        }
+        nextUser = new AtomicInteger(owners);
+
+        itemIds = new int[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            itemIds[i] = itemService.create(1 + i % owners, Catalog.itemDto(random)).getId();
+        }
+        patches = new ItemDto[1024];
+        for (int i = 0; i < patches.length; i++) {
+            patches[i] = ItemDto.builder().description(Catalog.text(random, 8)).build();
+        }
+    }
+
+    @Benchmark
+    public ItemDto createItem() {
+        return itemService.create(1 + ThreadLocalRandom.current().nextInt(owners),
+                Catalog.itemDto(ThreadLocalRandom.current()));
+    }
+
+    @Benchmark
+    public ItemDto updateItem() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int index = random.nextInt(itemIds.length);
+        return itemService.update(1 + index % owners, itemIds[index], patches[random.nextInt(patches.length)]);
+    }
+
+    @Benchmark
+    public ItemDto findItemById() {
+        return itemService.findItemById(itemIds[ThreadLocalRandom.current().nextInt(itemIds.length)]);
+    }
+
+    @Benchmark
+    public List<ItemDto> findUserItems() {
+        return itemService.findUserItems(1 + ThreadLocalRandom.current().nextInt(owners), PageRequest.UNPAGED).getContent();
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItems() {
+        return itemService.searchItems(Catalog.RARE_WORD, true, PageRequest.UNPAGED).getContent();
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemsFirstPage() {
+        return itemService.searchItems(Catalog.FREQUENT_WORD, true, FIRST_PAGE).getContent();
+    }
+
+    @Benchmark
+    public UserDto createUser() {
+        return userService.create(Catalog.userDto(nextUser.incrementAndGet()));
+    }
+
+    @Benchmark
+    public UserDto updateUser() {
+        int userId = 1 + ThreadLocalRandom.current().nextInt(owners);
+        return userService.update(userId, UserDto.builder().name("renamed" + userId).build());
+    }
+
+    @Benchmark
+    public List<UserDto> getAllUsers() {
+        return userService.getAllUsers(PageRequest.UNPAGED).getContent();
+    }
+
+    @Benchmark
+    public List<UserDto> getUsersFirstPage() {
+        return userService.getAllUsers(FIRST_PAGE).getContent();
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка пересечения и списки владельца на горячих вещах с длинной историей бронирований:
+ * у каждой вещи непрерывная цепочка подтвержденных часовых бронирований, половина - в прошлом.
+ * {@code isItemBookedByScan} - проверка перебором всех бронирований вещи, для сравнения.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx3g")
+public class BookingRepositoryBenchmark {
+    static final int OWNER_ID = 1;
+    static final int HOT_ITEMS = 10;
+    static final int BOOKERS = 1000;
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+    static final PageRequest FIRST_PAGE = new PageRequest(0, 20, 0);
+
+    @Param({"100000", "1000000"})
+    int bookings;
+
+    BookingRepository repository;
+    List<List<Booking>> bookingsByItem;
+    int hoursPerItem;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new BookingRepositoryInMemory();
+        bookingsByItem = new ArrayList<>();
+        hoursPerItem = bookings / HOT_ITEMS;
+        for (int itemId = 1; itemId <= HOT_ITEMS; itemId++) {
+            List<Booking> itemBookings = new ArrayList<>(hoursPerItem);
+            LocalDateTime start = NOW.minusHours(hoursPerItem / 2);
+            for (int i = 0; i < hoursPerItem; i++) {
+                LocalDateTime end = start.plusHours(1);
+                itemBookings.add(repository.create(Booking.builder()
+                        .itemId(itemId)
+                        .ownerId(OWNER_ID)
+                        .bookerId(2 + i % BOOKERS)
+                        .start(start)
+                        .end(end)
+                        .status(BookingStatus.APPROVED)
+                        .build()));
+                start = end;
+            }
+            bookingsByItem.add(itemBookings);
+        }
+    }
+
+    @Benchmark
+    public boolean isItemBooked() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = NOW.plusMinutes(random.nextLong(-30L * hoursPerItem, 30L * hoursPerItem));
+        return repository.isItemBooked(1 + random.nextInt(HOT_ITEMS), start, start.plusMinutes(30));
+    }
+
+    @Benchmark
+    public boolean isItemBookedByScan() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime start = NOW.plusMinutes(random.nextLong(-30L * hoursPerItem, 30L * hoursPerItem));
+        LocalDateTime end = start.plusMinutes(30);
+        for (Booking booking : bookingsByItem.get(random.nextInt(HOT_ITEMS))) {
+            if (booking.getStart().isBefore(end) && booking.getEnd().isAfter(start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public List<Booking> ownerCurrent() {
+        return repository.findBookingsByOwner(OWNER_ID, BookingState.CURRENT, NOW, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerPastPage() {
+        return repository.findBookingsByOwner(OWNER_ID, BookingState.PAST, NOW, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Booking> ownerFuturePage() {
+        return repository.findBookingsByOwner(OWNER_ID, BookingState.FUTURE, NOW, FIRST_PAGE);
+    }
+}
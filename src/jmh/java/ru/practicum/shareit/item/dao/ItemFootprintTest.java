@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item.dao;
+
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.model.Item;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Замер памяти на одну вещь: заполняет хранилище вещами из {@link Catalog} и сравнивает занятую кучу
+ * после сборки мусора и память вне кучи. Аргументы: хранилища через запятую (heap,slab), число вещей.
+ */
+public final class ItemFootprintTest {
+    private static final int OWNERS = 10_000;
+
+    private ItemFootprintTest() {
+    }
+
+    public static void main(String[] args) {
+        String[] storages = (args.length > 0 ? args[0] : "heap,slab").split(",");
+        int items = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        List<String> report = new ArrayList<>();
+        for (String storage : storages) {
+            report.add(run(storage, items));
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String storage, int items) {
+        long heapBefore = usedHeap();
+        long directBefore = usedDirect();
+
+        ItemStorageProperties properties = new ItemStorageProperties();
+        ItemRepository repository = "slab".equals(storage)
+                ? new SlabItemRepository(properties)
+                : new ItemRepositoryInMemory();
+        Random random = new Random(42);
+        long payload = 0;
+        for (int created = 0; created < items; created += 1_000) {
+            List<Item> chunk = new ArrayList<>(1_000);
+            for (int i = 0; i < Math.min(1_000, items - created); i++) {
+                Item item = Catalog.item(random, (created + i) % OWNERS + 1);
+                payload += item.getName().getBytes().length + item.getDescription().getBytes().length;
+                chunk.add(item);
+            }
+            repository.createAll(chunk);
+        }
+
+        long heap = usedHeap() - heapBefore;
+        long direct = usedDirect() - directBefore;
+        String line = String.format("%-5s items=%d heap %d B/item, off-heap %d B/item, total %d B/item (UTF-8 text %d B/item)",
+                storage, items, heap / items, direct / items, (heap + direct) / items, payload / items);
+        // хранилище должно дожить до замера
+        repository.findItemById(items);
+        return line;
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> "direct".equals(pool.getName()))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
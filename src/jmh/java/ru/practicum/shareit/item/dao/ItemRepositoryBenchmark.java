@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.dao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class ItemRepositoryBenchmark {
+    static final int ITEMS_PER_OWNER = 50;
+
+    @Param({"10000", "100000"})
+    int catalogSize;
+
+    ItemRepository repository;
+    Item[] items;
+    String[] descriptions;
+    String[] prefixes;
+    int owners;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        repository = new ItemRepositoryInMemory();
+        owners = Math.max(1, catalogSize / ITEMS_PER_OWNER);
+        items = new Item[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            items[i] = repository.create(Catalog.item(random, 1 + i % owners));
+        }
+        descriptions = new String[1024];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = Catalog.text(random, 8);
+        }
+        // префиксы, которые набирает пользователь: от 1 до 4 первых букв названий
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = items[random.nextInt(catalogSize)].getName();
+            prefixes[i] = name.substring(0, 1 + random.nextInt(Math.min(4, name.length())));
+        }
+    }
+
+    @Benchmark
+    public List<Item> suggestByPrefix() {
+        return repository.findItemsByNamePrefix(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], 10);
+    }
+
+    @Benchmark
+    public List<Item> searchByPrefixFirstPage() {
+        return repository.findItemsByParams(prefixes[ThreadLocalRandom.current().nextInt(prefixes.length)], true,
+                new PageRequest(0, 10, 0));
+    }
+
+    @Benchmark
+    public Item rename() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Item item = items[random.nextInt(items.length)];
+        item.setName(descriptions[random.nextInt(descriptions.length)].substring(0, 12));
+        return repository.update(item);
+    }
+
+    @Benchmark
+    public List<Item> searchFrequentWord() {
+        return repository.findItemsByParams(Catalog.FREQUENT_WORD, true);
+    }
+
+    @Benchmark
+    public List<Item> searchRareWord() {
+        return repository.findItemsByParams(Catalog.RARE_WORD, true);
+    }
+
+    @Benchmark
+    public List<Item> searchShortQuery() {
+        return repository.findItemsByParams("чей", false);
+    }
+
+    @Benchmark
+    public List<Item> findItemsByUser() {
+        return repository.findItemsByUser(1 + ThreadLocalRandom.current().nextInt(owners));
+    }
+
+    @Benchmark
+    public Item update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Item item = items[random.nextInt(items.length)];
+        item.setDescription(descriptions[random.nextInt(descriptions.length)]);
+        return repository.update(item);
+    }
+}
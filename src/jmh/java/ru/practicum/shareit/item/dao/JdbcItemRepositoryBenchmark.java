@@ -0,0 +1,109 @@
+package ru.practicum.shareit.item.dao;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dao.JdbcUserRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Те же сценарии, что в {@link ItemRepositoryBenchmark}, для JDBC-хранилища поверх H2 в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class JdbcItemRepositoryBenchmark {
+    static final int ITEMS_PER_OWNER = 50;
+    static final PageRequest FIRST_PAGE = new PageRequest(0, 20, 0);
+
+    @Param({"10000"})
+    int catalogSize;
+
+    HikariDataSource dataSource;
+    ItemRepository repository;
+    Item[] items;
+    String[] descriptions;
+    int owners;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).execute(dataSource);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        JdbcUserRepository userRepository = new JdbcUserRepository(jdbcTemplate);
+        repository = new JdbcItemRepository(jdbcTemplate);
+
+        Random random = new Random(42);
+        owners = Math.max(1, catalogSize / ITEMS_PER_OWNER);
+        for (int i = 1; i <= owners; i++) {
+            userRepository.create(Catalog.user(i));
+        }
+        items = new Item[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            items[i] = repository.create(Catalog.item(random, 1 + i % owners));
+        }
+        descriptions = new String[1024];
+        for (int i = 0; i < descriptions.length; i++) {
+            descriptions[i] = Catalog.text(random, 8);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+    }
+
+    @Benchmark
+    public List<Item> searchFrequentWordFirstPage() {
+        return repository.findItemsByParams(Catalog.FREQUENT_WORD, true, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<Item> searchRareWord() {
+        return repository.findItemsByParams(Catalog.RARE_WORD, true);
+    }
+
+    @Benchmark
+    public List<Item> findItemsByUser() {
+        return repository.findItemsByUser(1 + ThreadLocalRandom.current().nextInt(owners));
+    }
+
+    @Benchmark
+    public Optional<Item> findItemById() {
+        return repository.findItemById(items[ThreadLocalRandom.current().nextInt(items.length)].getId());
+    }
+
+    @Benchmark
+    public Item update() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Item item = items[random.nextInt(items.length)];
+        item.setDescription(descriptions[random.nextInt(descriptions.length)]);
+        return repository.update(item);
+    }
+}
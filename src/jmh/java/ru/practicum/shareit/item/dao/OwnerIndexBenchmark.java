@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item.dao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Изменения и чтение вещей одного владельца с большим числом вещей.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class OwnerIndexBenchmark {
+    static final int OWNER_ID = 1;
+    static final PageRequest FIRST_PAGE = new PageRequest(0, 20, 0);
+
+    @Param({"1000", "50000"})
+    int ownerItems;
+
+    ItemRepository repository;
+    Item[] items;
+    Random random;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        random = new Random(42);
+        repository = new ItemRepositoryInMemory();
+        items = new Item[ownerItems];
+        for (int i = 0; i < ownerItems; i++) {
+            items[i] = repository.create(Catalog.item(random, OWNER_ID));
+        }
+    }
+
+    /**
+     * Удаление случайной вещи владельца и создание новой на ее место.
+     */
+    @Benchmark
+    public Item replaceItem() {
+        int slot = ThreadLocalRandom.current().nextInt(items.length);
+        repository.deleteById(items[slot].getId());
+        items[slot] = repository.create(Catalog.item(random, OWNER_ID));
+        return items[slot];
+    }
+
+    @Benchmark
+    public Item update() {
+        Item item = items[ThreadLocalRandom.current().nextInt(items.length)];
+        item.setAvailable(!item.isAvailable());
+        return repository.update(item);
+    }
+
+    @Benchmark
+    public List<Item> firstPage() {
+        return repository.findItemsByUser(OWNER_ID, FIRST_PAGE);
+    }
+}
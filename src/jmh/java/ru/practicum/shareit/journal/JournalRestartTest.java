@@ -0,0 +1,94 @@
+package ru.practicum.shareit.journal;
+
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.item.model.Item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Замер перезапуска хранилища вещей с журналом: заполняет хранилище, закрывает его и
+ * измеряет восстановление только из журнала и из снимка, после которого журнал пуст.
+ * Отдельно замеряется чтение записей без применения, то есть доля самого журнала во времени старта.
+ * Аргументы: число вещей (по умолчанию 1 000 000), размер пакета записи.
+ */
+public final class JournalRestartTest {
+    private static final int OWNERS = 10_000;
+
+    private JournalRestartTest() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int batch = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        List<String> report = new ArrayList<>();
+        report.add(run("journal", items, batch, 0));
+        report.add(run("snapshot", items, batch, items));
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int items, int batch, long snapshotEvery) throws IOException {
+        Path directory = Files.createTempDirectory("shareit-journal");
+        try {
+            JournalProperties properties = new JournalProperties();
+            properties.setEnabled(true);
+            properties.setDirectory(directory);
+            properties.setSnapshotEvery(snapshotEvery);
+
+            Random random = new Random(42);
+            long start = System.nanoTime();
+            ItemRepositoryInMemory repository = new ItemRepositoryInMemory(properties);
+            for (int created = 0; created < items; created += batch) {
+                List<Item> chunk = new ArrayList<>(batch);
+                for (int i = 0; i < Math.min(batch, items - created); i++) {
+                    chunk.add(Catalog.item(random, (created + i) % OWNERS + 1));
+                }
+                repository.createAll(chunk);
+            }
+            repository.close();
+            long writeMillis = (System.nanoTime() - start) / 1_000_000;
+            long bytes = size(directory);
+
+            System.gc();
+            start = System.nanoTime();
+            long[] records = {0};
+            Journal.open("items", properties, record -> records[0]++, out -> { }).close();
+            long readMillis = (System.nanoTime() - start) / 1_000_000;
+
+            System.gc();
+            start = System.nanoTime();
+            ItemRepositoryInMemory restarted = new ItemRepositoryInMemory(properties);
+            long restartMillis = (System.nanoTime() - start) / 1_000_000;
+            int restored = restarted.findItemById(items).isPresent() ? items : -1;
+            restarted.close();
+
+            return String.format("%-8s items=%d written in %d ms, files %d MB, read %d records in %d ms, restart %d ms (last item %s)",
+                    mode, items, writeMillis, bytes >> 20, records[0], readMillis, restartMillis,
+                    restored > 0 ? "restored" : "missing");
+        } finally {
+            delete(directory);
+        }
+    }
+
+    private static long size(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.reactive.ReactiveServer;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Нагрузочное сравнение стеков: одно приложение с MVC на Tomcat и реактивным API на Netty
+ * на случайных портах, одни и те же запросы к обоим при растущем числе одновременных соединений.
+ * Для каждого стека выводится наибольшее число соединений на ядро, при котором p99 укладывается в порог.
+ * Аргументы: число соединений через запятую, длительность замера в секундах, порог p99 в миллисекундах.
+ */
+public final class StackLoadTest {
+    private static final int USERS = 1_000;
+    private static final int ITEMS_PER_USER = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private StackLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int[] connections = Arrays.stream((args.length > 0 ? args[0] : "16,64,256,1024").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        Duration duration = Duration.ofSeconds(args.length > 1 ? Integer.parseInt(args[1]) : 30);
+        double p99Limit = args.length > 2 ? Double.parseDouble(args[2]) : 50;
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                // в application.properties реактивный сервер выключен, аргументы запуска важнее файла
+                .run("--shareit.reactive.enabled=true", "--shareit.reactive.port=0");
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            seed(context);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+            URI mvc = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            URI reactive = URI.create("http://localhost:" + context.getBean(ReactiveServer.class).port());
+
+            List<String> report = new ArrayList<>();
+            for (String stack : List.of("mvc", "reactive")) {
+                URI base = "mvc".equals(stack) ? mvc : reactive;
+                drive(client, base, connections[0], WARMUP);
+                int withinLimit = 0;
+                for (int count : connections) {
+                    Result result = drive(client, base, count, duration);
+                    report.add(String.format("%-8s connections=%d requests=%d errors=%d throughput=%.0f req/s "
+                                    + "p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                            stack, count, result.latencies.length, result.errors,
+                            result.latencies.length / (double) duration.toSeconds(),
+                            result.percentile(50), result.percentile(99), result.percentile(99.9), result.percentile(100)));
+                    if (result.percentile(99) <= p99Limit) {
+                        withinLimit = count;
+                    }
+                }
+                report.add(String.format("%-8s connections per core with p99 <= %.0f ms: %d (cores=%d)",
+                        stack, p99Limit, withinLimit / cores, cores));
+            }
+            report.forEach(System.out::println);
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        Random random = new Random(42);
+        UserService userService = context.getBean(UserService.class);
+        ItemService itemService = context.getBean(ItemService.class);
+        for (int i = 1; i <= USERS; i++) {
+            int userId = userService.create(Catalog.userDto(i)).getId();
+            for (int j = 0; j < ITEMS_PER_USER; j++) {
+                itemService.create(userId, Catalog.itemDto(random));
+            }
+        }
+    }
+
+    private static Result drive(HttpClient client, URI base, int connections, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                futures.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(base);
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            recorder.record(System.nanoTime() - start, status >= 400);
+                        } catch (IOException e) {
+                            recorder.record(System.nanoTime() - start, true);
+                        }
+                    }
+                    return recorder;
+                }));
+            }
+
+            Recorder total = new Recorder();
+            for (Future<Recorder> future : futures) {
+                total.merge(future.get());
+            }
+            return new Result(total.sorted(), total.errors);
+        }
+    }
+
+    /**
+     * Смесь запросов, которые есть в обоих стеках: карточка вещи, вещи владельца, поиск и профиль пользователя.
+     */
+    private static HttpRequest nextRequest(URI base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userId = 1 + random.nextInt(USERS);
+        int kind = random.nextInt(10);
+        HttpRequest.Builder request;
+        if (kind < 5) {
+            request = HttpRequest.newBuilder(base.resolve("/items/" + (1 + random.nextInt(USERS * ITEMS_PER_USER))));
+        } else if (kind < 7) {
+            request = HttpRequest.newBuilder(base.resolve("/items?size=20"))
+                    .header("X-Sharer-User-Id", String.valueOf(userId));
+        } else if (kind < 9) {
+            String text = URLEncoder.encode(Catalog.word(random), StandardCharsets.UTF_8);
+            request = HttpRequest.newBuilder(base.resolve("/items/search?size=20&text=" + text));
+        } else {
+            request = HttpRequest.newBuilder(base.resolve("/users/" + userId));
+        }
+        return request.GET().build();
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(latencies, count);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
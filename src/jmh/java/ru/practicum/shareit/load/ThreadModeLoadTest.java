@@ -0,0 +1,181 @@
+package ru.practicum.shareit.load;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Нагрузочный тест режимов обработки запросов: поднимает приложение на случайном порту
+ * с пулом платформенных потоков Tomcat или с виртуальными потоками и сравнивает
+ * пропускную способность и задержки при большом числе одновременных клиентов.
+ * Аргументы: режимы через запятую (platform,virtual), число клиентов, длительность замера в секундах.
+ */
+public final class ThreadModeLoadTest {
+    private static final int USERS = 1_000;
+    private static final int ITEMS_PER_USER = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+
+    private ThreadModeLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] modes = (args.length > 0 ? args[0] : "platform,virtual").split(",");
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Integer.parseInt(args[2]) : 30);
+
+        List<String> report = new ArrayList<>();
+        for (String mode : modes) {
+            report.add(run(mode, clients, duration));
+        }
+        report.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int clients, Duration duration) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .properties("server.port=0",
+                        "spring.threads.virtual.enabled=" + "virtual".equals(mode),
+                        "logging.level.root=WARN")
+                .run();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seed(context);
+
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+            URI base = URI.create("http://localhost:" + port);
+            drive(client, base, clients, WARMUP);
+            Result result = drive(client, base, clients, duration);
+
+            return String.format("%-8s clients=%d requests=%d errors=%d throughput=%.0f req/s "
+                            + "p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                    mode, clients, result.latencies.length, result.errors,
+                    result.latencies.length / (double) duration.toSeconds(),
+                    result.percentile(50), result.percentile(99), result.percentile(99.9), result.percentile(100));
+        }
+    }
+
+    private static void seed(ConfigurableApplicationContext context) {
+        Random random = new Random(42);
+        UserService userService = context.getBean(UserService.class);
+        ItemService itemService = context.getBean(ItemService.class);
+        for (int i = 1; i <= USERS; i++) {
+            int userId = userService.create(Catalog.userDto(i)).getId();
+            for (int j = 0; j < ITEMS_PER_USER; j++) {
+                itemService.create(userId, Catalog.itemDto(random));
+            }
+        }
+    }
+
+    private static Result drive(HttpClient client, URI base, int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Recorder>> futures = new ArrayList<>();
+            for (int i = 0; i < clients; i++) {
+                futures.add(executor.submit(() -> {
+                    Recorder recorder = new Recorder();
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = nextRequest(base);
+                        long start = System.nanoTime();
+                        try {
+                            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            recorder.record(System.nanoTime() - start, status >= 400);
+                        } catch (IOException e) {
+                            recorder.record(System.nanoTime() - start, true);
+                        }
+                    }
+                    return recorder;
+                }));
+            }
+
+            Recorder total = new Recorder();
+            for (Future<Recorder> future : futures) {
+                total.merge(future.get());
+            }
+            return new Result(total.sorted(), total.errors);
+        }
+    }
+
+    /**
+     * Смесь запросов: карточка вещи, вещи владельца, поиск и профиль пользователя.
+     */
+    private static HttpRequest nextRequest(URI base) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int userId = 1 + random.nextInt(USERS);
+        int kind = random.nextInt(10);
+        HttpRequest.Builder request;
+        if (kind < 5) {
+            request = HttpRequest.newBuilder(base.resolve("/items/" + (1 + random.nextInt(USERS * ITEMS_PER_USER))));
+        } else if (kind < 7) {
+            request = HttpRequest.newBuilder(base.resolve("/items?size=20"))
+                    .header("X-Sharer-User-Id", String.valueOf(userId));
+        } else if (kind < 9) {
+            String text = URLEncoder.encode(Catalog.word(random), StandardCharsets.UTF_8);
+            request = HttpRequest.newBuilder(base.resolve("/items/search?size=20&text=" + text));
+        } else {
+            request = HttpRequest.newBuilder(base.resolve("/users/" + userId));
+        }
+        return request.GET().build();
+    }
+
+    private static final class Recorder {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        void record(long nanos, boolean error) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (error) {
+                errors++;
+            }
+        }
+
+        void merge(Recorder other) {
+            for (int i = 0; i < other.count; i++) {
+                record(other.latencies[i], false);
+            }
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] result = Arrays.copyOf(latencies, count);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    private record Result(long[] latencies, long errors) {
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package ru.practicum.shareit.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Нагрузочный тест со смесью запросов, похожей на реальную: поднимает приложение на случайном порту,
+ * заполняет каталог и в течение замера отправляет создание пользователей и вещей, изменение вещей,
+ * поиск и списки вещей владельца. Владелец ({@code X-Sharer-User-Id}) выбирается по закону Ципфа:
+ * немногие активные владельцы дают большую часть запросов. По каждому эндпоинту выводятся
+ * пропускная способность и задержки p50/p99/p99.9 по HDR-гистограмме.
+ * Аргументы: доли запросов ({@code createUser=1,createItem=4,updateItem=10,search=45,list=40}),
+ * число клиентов, длительность замера в секундах, показатель распределения Ципфа.
+ */
+public final class TrafficMixLoadTest {
+    private static final int USERS = 1_000;
+    private static final int ITEMS_PER_USER = 20;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final String DEFAULT_MIX = "createUser=1,createItem=4,updateItem=10,search=45,list=40";
+
+    private final URI base;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper;
+    private final Endpoint[] mix;
+    private final Zipf owners;
+    private final int[][] itemsByOwner;
+    private final AtomicInteger createdUsers = new AtomicInteger();
+    private final Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    private TrafficMixLoadTest(URI base, HttpClient client, ObjectMapper objectMapper, Endpoint[] mix,
+                               Zipf owners, int[][] itemsByOwner) {
+        this.base = base;
+        this.client = client;
+        this.objectMapper = objectMapper;
+        this.mix = mix;
+        this.owners = owners;
+        this.itemsByOwner = itemsByOwner;
+        for (Endpoint endpoint : Endpoint.values()) {
+            // до минуты с точностью до трех значащих цифр
+            latencies.put(endpoint, new Recorder(TimeUnit.MINUTES.toNanos(1), 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Endpoint[] mix = parseMix(args.length > 0 ? args[0] : DEFAULT_MIX);
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Duration duration = Duration.ofSeconds(args.length > 2 ? Integer.parseInt(args[2]) : 30);
+        double exponent = args.length > 3 ? Double.parseDouble(args[3]) : 1.1;
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(ShareItApp.class)
+                .properties("server.port=0", "logging.level.root=WARN")
+                .run();
+             ExecutorService clientThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(clientThreads)
+                    .build();
+            TrafficMixLoadTest test = new TrafficMixLoadTest(URI.create("http://localhost:" + port), client,
+                    context.getBean(ObjectMapper.class), mix, new Zipf(USERS, exponent), seed(context));
+
+            test.drive(clients, WARMUP);
+            test.reset();
+            test.drive(clients, duration);
+            System.out.printf("clients=%d duration=%ds zipf=%.2f mix=%s%n",
+                    clients, duration.toSeconds(), exponent, args.length > 0 ? args[0] : DEFAULT_MIX);
+            test.report(duration).forEach(System.out::println);
+        }
+    }
+
+    /**
+     * Заполняет каталог и возвращает id вещей каждого владельца: владелец с номером {@code i} имеет id {@code i + 1}.
+     */
+    private static int[][] seed(ConfigurableApplicationContext context) {
+        Random random = new Random(42);
+        UserService userService = context.getBean(UserService.class);
+        ItemService itemService = context.getBean(ItemService.class);
+        int[][] itemsByOwner = new int[USERS][ITEMS_PER_USER];
+        for (int i = 0; i < USERS; i++) {
+            int userId = userService.create(Catalog.userDto(i + 1)).getId();
+            for (int j = 0; j < ITEMS_PER_USER; j++) {
+                itemsByOwner[i][j] = itemService.create(userId, Catalog.itemDto(random)).getId();
+            }
+        }
+        return itemsByOwner;
+    }
+
+    /**
+     * Доли вида {@code search=45,list=40}; не указанные эндпоинты не вызываются.
+     */
+    private static Endpoint[] parseMix(String mix) {
+        List<Endpoint> slots = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] weight = part.split("=");
+            Endpoint endpoint = Endpoint.byName(weight[0].trim());
+            for (int i = Integer.parseInt(weight[1].trim()); i > 0; i--) {
+                slots.add(endpoint);
+            }
+        }
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Пустая смесь запросов: " + mix);
+        }
+        return slots.toArray(Endpoint[]::new);
+    }
+
+    private void drive(int clients, Duration duration) throws Exception {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        send(mix[ThreadLocalRandom.current().nextInt(mix.length)]);
+                    }
+                    return null;
+                });
+            }
+        }
+    }
+
+    private void send(Endpoint endpoint) throws IOException, InterruptedException {
+        HttpRequest request = request(endpoint);
+        long start = System.nanoTime();
+        boolean failed;
+        try {
+            failed = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() >= 400;
+        } catch (IOException e) {
+            failed = true;
+        }
+        latencies.get(endpoint).recordValue(Math.min(System.nanoTime() - start, TimeUnit.MINUTES.toNanos(1)));
+        if (failed) {
+            errors.get(endpoint).increment();
+        }
+    }
+
+    private HttpRequest request(Endpoint endpoint) throws IOException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int owner = owners.next(random);
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .header("X-Sharer-User-Id", String.valueOf(owner + 1));
+        return switch (endpoint) {
+            case CREATE_USER -> {
+                int number = createdUsers.incrementAndGet();
+                yield json(request.uri(base.resolve("/users")), "POST",
+                        Map.of("name", "load" + number, "email", "load" + number + "@load.ru"));
+            }
+            case CREATE_ITEM -> json(request.uri(base.resolve("/items")), "POST", Catalog.itemDto(random));
+            case UPDATE_ITEM -> {
+                int[] items = itemsByOwner[owner];
+                yield json(request.uri(base.resolve("/items/" + items[random.nextInt(items.length)])), "PATCH",
+                        Map.of("description", Catalog.text(random, 8)));
+            }
+            case SEARCH -> request.uri(base.resolve("/items/search?size=20&text="
+                    + URLEncoder.encode(Catalog.word(random), StandardCharsets.UTF_8))).GET().build();
+            case LIST -> request.uri(base.resolve("/items?size=20")).GET().build();
+        };
+    }
+
+    private HttpRequest json(HttpRequest.Builder request, String method, Object body) throws IOException {
+        return request.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private void reset() {
+        latencies.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    private List<String> report(Duration duration) {
+        List<String> report = new ArrayList<>();
+        Histogram total = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        long totalErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = latencies.get(endpoint).getIntervalHistogram();
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            total.add(histogram);
+            totalErrors += errors.get(endpoint).sum();
+            report.add(line(endpoint.title, histogram, errors.get(endpoint).sum(), duration));
+        }
+        report.add(line("total", total, totalErrors, duration));
+        return report;
+    }
+
+    private static String line(String title, Histogram histogram, long errors, Duration duration) {
+        return String.format("%-18s requests=%d errors=%d throughput=%.0f req/s "
+                        + "p50=%.2f ms p99=%.2f ms p99.9=%.2f ms max=%.2f ms",
+                title, histogram.getTotalCount(), errors, histogram.getTotalCount() / (double) duration.toSeconds(),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private enum Endpoint {
+        CREATE_USER("createUser", "POST /users"),
+        CREATE_ITEM("createItem", "POST /items"),
+        UPDATE_ITEM("updateItem", "PATCH /items/{id}"),
+        SEARCH("search", "GET /items/search"),
+        LIST("list", "GET /items");
+
+        private final String name;
+        private final String title;
+
+        Endpoint(String name, String title) {
+            this.name = name;
+            this.title = title;
+        }
+
+        static Endpoint byName(String name) {
+            return Arrays.stream(values())
+                    .filter(endpoint -> endpoint.name.equals(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalArgumentException("Неизвестный эндпоинт в смеси запросов: " + name));
+        }
+    }
+
+    /**
+     * Распределение Ципфа на номерах {@code 0..n-1}: вероятность номера {@code k} пропорциональна
+     * {@code 1 / (k + 1)^exponent}. Номер выбирается двоичным поиском по накопленным вероятностям.
+     */
+    static final class Zipf {
+        private final double[] cumulative;
+
+        Zipf(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1 / Math.pow(k + 1, exponent);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        int next(Random random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.user.dao;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.Catalog;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class UserRepositoryBenchmark {
+    @Param({"1000", "100000"})
+    int userCount;
+
+    UserRepository repository;
+    String[] emails;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new UserRepositoryInMemory();
+        emails = new String[userCount];
+        for (int i = 0; i < userCount; i++) {
+            emails[i] = repository.create(Catalog.user(i)).getEmail();
+        }
+    }
+
+    @Benchmark
+    public List<User> findAllUsers() {
+        return repository.findAllUsers();
+    }
+
+    @Benchmark
+    public Optional<User> findUserByEmail() {
+        return repository.findUserByEmail(emails[ThreadLocalRandom.current().nextInt(emails.length)]);
+    }
+
+    @Benchmark
+    public Optional<User> findUserById() {
+        return repository.findUserById(1 + ThreadLocalRandom.current().nextInt(userCount));
+    }
+}
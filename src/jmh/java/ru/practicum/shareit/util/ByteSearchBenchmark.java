@@ -0,0 +1,110 @@
+package ru.practicum.shareit.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.benchmark.Catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Проверка вхождения редкого слова в описания вещей без учета регистра: {@code toLowerCase().contains()},
+ * {@code contains()} по заранее приведенным к нижнему регистру строкам и поиск в байтах UTF-8
+ * обычным циклом и на Vector API. Короткие описания - 8 слов (~60 символов), длинные - 300 слов.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ByteSearchBenchmark {
+    static final int DESCRIPTIONS = 1000;
+
+    @Param({"8", "300"})
+    int words;
+
+    String[] descriptions;
+    String[] lowerDescriptions;
+    byte[][] utf8Descriptions;
+    String query;
+    byte[] pattern;
+    ByteSearch.Kernel scalar;
+    ByteSearch.Kernel vector;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        descriptions = new String[DESCRIPTIONS];
+        lowerDescriptions = new String[DESCRIPTIONS];
+        utf8Descriptions = new byte[DESCRIPTIONS][];
+        for (int i = 0; i < DESCRIPTIONS; i++) {
+            String text = Catalog.text(random, words);
+            descriptions[i] = Character.toUpperCase(text.charAt(0)) + text.substring(1);
+            lowerDescriptions[i] = descriptions[i].toLowerCase();
+            utf8Descriptions[i] = lowerDescriptions[i].getBytes(StandardCharsets.UTF_8);
+        }
+        query = Catalog.RARE_WORD.toUpperCase();
+        pattern = query.toLowerCase().getBytes(StandardCharsets.UTF_8);
+        scalar = (text, pattern) -> ByteSearch.scalarIndexOf(text, pattern, 0);
+        vector = new VectorByteSearch();
+    }
+
+    @Benchmark
+    public int lowerCaseContains() {
+        String lowerQuery = query.toLowerCase();
+        int found = 0;
+        for (String description : descriptions) {
+            if (description.toLowerCase().contains(lowerQuery)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Прежняя проверка кандидатов в индексе n-грамм.
+     */
+    @Benchmark
+    public int lowerStringContains() {
+        String lowerQuery = query.toLowerCase();
+        int found = 0;
+        for (String description : lowerDescriptions) {
+            if (description.contains(lowerQuery)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int scalarBytes() {
+        return count(scalar);
+    }
+
+    @Benchmark
+    public int vectorBytes() {
+        return count(vector);
+    }
+
+    private int count(ByteSearch.Kernel kernel) {
+        int found = 0;
+        for (byte[] description : utf8Descriptions) {
+            if (kernel.indexOf(description, pattern) >= 0) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
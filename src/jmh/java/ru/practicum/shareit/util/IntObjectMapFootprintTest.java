@@ -0,0 +1,50 @@
+package ru.practicum.shareit.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Замер памяти {@link IntObjectMap} против {@code HashMap<Integer, Object>}: занятая куча после сборки мусора
+ * до и после заполнения. Аргумент: число записей.
+ */
+public final class IntObjectMapFootprintTest {
+
+    private IntObjectMapFootprintTest() {
+    }
+
+    public static void main(String[] args) {
+        int entries = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Object value = new Object();
+
+        long before = usedHeapAfterGc();
+        IntObjectMap<Object> intMap = new IntObjectMap<>();
+        for (int i = 1; i <= entries; i++) {
+            intMap.put(i, value);
+        }
+        long intMapBytes = usedHeapAfterGc() - before;
+        // карта должна дожить до замера
+        intMap.get(entries);
+        intMap = null;
+
+        before = usedHeapAfterGc();
+        Map<Integer, Object> hashMap = new HashMap<>();
+        for (int i = 1; i <= entries; i++) {
+            hashMap.put(i, value);
+        }
+        long hashMapBytes = usedHeapAfterGc() - before;
+        hashMap.get(entries);
+
+        System.out.printf("entries=%d IntObjectMap %d B (%.1f B/entry), HashMap %d B (%.1f B/entry)%n",
+                entries, intMapBytes, (double) intMapBytes / entries, hashMapBytes, (double) hashMapBytes / entries);
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Data;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Результат обработки одного элемента пакетного запроса: статус в терминах HTTP
+ * и созданный/измененный объект либо текст ошибки.
+ */
+@Data
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResult<T> {
+    public static final int MAX_BATCH_SIZE = 1000;
+
+    private int index;
+    private int status;
+    private T result;
+    private String error;
+
+    public static <T> BatchResult<T> created(int index, T result) {
+        return BatchResult.<T>builder().index(index).status(HttpStatus.CREATED.value()).result(result).build();
+    }
+
+    public static <T> BatchResult<T> updated(int index, T result) {
+        return BatchResult.<T>builder().index(index).status(HttpStatus.OK.value()).result(result).build();
+    }
+
+    public static <T> BatchResult<T> failed(int index, RuntimeException e) {
+        HttpStatus status;
+        if (e instanceof ValidationException) {
+            status = HttpStatus.BAD_REQUEST;
+        } else if (e instanceof NoSuchElementException) {
+            status = HttpStatus.NOT_FOUND;
+        } else if (e instanceof UserEmailConfilct) {
+            status = HttpStatus.CONFLICT;
+        } else {
+            throw e;
+        }
+        return BatchResult.<T>builder().index(index).status(status.value()).error(e.getMessage()).build();
+    }
+
+    public static void checkSize(int size) {
+        if (size > MAX_BATCH_SIZE) {
+            throw new ValidationException("В пакете больше " + MAX_BATCH_SIZE + " элементов");
+        }
+    }
+}
@@ -1,12 +1,61 @@
 package ru.practicum.shareit.booking;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.List;
 
-/**
- * TODO Sprint add-bookings.
- */
 @RestController
+@RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    private final BookingService bookingService;
+
+    @PostMapping
+    public BookingDto create(@RequestHeader("X-Sharer-User-Id") int userId,
+                             @RequestBody NewBookingDto bookingDto) {
+        return bookingService.create(userId, bookingDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public BookingDto approve(@RequestHeader("X-Sharer-User-Id") int userId,
+                              @PathVariable int bookingId,
+                              @RequestParam boolean approved) {
+        return bookingService.approve(userId, bookingId, approved);
+    }
+
+    @GetMapping("/{bookingId}")
+    public BookingDto getBookingById(@RequestHeader("X-Sharer-User-Id") int userId,
+                                     @PathVariable int bookingId) {
+        return bookingService.findBookingById(userId, bookingId);
+    }
+
+    @GetMapping
+    public List<BookingDto> getBookerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                              @RequestParam(defaultValue = "ALL") String state,
+                                              @RequestParam(required = false) Integer from,
+                                              @RequestParam(required = false) Integer size) {
+        return bookingService.findBookerBookings(userId, BookingState.parse(state), PageRequest.of(from, size, null));
+    }
+
+    @GetMapping("/owner")
+    public List<BookingDto> getOwnerBookings(@RequestHeader("X-Sharer-User-Id") int userId,
+                                             @RequestParam(defaultValue = "ALL") String state,
+                                             @RequestParam(required = false) Integer from,
+                                             @RequestParam(required = false) Integer size) {
+        return bookingService.findOwnerBookings(userId, BookingState.parse(state), PageRequest.of(from, size, null));
+    }
 }
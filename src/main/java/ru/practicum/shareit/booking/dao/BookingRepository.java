@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BookingRepository {
+    /**
+     * Сохраняет бронирование. Подтвержденное бронирование сохраняется, только если вещь свободна на это время.
+     *
+     * @throws ValidationException если подтвержденное бронирование пересекается с другим подтвержденным
+     */
+    Booking create(Booking booking);
+
+    /**
+     * Меняет статус бронирования, если текущий статус равен {@code expected}. Проверка статуса и подтверждение,
+     * которое проверяет, что вещь свободна на время бронирования, выполняются атомарно.
+     *
+     * @throws ValidationException если статус бронирования уже не {@code expected} или подтверждаемое бронирование
+     *                             пересекается с другим подтвержденным
+     */
+    Booking updateStatus(int bookingId, BookingStatus expected, BookingStatus status);
+
+    Optional<Booking> findBookingById(int bookingId);
+
+    /**
+     * Есть ли у вещи подтвержденное бронирование, пересекающееся с {@code [start, end)}.
+     */
+    boolean isItemBooked(int itemId, LocalDateTime start, LocalDateTime end);
+
+    /**
+     * Бронирования пользователя по убыванию начала, при равном начале - по убыванию id.
+     */
+    List<Booking> findBookingsByBooker(int bookerId, BookingState state, LocalDateTime now, PageRequest page);
+
+    /**
+     * Бронирования вещей владельца по убыванию начала, при равном начале - по убыванию id.
+     */
+    List<Booking> findBookingsByOwner(int ownerId, BookingState state, LocalDateTime now, PageRequest page);
+
+    static void checkStatus(Booking booking, BookingStatus expected) {
+        if (booking.getStatus() != expected) {
+            throw statusChanged(booking.getId(), expected);
+        }
+    }
+
+    static ValidationException statusChanged(int bookingId, BookingStatus expected) {
+        return new ValidationException(expected == BookingStatus.WAITING
+                ? "Бронирование id=" + bookingId + " уже рассмотрено"
+                : "Бронирование id=" + bookingId + " уже не в статусе " + expected);
+    }
+
+    /**
+     * Подходит ли бронирование под отбор в момент {@code now}; начало включается в бронирование, конец - нет.
+     */
+    static boolean matches(Booking booking, BookingState state, LocalDateTime now) {
+        return switch (state) {
+            case ALL -> true;
+            case CURRENT -> !booking.getStart().isAfter(now) && booking.getEnd().isAfter(now);
+            case PAST -> !booking.getEnd().isAfter(now);
+            case FUTURE -> booking.getStart().isAfter(now);
+            case WAITING -> booking.getStatus() == BookingStatus.WAITING;
+            case REJECTED -> booking.getStatus() == BookingStatus.REJECTED;
+        };
+    }
+}
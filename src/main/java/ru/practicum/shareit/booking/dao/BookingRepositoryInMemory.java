@@ -0,0 +1,266 @@
+package ru.practicum.shareit.booking.dao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.journal.Journal;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.journal.JournalRecords;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.util.IntObjectMap;
+import ru.practicum.shareit.util.StripedLock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Бронирования в памяти. У каждой вещи - подтвержденные бронирования по началу: они не пересекаются, поэтому
+ * проверка пересечения - один поиск ближайшего бронирования, начавшегося раньше конца проверяемого интервала.
+ * Списки арендатора и владельца - в упорядоченных по времени лентах {@link BookingTimeline}.
+ * Изменения бронирований одной вещи выполняются под блокировкой вещи, чтение не блокируется.
+ * С включенным журналом ({@code shareit.journal.enabled}) каждое изменение дописывается в журнал {@code bookings}.
+ */
+@Repository
+@Profile("!jdbc")
+public class BookingRepositoryInMemory implements BookingRepository, MeterBinder {
+    private static final byte PUT_RECORD = 1;
+    private static final byte LAST_ID_RECORD = 3;
+    private static final BookingStatus[] STATUSES = BookingStatus.values();
+
+    private final IntObjectMap<Booking> bookingsById = new IntObjectMap<>();
+    private final IntObjectMap<ConcurrentSkipListMap<LocalDateTime, Booking>> approvedByItemId = new IntObjectMap<>();
+    private final IntObjectMap<BookingTimeline> timelinesByBookerId = new IntObjectMap<>();
+    private final IntObjectMap<BookingTimeline> timelinesByOwnerId = new IntObjectMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final StripedLock itemLocks = new StripedLock();
+    private final Journal journal;
+
+    public BookingRepositoryInMemory() {
+        journal = null;
+    }
+
+    /**
+     * С включенным журналом восстанавливает бронирования из снимка и журнала и дописывает в него каждое изменение.
+     */
+    @Autowired
+    public BookingRepositoryInMemory(JournalProperties journalProperties) {
+        // пока журнал восстанавливается, поле еще не задано и восстановленные изменения повторно не пишутся
+        journal = journalProperties.isEnabled()
+                ? Journal.open("bookings", journalProperties, this::replay, this::writeState)
+                : null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.bookings.count", bookingsById, IntObjectMap::size)
+                .description("Число бронирований")
+                .register(registry);
+    }
+
+    @Override
+    public Booking create(Booking booking) {
+        booking.setId(lastId.incrementAndGet());
+        long position = itemLocks.withLock(booking.getItemId(), () -> {
+            if (booking.getStatus() == BookingStatus.APPROVED) {
+                approve(booking);
+            }
+            bookingsById.put(booking.getId(), booking);
+            timeline(timelinesByBookerId, booking.getBookerId()).put(booking, null);
+            timeline(timelinesByOwnerId, booking.getOwnerId()).put(booking, null);
+            return logPut(booking);
+        });
+        awaitDurable(position);
+        return booking;
+    }
+
+    @Override
+    public Booking updateStatus(int bookingId, BookingStatus expected, BookingStatus status) {
+        Booking booking = bookingsById.get(bookingId);
+        if (booking == null) {
+            throw new NoSuchElementException("Не найдено бронирование с id=" + bookingId);
+        }
+        Booking[] result = new Booking[1];
+        long position = itemLocks.withLock(booking.getItemId(), () -> {
+            Booking oldBooking = bookingsById.get(bookingId);
+            BookingRepository.checkStatus(oldBooking, expected);
+            Booking updated = oldBooking.toBuilder().status(status).build();
+            if (status == BookingStatus.APPROVED && oldBooking.getStatus() != BookingStatus.APPROVED) {
+                approve(updated);
+            } else if (status != BookingStatus.APPROVED && oldBooking.getStatus() == BookingStatus.APPROVED) {
+                approvedByItemId.get(oldBooking.getItemId()).remove(oldBooking.getStart(), oldBooking);
+            }
+            bookingsById.put(bookingId, updated);
+            timelinesByBookerId.get(updated.getBookerId()).put(updated, oldBooking.getStatus());
+            timelinesByOwnerId.get(updated.getOwnerId()).put(updated, oldBooking.getStatus());
+            result[0] = updated;
+            return logPut(updated);
+        });
+        awaitDurable(position);
+        return result[0];
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(int bookingId) {
+        return Optional.ofNullable(bookingsById.get(bookingId));
+    }
+
+    @Override
+    public boolean isItemBooked(int itemId, LocalDateTime start, LocalDateTime end) {
+        ConcurrentSkipListMap<LocalDateTime, Booking> approved = approvedByItemId.get(itemId);
+        return approved != null && overlaps(approved, start, end);
+    }
+
+    @Override
+    public List<Booking> findBookingsByBooker(int bookerId, BookingState state, LocalDateTime now, PageRequest page) {
+        return find(timelinesByBookerId.get(bookerId), state, now, page);
+    }
+
+    @Override
+    public List<Booking> findBookingsByOwner(int ownerId, BookingState state, LocalDateTime now, PageRequest page) {
+        return find(timelinesByOwnerId.get(ownerId), state, now, page);
+    }
+
+    private static List<Booking> find(BookingTimeline timeline, BookingState state, LocalDateTime now, PageRequest page) {
+        if (timeline == null) {
+            return List.of();
+        }
+        return timeline.find(state, now)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList();
+    }
+
+    /**
+     * Добавляет бронирование в подтвержденные бронирования вещи; вызывается под блокировкой вещи.
+     */
+    private void approve(Booking booking) {
+        ConcurrentSkipListMap<LocalDateTime, Booking> approved = approvedByItemId.get(booking.getItemId());
+        if (approved == null) {
+            approved = new ConcurrentSkipListMap<>();
+            approvedByItemId.put(booking.getItemId(), approved);
+        }
+        if (overlaps(approved, booking.getStart(), booking.getEnd())) {
+            throw new ValidationException("Вещь id=" + booking.getItemId() + " уже забронирована на это время");
+        }
+        approved.put(booking.getStart(), booking);
+    }
+
+    /**
+     * Подтвержденные бронирования не пересекаются, поэтому их концы возрастают вместе с началами: пересечение
+     * с {@code [start, end)} возможно только у последнего бронирования, начавшегося раньше {@code end}.
+     */
+    private static boolean overlaps(ConcurrentSkipListMap<LocalDateTime, Booking> approved,
+                                    LocalDateTime start, LocalDateTime end) {
+        Map.Entry<LocalDateTime, Booking> before = approved.lowerEntry(end);
+        return before != null && before.getValue().getEnd().isAfter(start);
+    }
+
+    private long logPut(Booking booking) {
+        return journal != null ? journal.append(putRecord(booking)) : 0L;
+    }
+
+    private void awaitDurable(long position) {
+        if (journal != null) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    /**
+     * Запись - полное состояние бронирования, поэтому повтор уже примененной записи ничего не меняет.
+     * Пересечение подтвержденных бронирований не проверяется: до последней записи бронирования его состояние
+     * может быть устаревшим.
+     */
+    private void replay(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case PUT_RECORD -> {
+                Booking booking = Booking.builder()
+                        .id(record.getInt())
+                        .start(JournalRecords.getDateTime(record))
+                        .end(JournalRecords.getDateTime(record))
+                        .itemId(record.getInt())
+                        .ownerId(record.getInt())
+                        .bookerId(record.getInt())
+                        .status(STATUSES[record.get()])
+                        .build();
+                lastId.accumulateAndGet(booking.getId(), Math::max);
+                Booking oldBooking = bookingsById.put(booking.getId(), booking);
+                BookingStatus oldStatus = oldBooking != null ? oldBooking.getStatus() : null;
+                if (oldStatus == BookingStatus.APPROVED) {
+                    approvedByItemId.get(oldBooking.getItemId()).remove(oldBooking.getStart(), oldBooking);
+                }
+                if (booking.getStatus() == BookingStatus.APPROVED) {
+                    ConcurrentSkipListMap<LocalDateTime, Booking> approved = approvedByItemId.get(booking.getItemId());
+                    if (approved == null) {
+                        approved = new ConcurrentSkipListMap<>();
+                        approvedByItemId.put(booking.getItemId(), approved);
+                    }
+                    approved.put(booking.getStart(), booking);
+                }
+                timeline(timelinesByBookerId, booking.getBookerId()).put(booking, oldStatus);
+                timeline(timelinesByOwnerId, booking.getOwnerId()).put(booking, oldStatus);
+            }
+            case LAST_ID_RECORD -> lastId.accumulateAndGet(record.getInt(), Math::max);
+            default -> throw new IllegalStateException("Неизвестный тип записи журнала бронирований: " + type);
+        }
+    }
+
+    private void writeState(Consumer<byte[]> out) {
+        int maxId = lastId.get();
+        out.accept(ByteBuffer.allocate(1 + Integer.BYTES).put(LAST_ID_RECORD).putInt(maxId).array());
+        for (int bookingId = 1; bookingId <= maxId; bookingId++) {
+            Booking booking = bookingsById.get(bookingId);
+            if (booking != null) {
+                out.accept(putRecord(booking));
+            }
+        }
+    }
+
+    private static byte[] putRecord(Booking booking) {
+        ByteBuffer record = ByteBuffer.allocate(1 + 4 * Integer.BYTES + 2 * (Long.BYTES + Integer.BYTES) + 1)
+                .put(PUT_RECORD)
+                .putInt(booking.getId());
+        JournalRecords.putDateTime(record, booking.getStart());
+        JournalRecords.putDateTime(record, booking.getEnd());
+        return record.putInt(booking.getItemId())
+                .putInt(booking.getOwnerId())
+                .putInt(booking.getBookerId())
+                .put((byte) booking.getStatus().ordinal())
+                .array();
+    }
+
+    private static BookingTimeline timeline(IntObjectMap<BookingTimeline> timelines, int userId) {
+        BookingTimeline timeline = timelines.get(userId);
+        if (timeline == null) {
+            BookingTimeline created = new BookingTimeline();
+            timeline = timelines.putIfAbsent(userId, created);
+            if (timeline == null) {
+                timeline = created;
+            }
+        }
+        return timeline;
+    }
+}
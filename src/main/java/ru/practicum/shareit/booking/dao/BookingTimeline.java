@@ -0,0 +1,74 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * Бронирования одного пользователя (арендатора или владельца вещей) по убыванию начала, при равном начале -
+ * по убыванию id. Отбор по времени начинается с нужного места индекса: будущие - начало позже текущего момента,
+ * текущие - начало не раньше, чем самое долгое бронирование назад, прошедшие - начало не позже текущего момента.
+ * Поэтому запрос страницы не просматривает всю историю. Для отбора по статусу есть отдельные индексы.
+ *
+ * <p>Чтение не блокируется, изменения упорядочены блокировкой ленты.
+ */
+class BookingTimeline {
+    private final ConcurrentSkipListMap<Key, Booking> all = new ConcurrentSkipListMap<>();
+    private final Map<BookingStatus, ConcurrentSkipListMap<Key, Booking>> byStatus = new EnumMap<>(BookingStatus.class);
+    private volatile Duration longest = Duration.ZERO;
+
+    BookingTimeline() {
+        for (BookingStatus status : BookingStatus.values()) {
+            byStatus.put(status, new ConcurrentSkipListMap<>());
+        }
+    }
+
+    /**
+     * Добавляет бронирование или заменяет прежнее состояние бронирования с тем же id.
+     *
+     * @param oldStatus статус прежнего состояния, {@code null} - бронирование новое
+     */
+    synchronized void put(Booking booking, BookingStatus oldStatus) {
+        Key key = new Key(booking.getStart(), booking.getId());
+        Duration duration = Duration.between(booking.getStart(), booking.getEnd());
+        if (duration.compareTo(longest) > 0) {
+            longest = duration;
+        }
+        all.put(key, booking);
+        if (oldStatus != null && oldStatus != booking.getStatus()) {
+            byStatus.get(oldStatus).remove(key);
+        }
+        byStatus.get(booking.getStatus()).put(key, booking);
+    }
+
+    Stream<Booking> find(BookingState state, LocalDateTime now) {
+        // первый ключ с началом в момент now: раньше него - только начавшиеся позже
+        Key point = new Key(now, Integer.MAX_VALUE);
+        return switch (state) {
+            case ALL -> all.values().stream();
+            case FUTURE -> all.headMap(point, false).values().stream();
+            case CURRENT -> all.subMap(point, true, new Key(now.minus(longest), Integer.MIN_VALUE), true).values().stream()
+                    .filter(booking -> booking.getEnd().isAfter(now));
+            // пропускаются только текущие бронирования
+            case PAST -> all.tailMap(point, true).values().stream()
+                    .filter(booking -> !booking.getEnd().isAfter(now));
+            case WAITING -> byStatus.get(BookingStatus.WAITING).values().stream();
+            case REJECTED -> byStatus.get(BookingStatus.REJECTED).values().stream();
+        };
+    }
+
+    private record Key(LocalDateTime start, int id) implements Comparable<Key> {
+        @Override
+        public int compareTo(Key other) {
+            int byStart = other.start.compareTo(start);
+            return byStart != 0 ? byStart : Integer.compare(other.id, id);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Бронирования в БД. Пересечение проверяется по индексу {@code (item_id, status, start_date)}: читается одно
+ * подтвержденное бронирование вещи, начавшееся последним; подтверждения одной вещи упорядочены блокировкой строки
+ * вещи. Бронирования владельца находятся по индексам вещей владельца и бронирований вещи и сортируются в запросе.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcBookingRepository implements BookingRepository {
+    private static final String BOOKING_COLUMNS =
+            "b.id, b.start_date, b.end_date, b.item_id, i.owner_id, b.booker_id, b.status";
+    private static final String FROM_BOOKINGS = " FROM bookings b JOIN items i ON i.id = b.item_id";
+    private static final RowMapper<Booking> BOOKING_MAPPER = (rs, rowNum) -> Booking.builder()
+            .id(rs.getInt("id"))
+            .start(rs.getTimestamp("start_date").toLocalDateTime())
+            .end(rs.getTimestamp("end_date").toLocalDateTime())
+            .itemId(rs.getInt("item_id"))
+            .ownerId(rs.getInt("owner_id"))
+            .bookerId(rs.getInt("booker_id"))
+            .status(BookingStatus.valueOf(rs.getString("status")))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcBookingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional
+    public Booking create(Booking booking) {
+        if (booking.getStatus() == BookingStatus.APPROVED) {
+            checkItemFree(booking);
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("INSERT INTO bookings (start_date, end_date, item_id, booker_id, status) "
+                        + "VALUES (:start, :end, :itemId, :bookerId, :status)",
+                new MapSqlParameterSource()
+                        .addValue("start", Timestamp.valueOf(booking.getStart()))
+                        .addValue("end", Timestamp.valueOf(booking.getEnd()))
+                        .addValue("itemId", booking.getItemId())
+                        .addValue("bookerId", booking.getBookerId())
+                        .addValue("status", booking.getStatus().name()),
+                keyHolder, new String[]{"id"});
+        booking.setId(keyHolder.getKeyAs(Integer.class));
+        return booking;
+    }
+
+    @Override
+    @Transactional
+    public Booking updateStatus(int bookingId, BookingStatus expected, BookingStatus status) {
+        Booking booking = findBookingById(bookingId)
+                .orElseThrow(() -> new NoSuchElementException("Не найдено бронирование с id=" + bookingId));
+        BookingRepository.checkStatus(booking, expected);
+        Booking updated = booking.toBuilder().status(status).build();
+        if (status == BookingStatus.APPROVED && booking.getStatus() != BookingStatus.APPROVED) {
+            checkItemFree(updated);
+        }
+        // статус мог смениться после чтения: изменение проходит, только если он все еще expected
+        if (jdbcTemplate.update("UPDATE bookings SET status = ? WHERE id = ? AND status = ?",
+                status.name(), bookingId, expected.name()) == 0) {
+            throw BookingRepository.statusChanged(bookingId, expected);
+        }
+        return updated;
+    }
+
+    @Override
+    public Optional<Booking> findBookingById(int bookingId) {
+        return jdbcTemplate.query("SELECT " + BOOKING_COLUMNS + FROM_BOOKINGS + " WHERE b.id = ?", BOOKING_MAPPER, bookingId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public boolean isItemBooked(int itemId, LocalDateTime start, LocalDateTime end) {
+        // подтвержденные бронирования вещи не пересекаются, поэтому достаточно последнего начавшегося до end
+        return jdbcTemplate.queryForList("SELECT end_date FROM bookings WHERE item_id = ? AND status = 'APPROVED' "
+                                + "AND start_date < ? ORDER BY start_date DESC LIMIT 1",
+                        Timestamp.class, itemId, Timestamp.valueOf(end)).stream()
+                .anyMatch(lastEnd -> lastEnd.toLocalDateTime().isAfter(start));
+    }
+
+    @Override
+    public List<Booking> findBookingsByBooker(int bookerId, BookingState state, LocalDateTime now, PageRequest page) {
+        return find("b.booker_id = :userId", bookerId, state, now, page);
+    }
+
+    @Override
+    public List<Booking> findBookingsByOwner(int ownerId, BookingState state, LocalDateTime now, PageRequest page) {
+        return find("i.owner_id = :userId", ownerId, state, now, page);
+    }
+
+    private List<Booking> find(String userFilter, int userId, BookingState state, LocalDateTime now, PageRequest page) {
+        String stateFilter = switch (state) {
+            case ALL -> "TRUE";
+            case CURRENT -> "b.start_date <= :now AND b.end_date > :now";
+            case PAST -> "b.end_date <= :now";
+            case FUTURE -> "b.start_date > :now";
+            case WAITING, REJECTED -> "b.status = :status";
+        };
+        return namedJdbcTemplate.query("SELECT " + BOOKING_COLUMNS + FROM_BOOKINGS + " WHERE " + userFilter
+                        + " AND " + stateFilter + " ORDER BY b.start_date DESC, b.id DESC LIMIT :size OFFSET :from",
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("now", Timestamp.valueOf(now))
+                        .addValue("status", state.name())
+                        .addValue("size", page.getSize())
+                        .addValue("from", page.getFrom()),
+                BOOKING_MAPPER);
+    }
+
+    /**
+     * Блокирует строку вещи до конца транзакции и проверяет, что вещь свободна.
+     */
+    private void checkItemFree(Booking booking) {
+        if (jdbcTemplate.queryForList("SELECT id FROM items WHERE id = ? FOR UPDATE", Integer.class,
+                booking.getItemId()).isEmpty()) {
+            throw new NoSuchElementException("Не найдена вещь с id=" + booking.getItemId());
+        }
+        if (isItemBooked(booking.getItemId(), booking.getStart(), booking.getEnd())) {
+            throw new ValidationException("Вещь id=" + booking.getItemId() + " уже забронирована на это время");
+        }
+    }
+}
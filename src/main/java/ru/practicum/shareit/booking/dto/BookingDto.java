@@ -1,7 +1,20 @@
 package ru.practicum.shareit.booking.dto;
 
-/**
- * TODO Sprint add-bookings.
- */
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
 public class BookingDto {
+    private int id;
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private BookingStatus status;
+    private UserDto booker;
+    private ItemDto item;
 }
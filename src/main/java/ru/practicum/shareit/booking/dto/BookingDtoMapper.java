@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserDtoMapper;
+import ru.practicum.shareit.user.model.User;
+
+public class BookingDtoMapper {
+    /**
+     * Удаленные вещь или пользователь передаются как {@code null} и отображаются только своим id.
+     */
+    public static BookingDto mapBookingToBookingDto(Booking booking, Item item, User booker) {
+        return BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .status(booking.getStatus())
+                .item(item != null ? ItemDtoMapper.mapItemToItemDto(item) : ItemDto.builder().id(booking.getItemId()).build())
+                .booker(booker != null ? UserDtoMapper.mapUserToUserDto(booker) : UserDto.builder().id(booking.getBookerId()).build())
+                .build();
+    }
+
+    public static Booking mapNewBookingDtoToBooking(NewBookingDto bookingDto) {
+        return Booking.builder()
+                .itemId(bookingDto.getItemId())
+                .start(bookingDto.getStart())
+                .end(bookingDto.getEnd())
+                .build();
+    }
+}
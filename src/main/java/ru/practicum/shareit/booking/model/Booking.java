@@ -0,0 +1,24 @@
+package ru.practicum.shareit.booking.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class Booking {
+    private int id;
+    /**
+     * Начало бронирования включительно, конец - не включительно.
+     */
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private int itemId;
+    /**
+     * Владелец вещи; по нему ищутся бронирования вещей владельца.
+     */
+    private int ownerId;
+    private int bookerId;
+    private BookingStatus status;
+}
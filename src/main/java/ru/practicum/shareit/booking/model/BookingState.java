@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.model;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Отбор бронирований в списках: по времени относительно текущего момента или по статусу.
+ */
+public enum BookingState {
+    ALL,
+    /**
+     * Начались и еще не закончились.
+     */
+    CURRENT,
+    PAST,
+    FUTURE,
+    WAITING,
+    REJECTED;
+
+    public static BookingState parse(String state) {
+        try {
+            return valueOf(state);
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Неизвестное состояние бронирования: " + state);
+        }
+    }
+}
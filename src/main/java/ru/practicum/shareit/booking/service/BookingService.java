@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.List;
+
+public interface BookingService {
+    BookingDto create(int bookerId, NewBookingDto bookingDto);
+
+    /**
+     * Подтверждение или отклонение бронирования владельцем вещи.
+     */
+    BookingDto approve(int ownerId, int bookingId, boolean approved);
+
+    /**
+     * Бронирование, доступное только арендатору и владельцу вещи.
+     */
+    BookingDto findBookingById(int userId, int bookingId);
+
+    List<BookingDto> findBookerBookings(int bookerId, BookingState state, PageRequest page);
+
+    List<BookingDto> findOwnerBookings(int ownerId, BookingState state, PageRequest page);
+}
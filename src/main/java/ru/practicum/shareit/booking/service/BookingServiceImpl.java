@@ -0,0 +1,110 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.booking.dao.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoMapper;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
+@Counted("shareit.service.calls")
+public class BookingServiceImpl implements BookingService {
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public BookingDto create(int bookerId, NewBookingDto bookingDto) {
+        if (bookingDto.getItemId() == null
+            || bookingDto.getStart() == null
+            || bookingDto.getEnd() == null
+            || !bookingDto.getStart().isBefore(bookingDto.getEnd())
+            || bookingDto.getStart().isBefore(LocalDateTime.now())) {
+            throw new ValidationException("Некорректные данные бронирования");
+        }
+        User booker = findUser(bookerId);
+        Item item = findItem(bookingDto.getItemId());
+        if (item.getOwnerId() == bookerId) {
+            throw new NoSuchElementException("Владелец не может забронировать свою вещь id=" + item.getId());
+        }
+        if (!item.isAvailable()) {
+            throw new ValidationException("Вещь id=" + item.getId() + " недоступна для бронирования");
+        }
+        if (bookingRepository.isItemBooked(item.getId(), bookingDto.getStart(), bookingDto.getEnd())) {
+            throw new ValidationException("Вещь id=" + item.getId() + " уже забронирована на это время");
+        }
+
+        Booking booking = BookingDtoMapper.mapNewBookingDtoToBooking(bookingDto);
+        booking.setOwnerId(item.getOwnerId());
+        booking.setBookerId(bookerId);
+        booking.setStatus(BookingStatus.WAITING);
+        return BookingDtoMapper.mapBookingToBookingDto(bookingRepository.create(booking), item, booker);
+    }
+
+    @Override
+    public BookingDto approve(int ownerId, int bookingId, boolean approved) {
+        Booking booking = bookingRepository.findBookingById(bookingId)
+                .orElseThrow(() -> new NoSuchElementException("Не найдено бронирование с id=" + bookingId));
+        if (booking.getOwnerId() != ownerId) {
+            throw new ValidationException("Пользователь id=" + ownerId + " не может подтвердить бронирование id=" + bookingId);
+        }
+        return toDto(bookingRepository.updateStatus(bookingId, BookingStatus.WAITING,
+                approved ? BookingStatus.APPROVED : BookingStatus.REJECTED));
+    }
+
+    @Override
+    public BookingDto findBookingById(int userId, int bookingId) {
+        return bookingRepository.findBookingById(bookingId)
+                .filter(booking -> booking.getBookerId() == userId || booking.getOwnerId() == userId)
+                .map(this::toDto)
+                .orElseThrow(() -> new NoSuchElementException("Не найдено бронирование с id=" + bookingId));
+    }
+
+    @Override
+    public List<BookingDto> findBookerBookings(int bookerId, BookingState state, PageRequest page) {
+        findUser(bookerId);
+        return bookingRepository.findBookingsByBooker(bookerId, state, LocalDateTime.now(), page).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    @Override
+    public List<BookingDto> findOwnerBookings(int ownerId, BookingState state, PageRequest page) {
+        findUser(ownerId);
+        return bookingRepository.findBookingsByOwner(ownerId, state, LocalDateTime.now(), page).stream()
+                .map(this::toDto)
+                .toList();
+    }
+
+    private BookingDto toDto(Booking booking) {
+        return BookingDtoMapper.mapBookingToBookingDto(booking,
+                itemRepository.findItemById(booking.getItemId()).orElse(null),
+                userRepository.findUserById(booking.getBookerId()).orElse(null));
+    }
+
+    private User findUser(int userId) {
+        return userRepository.findUserById(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId));
+    }
+
+    private Item findItem(int itemId) {
+        return itemRepository.findItemById(itemId).orElseThrow(() -> new NoSuchElementException("Не найдена вещь с id=" + itemId));
+    }
+}
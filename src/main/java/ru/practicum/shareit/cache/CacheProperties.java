@@ -0,0 +1,58 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.function.ToIntFunction;
+
+/**
+ * Настройки кэша сущностей перед хранилищем: размер, время жизни записи.
+ */
+@Data
+@ConfigurationProperties("shareit.cache")
+public class CacheProperties {
+    /**
+     * Включает кэш вещей и пользователей перед хранилищем.
+     */
+    private boolean enabled;
+    /**
+     * Наибольшее число записей в каждом кэше; при превышении записи вытесняются по W-TinyLFU.
+     */
+    private long maximumSize = 10_000;
+    /**
+     * Время жизни записи после загрузки.
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+    /**
+     * Наибольшее суммарное число вещей в закэшированных результатах поиска.
+     */
+    private long searchMaximumItems = 100_000;
+    /**
+     * Наибольший суммарный размер JSON ответов, закэшированных по версии сущности; этот кэш включен всегда.
+     */
+    private DataSize jsonMaximumSize = DataSize.ofMegabytes(32);
+
+    public <K, V> Cache<K, V> newCache() {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Кэш списков: размер ограничивается суммарным числом элементов, а не числом записей.
+     */
+    public <K, V> Cache<K, V> newListCache(ToIntFunction<V> listSize) {
+        return Caffeine.newBuilder()
+                .maximumWeight(searchMaximumItems)
+                .weigher((K key, V value) -> listSize.applyAsInt(value) + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
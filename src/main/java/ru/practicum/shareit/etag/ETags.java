@@ -0,0 +1,36 @@
+package ru.practicum.shareit.etag;
+
+import java.security.SecureRandom;
+
+/**
+ * Условные GET по версии сущности: ETag - эпоха запуска и номер изменения в кавычках ({@code "эпоха-версия"}).
+ * Хранилище в памяти без журнала после перезапуска снова выдает id и версии с 1, и по одной версии другая вещь
+ * с тем же id выглядела бы неизменной; эпоха выбирается при запуске, поэтому ETag прошлого запуска не совпадет.
+ * Ответы строит {@link ru.practicum.shareit.json.JsonResponseCache}.
+ */
+public final class ETags {
+    private static final String EPOCH = Long.toString(new SecureRandom().nextLong() >>> 1, Character.MAX_RADIX);
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + EPOCH + "-" + version + "\"";
+    }
+
+    /**
+     * Сравнение для {@code If-None-Match}: слабое, {@code *} подходит к любой версии.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        for (String tag : ifNoneMatch.split(",")) {
+            String value = tag.strip();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
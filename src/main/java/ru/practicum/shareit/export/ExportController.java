@@ -0,0 +1,73 @@
+package ru.practicum.shareit.export;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Выгрузка всего каталога в NDJSON: по объекту JSON на строку. Записи читаются из хранилища частями
+ * и пишутся в ответ по мере чтения, так что память не зависит от размера каталога, а первые байты
+ * уходят клиенту после чтения первой части. Время выгрузки не ограничено: общий тайм-аут асинхронных
+ * запросов MVC (у Tomcat 30 секунд) оборвал бы выгрузку большого каталога или медленному клиенту.
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/export")
+public class ExportController {
+    static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final long NO_TIMEOUT = -1;
+
+    private final ItemService itemService;
+    private final UserService userService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping("/items")
+    public ResponseEntity<StreamingResponseBody> exportItems(HttpServletRequest request) {
+        return ndjson(request, itemService::exportItems, objectMapper.writerFor(ItemDto.class));
+    }
+
+    @GetMapping("/users")
+    public ResponseEntity<StreamingResponseBody> exportUsers(HttpServletRequest request) {
+        return ndjson(request, userService::exportUsers, objectMapper.writerFor(UserDto.class));
+    }
+
+    private <T> ResponseEntity<StreamingResponseBody> ndjson(HttpServletRequest request, Supplier<Stream<T>> rows,
+                                                             ObjectWriter writer) {
+        // асинхронный запрос еще не начат, поэтому тайм-аут можно задать только для этого запроса
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(NO_TIMEOUT);
+        return ResponseEntity.ok().contentType(NDJSON).body(out -> write(rows.get(), writer, out));
+    }
+
+    static <T> void write(Stream<T> rows, ObjectWriter writer, OutputStream out) throws IOException {
+        // буфер ограничивает число мелких записей в сокет; объем в памяти - один буфер и одна часть записей
+        OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+        try (rows) {
+            Iterator<T> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                buffered.write(writer.writeValueAsBytes(iterator.next()));
+                buffered.write('\n');
+            }
+        }
+        buffered.flush();
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -12,8 +14,11 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.json.JsonResponseCache;
+import ru.practicum.shareit.pagination.PageRequest;
 
 import java.util.List;
 
@@ -22,6 +27,7 @@ import java.util.List;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final JsonResponseCache jsonCache;
 
     @PostMapping
     public ItemDto create(@RequestHeader("X-Sharer-User-Id") int userId,
@@ -29,6 +35,12 @@ public class ItemController {
         return itemService.create(userId, itemDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<ItemDto>> createOrUpdateAll(@RequestHeader("X-Sharer-User-Id") int userId,
+                                                        @RequestBody List<@Valid ItemDto> itemDtos) {
+        return itemService.createOrUpdateAll(userId, itemDtos);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemDto update(@RequestHeader("X-Sharer-User-Id") int userId,
                           @PathVariable int itemId,
@@ -37,18 +49,34 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ItemDto getItemById(@PathVariable int itemId) {
-        return itemService.findItemById(itemId);
+    public ResponseEntity<byte[]> getItemById(@PathVariable int itemId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return jsonCache.entity(ifNoneMatch, ItemDto.class, itemId, () -> itemService.findItemVersion(itemId),
+                () -> itemService.findItemById(itemId), ItemDto::getVersion);
     }
 
     @GetMapping
-    public List<ItemDto> getUserItems(@RequestHeader("X-Sharer-User-Id") int userId) {
-        return itemService.findUserItems(userId);
+    public ResponseEntity<byte[]> getUserItems(@RequestHeader("X-Sharer-User-Id") int userId,
+                                               @RequestParam(required = false) Integer from,
+                                               @RequestParam(required = false) Integer size,
+                                               @RequestParam(required = false) String cursor) {
+        return jsonCache.page(itemService.findUserItems(userId, PageRequest.of(from, size, cursor)),
+                ItemDto.class, ItemDto::getId, ItemDto::getVersion);
     }
 
     @GetMapping("/search")
-    public List<ItemDto> searchItems(@RequestParam String text) {
-        return itemService.searchItems(text, true);
+    public ResponseEntity<byte[]> searchItems(@RequestParam String text,
+                                              @RequestParam(required = false) Integer from,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String cursor) {
+        return jsonCache.page(itemService.searchItems(text, true, PageRequest.of(from, size, cursor)),
+                ItemDto.class, ItemDto::getId, ItemDto::getVersion);
+    }
+
+    @GetMapping("/search/suggest")
+    public ResponseEntity<byte[]> suggestItems(@RequestParam String prefix,
+                                               @RequestParam(defaultValue = "10") int limit) {
+        return jsonCache.list(itemService.suggestItems(prefix, limit), ItemDto.class, ItemDto::getId, ItemDto::getVersion);
     }
 
     @DeleteMapping("/{itemId}")
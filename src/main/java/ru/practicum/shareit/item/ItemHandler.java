@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ReactiveItemService;
+import ru.practicum.shareit.reactive.ServerRequests;
+
+/**
+ * Реактивный вариант {@link ItemController} для сервера Netty.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ItemHandler {
+    private final ReactiveItemService itemService;
+    private final Validator validator;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/items", builder -> builder
+                        .GET("/search", this::searchItems)
+                        .GET("/{itemId}", this::getItemById)
+                        .GET("", this::getUserItems)
+                        .POST("", this::create)
+                        .PATCH("/{itemId}", this::update)
+                        .DELETE("/{itemId}", this::deleteById))
+                .build();
+    }
+
+    Mono<ServerResponse> create(ServerRequest request) {
+        int userId = ServerRequests.userId(request);
+        return ServerRequests.body(request, ItemDto.class, validator)
+                .flatMap(itemDto -> itemService.create(userId, itemDto))
+                .flatMap(item -> ServerResponse.ok().bodyValue(item));
+    }
+
+    Mono<ServerResponse> update(ServerRequest request) {
+        int userId = ServerRequests.userId(request);
+        int itemId = ServerRequests.pathInt(request, "itemId");
+        return ServerRequests.body(request, ItemDto.class, validator)
+                .flatMap(itemDto -> itemService.update(userId, itemId, itemDto))
+                .flatMap(item -> ServerResponse.ok().bodyValue(item));
+    }
+
+    Mono<ServerResponse> getItemById(ServerRequest request) {
+        return itemService.findItemById(ServerRequests.pathInt(request, "itemId"))
+                .flatMap(item -> ServerResponse.ok().bodyValue(item));
+    }
+
+    Mono<ServerResponse> getUserItems(ServerRequest request) {
+        return ServerRequests.list(request, itemService.findUserItems(ServerRequests.userId(request),
+                ServerRequests.page(request)), ItemDto.class);
+    }
+
+    Mono<ServerResponse> searchItems(ServerRequest request) {
+        String text = request.queryParam("text")
+                .orElseThrow(() -> new ValidationException("Не указан параметр text"));
+        return ServerRequests.list(request, itemService.searchItems(text, true, ServerRequests.page(request)), ItemDto.class);
+    }
+
+    Mono<ServerResponse> deleteById(ServerRequest request) {
+        return itemService.deleteItemById(ServerRequests.pathInt(request, "itemId"))
+                .then(ServerResponse.ok().build());
+    }
+}
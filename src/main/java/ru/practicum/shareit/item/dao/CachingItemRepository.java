@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Кэш вещей по id перед хранилищем. Записи загружаются только при чтении и сбрасываются после
+ * каждого изменения в хранилище; наружу отдаются копии, чтобы правки вызывающего не попадали в кэш до сохранения.
+ * Результаты поиска по тексту кэшируются отдельно, см. {@link ItemSearchCache}.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true")
+public class CachingItemRepository implements ItemRepository, MeterBinder {
+    private final ItemRepository storage;
+    private final Cache<Integer, Item> itemsById;
+    private final ItemSearchCache searchResults;
+
+    public CachingItemRepository(@Qualifier("itemStorage") ItemRepository storage, CacheProperties properties) {
+        this.storage = storage;
+        this.itemsById = properties.newCache();
+        this.searchResults = new ItemSearchCache(properties.newListCache(entry -> entry.items().size()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, itemsById, "items");
+        CaffeineCacheMetrics.monitor(registry, searchResults.results(), "items.search");
+    }
+
+    @Override
+    public Item create(Item item) {
+        storage.create(item);
+        searchResults.written(List.of(item));
+        return item;
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> items) {
+        storage.createAll(items);
+        searchResults.written(items);
+        return items;
+    }
+
+    @Override
+    public Item update(Item item) {
+        try {
+            return storage.update(item);
+        } finally {
+            itemsById.invalidate(item.getId());
+            searchResults.written(List.of(item));
+        }
+    }
+
+    @Override
+    public List<Item> updateAll(List<Item> items) {
+        try {
+            return storage.updateAll(items);
+        } finally {
+            itemsById.invalidateAll(items.stream().map(Item::getId).toList());
+            searchResults.written(items);
+        }
+    }
+
+    @Override
+    public void deleteById(int itemId) {
+        try {
+            storage.deleteById(itemId);
+        } finally {
+            itemsById.invalidate(itemId);
+            searchResults.deleted(itemId);
+        }
+    }
+
+    @Override
+    public Optional<Item> findItemById(int itemId) {
+        return Optional.ofNullable(itemsById.get(itemId, id -> storage.findItemById(id)
+                        .map(CachingItemRepository::copy)
+                        .orElse(null)))
+                .map(CachingItemRepository::copy);
+    }
+
+    @Override
+    public OptionalLong findItemVersion(int itemId) {
+        Item cached = itemsById.getIfPresent(itemId);
+        return cached != null ? OptionalLong.of(cached.getVersion()) : storage.findItemVersion(itemId);
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Integer> itemIds) {
+        // недостающие в кэше вещи читаются из хранилища одним запросом
+        return itemsById.getAll(itemIds, missing -> storage.findItemsByIds(Set.copyOf(missing)).stream()
+                        .collect(Collectors.toMap(Item::getId, CachingItemRepository::copy)))
+                .values().stream()
+                .sorted(Comparator.comparingInt(Item::getId))
+                .map(CachingItemRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findAllItems(PageRequest page) {
+        return storage.findAllItems(page);
+    }
+
+    @Override
+    public List<Item> findItemsByUser(int userId, PageRequest page) {
+        return storage.findItemsByUser(userId, page);
+    }
+
+    @Override
+    public List<Item> findItemsByParams(String text, boolean isOnlyAvailable, PageRequest page) {
+        if (page.getFrom() > 0 || text.isBlank()) {
+            return storage.findItemsByParams(text, isOnlyAvailable, page);
+        }
+        return searchResults.search(text, isOnlyAvailable, page.getSize(), page.getAfterId(),
+                        () -> storage.findItemsByParams(text, isOnlyAvailable, page)).stream()
+                .map(CachingItemRepository::copy)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findItemsByNamePrefix(String prefix, int limit) {
+        return storage.findItemsByNamePrefix(prefix, limit);
+    }
+
+    private static Item copy(Item item) {
+        return item.toBuilder().build();
+    }
+}
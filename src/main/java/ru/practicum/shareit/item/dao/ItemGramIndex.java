@@ -0,0 +1,65 @@
+package ru.practicum.shareit.item.dao;
+
+import ru.practicum.shareit.util.CompactIntSet;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Списки id вещей по n-граммам (длиной от 1 до {@link ItemTextIndex#MAX_GRAM_LENGTH} символов) текста вещей
+ * в нижнем регистре. Сами тексты не хранит: при изменении вещи n-граммы прежнего текста передает вызывающий,
+ * он же проверяет кандидатов длинного запроса. Изменения по одной вещи должны выполняться последовательно,
+ * чтение не блокируется.
+ */
+class ItemGramIndex {
+    private final Map<String, CompactIntSet> idsByGram = new ConcurrentHashMap<>();
+
+    /**
+     * Переносит вещь с n-грамм {@code oldGrams} на {@code grams}.
+     */
+    void replace(int itemId, Set<String> oldGrams, Set<String> grams) {
+        oldGrams.stream()
+                .filter(gram -> !grams.contains(gram))
+                .forEach(gram -> idsByGram.computeIfPresent(gram, (g, ids) -> {
+                    ids.remove(itemId);
+                    return ids.isEmpty() ? null : ids;
+                }));
+        grams.forEach(gram -> idsByGram.compute(gram, (g, ids) -> {
+            CompactIntSet posting = ids != null ? ids : new CompactIntSet();
+            posting.add(itemId);
+            return posting;
+        }));
+    }
+
+    /**
+     * id вещей по возрастанию, начиная с {@code fromId}, в тексте которых есть все n-граммы запроса в нижнем регистре.
+     * Запрос не длиннее {@link ItemTextIndex#MAX_GRAM_LENGTH} сам является n-граммой, и результат точный;
+     * для длинного запроса это кандидаты, которые нужно проверить по тексту.
+     */
+    IntStream candidates(String query, int fromId) {
+        if (query.length() <= ItemTextIndex.MAX_GRAM_LENGTH) {
+            CompactIntSet ids = idsByGram.get(query);
+            return ids == null ? IntStream.empty() : ids.stream(fromId);
+        }
+
+        List<CompactIntSet> postings = new ArrayList<>();
+        for (String gram : ItemTextIndex.grams(query, ItemTextIndex.MAX_GRAM_LENGTH)) {
+            CompactIntSet ids = idsByGram.get(gram);
+            if (ids == null) {
+                return IntStream.empty();
+            }
+            postings.add(ids);
+        }
+        postings.sort(Comparator.comparingInt(CompactIntSet::size));
+
+        CompactIntSet smallest = postings.getFirst();
+        List<CompactIntSet> others = postings.subList(1, postings.size());
+        return smallest.stream(fromId)
+                .filter(id -> others.stream().allMatch(ids -> ids.contains(id)));
+    }
+}
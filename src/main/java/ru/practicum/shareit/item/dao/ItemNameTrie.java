@@ -0,0 +1,233 @@
+package ru.practicum.shareit.item.dao;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Сжатое префиксное дерево (radix trie) нормализованных названий доступных вещей для подсказок.
+ * Изменение копирует путь от корня до измененного узла и публикует новый корень сравнением с тем, от которого
+ * строило путь; если корень успели заменить, путь строится заново. Поэтому ни чтение, ни изменения разных вещей
+ * не блокируются, а чтение видит согласованное дерево. В дереве нет узлов без вещей с единственным потомком,
+ * так что обход под префиксом посещает не больше двух узлов на найденную вещь.
+ */
+class ItemNameTrie {
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_IDS = new int[0];
+
+    private final AtomicReference<Node> root = new AtomicReference<>(new Node("", NO_CHILDREN, NO_IDS));
+
+    /**
+     * Переносит вещь в дереве с ключа {@code oldKey} на {@code newKey}, см. {@link #key(Item)}; {@code null} - вещи
+     * в дереве нет. Прежний ключ хранит вызывающий, изменения одной вещи должны выполняться последовательно.
+     */
+    void replace(int itemId, String oldKey, String newKey) {
+        if (Objects.equals(oldKey, newKey)) {
+            return;
+        }
+        Node current;
+        Node updated;
+        do {
+            current = root.get();
+            updated = current;
+            if (oldKey != null) {
+                updated = remove(updated, oldKey, itemId);
+            }
+            if (newKey != null) {
+                updated = insert(updated, newKey, itemId);
+            }
+        } while (!root.compareAndSet(current, updated));
+    }
+
+    /**
+     * Ключ вещи в дереве или {@code null} для удаленной ({@code null}) и недоступной вещи.
+     */
+    static String key(Item item) {
+        return item != null && item.isAvailable() ? ItemRepository.normalizeName(item.getName()) : null;
+    }
+
+    /**
+     * До {@code limit} id вещей, нормализованное название которых начинается с {@code prefix},
+     * по алфавиту названий, при равных названиях - по возрастанию id.
+     */
+    List<Integer> find(String prefix, int limit) {
+        String key = ItemRepository.normalizeName(prefix);
+        Node node = root.get();
+        while (!key.isEmpty()) {
+            int index = childIndex(node.children(), key.charAt(0));
+            if (index < 0) {
+                return List.of();
+            }
+            Node child = node.children()[index];
+            if (key.length() <= child.label().length()) {
+                if (!child.label().startsWith(key)) {
+                    return List.of();
+                }
+                node = child;
+                break;
+            }
+            if (!key.startsWith(child.label())) {
+                return List.of();
+            }
+            key = key.substring(child.label().length());
+            node = child;
+        }
+
+        List<Integer> found = new ArrayList<>(Math.min(limit, 16));
+        collect(node, found, limit);
+        return found;
+    }
+
+    private static void collect(Node node, List<Integer> found, int limit) {
+        for (int i = 0; i < node.itemIds().length && found.size() < limit; i++) {
+            found.add(node.itemIds()[i]);
+        }
+        for (int i = 0; i < node.children().length && found.size() < limit; i++) {
+            collect(node.children()[i], found, limit);
+        }
+    }
+
+    /**
+     * @param key остаток названия после метки узла
+     */
+    private static Node insert(Node node, String key, int itemId) {
+        if (key.isEmpty()) {
+            return new Node(node.label(), node.children(), addId(node.itemIds(), itemId));
+        }
+
+        int index = childIndex(node.children(), key.charAt(0));
+        if (index < 0) {
+            Node leaf = new Node(key, NO_CHILDREN, new int[]{itemId});
+            return new Node(node.label(), insertChild(node.children(), -index - 1, leaf), node.itemIds());
+        }
+
+        Node child = node.children()[index];
+        int common = commonPrefix(child.label(), key);
+        if (common < child.label().length()) {
+            // метка расходится с названием: узел делится на общую часть и остаток
+            Node tail = new Node(child.label().substring(common), child.children(), child.itemIds());
+            child = new Node(child.label().substring(0, common), new Node[]{tail}, NO_IDS);
+        }
+        Node updated = insert(child, key.substring(common), itemId);
+        return new Node(node.label(), replaceChild(node.children(), index, updated), node.itemIds());
+    }
+
+    /**
+     * @return узел без вещи или {@code null}, если в нем не осталось ни вещей, ни потомков
+     */
+    private static Node remove(Node node, String key, int itemId) {
+        if (key.isEmpty()) {
+            int[] itemIds = removeId(node.itemIds(), itemId);
+            return itemIds == node.itemIds() ? node : compact(new Node(node.label(), node.children(), itemIds));
+        }
+
+        int index = childIndex(node.children(), key.charAt(0));
+        if (index < 0 || !key.startsWith(node.children()[index].label())) {
+            return node;
+        }
+        Node child = node.children()[index];
+        Node updated = remove(child, key.substring(child.label().length()), itemId);
+        if (updated == child) {
+            return node;
+        }
+        Node[] children = updated == null
+                ? removeChild(node.children(), index)
+                : replaceChild(node.children(), index, updated);
+        return compact(new Node(node.label(), children, node.itemIds()));
+    }
+
+    /**
+     * Убирает пустой узел и сливает узел без вещей с единственным потомком. Корень (пустая метка) остается всегда.
+     */
+    private static Node compact(Node node) {
+        if (node.label().isEmpty() || node.itemIds().length > 0) {
+            return node;
+        }
+        if (node.children().length == 0) {
+            return null;
+        }
+        if (node.children().length == 1) {
+            Node child = node.children()[0];
+            return new Node(node.label() + child.label(), child.children(), child.itemIds());
+        }
+        return node;
+    }
+
+    private static int childIndex(Node[] children, char first) {
+        int low = 0;
+        int high = children.length - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            char value = children[middle].label().charAt(0);
+            if (value < first) {
+                low = middle + 1;
+            } else if (value > first) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private static int commonPrefix(String left, String right) {
+        int length = Math.min(left.length(), right.length());
+        int i = 0;
+        while (i < length && left.charAt(i) == right.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static Node[] insertChild(Node[] children, int index, Node child) {
+        Node[] updated = new Node[children.length + 1];
+        System.arraycopy(children, 0, updated, 0, index);
+        updated[index] = child;
+        System.arraycopy(children, index, updated, index + 1, children.length - index);
+        return updated;
+    }
+
+    private static Node[] replaceChild(Node[] children, int index, Node child) {
+        Node[] updated = children.clone();
+        updated[index] = child;
+        return updated;
+    }
+
+    private static Node[] removeChild(Node[] children, int index) {
+        Node[] updated = new Node[children.length - 1];
+        System.arraycopy(children, 0, updated, 0, index);
+        System.arraycopy(children, index + 1, updated, index, children.length - index - 1);
+        return updated;
+    }
+
+    private static int[] addId(int[] ids, int itemId) {
+        int index = Arrays.binarySearch(ids, itemId);
+        if (index >= 0) {
+            return ids;
+        }
+        int insertAt = -index - 1;
+        int[] updated = new int[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = itemId;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return updated;
+    }
+
+    private static int[] removeId(int[] ids, int itemId) {
+        int index = Arrays.binarySearch(ids, itemId);
+        if (index < 0) {
+            return ids;
+        }
+        int[] updated = new int[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, index);
+        System.arraycopy(ids, index + 1, updated, index, ids.length - index - 1);
+        return updated;
+    }
+
+    private record Node(String label, Node[] children, int[] itemIds) {
+    }
+}
@@ -1,20 +1,76 @@
 package ru.practicum.shareit.item.dao;
 
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 public interface ItemRepository {
     Item create(Item item);
 
+    /**
+     * Создает вещи, выделяя им id одним блоком, в порядке списка.
+     */
+    List<Item> createAll(List<Item> items);
+
     Item update(Item item);
 
+    /**
+     * Сохраняет изменения вещей. Вещи, которых уже нет в хранилище, пропускаются.
+     */
+    List<Item> updateAll(List<Item> items);
+
     void deleteById(int itemId);
 
     Optional<Item> findItemById(int itemId);
 
-    List<Item> findItemsByUser(int userId);
+    /**
+     * Версия вещи без чтения остальных полей; пусто, если вещи нет.
+     */
+    OptionalLong findItemVersion(int itemId);
+
+    /**
+     * Вещи с указанными id за одно обращение, в порядке возрастания id; отсутствующие пропускаются.
+     */
+    List<Item> findItemsByIds(Collection<Integer> itemIds);
+
+    /**
+     * Все вещи в порядке возрастания id; с курсором {@code afterId} - для обхода каталога частями.
+     */
+    List<Item> findAllItems(PageRequest page);
+
+    /**
+     * Вещи владельца в порядке возрастания id.
+     */
+    List<Item> findItemsByUser(int userId, PageRequest page);
+
+    /**
+     * Вещи, содержащие {@code text} в названии или описании, в порядке возрастания id.
+     */
+    List<Item> findItemsByParams(String text, boolean isOnlyAvailable, PageRequest page);
+
+    /**
+     * До {@code limit} доступных вещей, нормализованное название которых начинается с {@code prefix}
+     * (см. {@link #normalizeName(String)}), по алфавиту названий, при равных названиях - по возрастанию id.
+     */
+    List<Item> findItemsByNamePrefix(String prefix, int limit);
+
+    default List<Item> findItemsByUser(int userId) {
+        return findItemsByUser(userId, PageRequest.UNPAGED);
+    }
+
+    default List<Item> findItemsByParams(String text, boolean isOnlyAvailable) {
+        return findItemsByParams(text, isOnlyAvailable, PageRequest.UNPAGED);
+    }
 
-    List<Item> findItemsByParams(String text, boolean isOnlyAvailable);
+    /**
+     * Название для подсказок: без пробелов по краям и в нижнем регистре.
+     */
+    static String normalizeName(String name) {
+        return name.strip().toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,49 +1,199 @@
 package ru.practicum.shareit.item.dao;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.Journal;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.journal.JournalRecords;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.util.CompactIntSet;
+import ru.practicum.shareit.util.IntObjectMap;
+import ru.practicum.shareit.util.StripedLock;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Repository
-public class ItemRepositoryInMemory implements ItemRepository {
-    private final Map<Integer, Item> itemsById = new HashMap<>();
-    private final Map<Integer, List<Item>> itemsByUserId = new HashMap<>();
-    private int lastId = 0;
+@Qualifier("itemStorage")
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "shareit.items.storage", havingValue = "heap", matchIfMissing = true)
+public class ItemRepositoryInMemory implements ItemRepository, MeterBinder {
+    private static final byte PUT_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+    private static final byte LAST_ID_RECORD = 3;
+
+    private final IntObjectMap<Item> itemsById = new IntObjectMap<>();
+    /**
+     * id вещей владельца по возрастанию, то есть в порядке создания. Вставка и удаление затрагивают
+     * только один блок множества, чтение не блокируется; изменения - под блокировкой владельца.
+     */
+    private final IntObjectMap<CompactIntSet> itemIdsByUserId = new IntObjectMap<>();
+    private final ItemTextIndex textIndex = new ItemTextIndex();
+    private final ItemNameTrie nameIndex = new ItemNameTrie();
+    /**
+     * Ключи вещей в дереве названий: вызывающий может изменить сохраненный объект вещи, и прежнее название по нему уже не узнать.
+     */
+    private final IntObjectMap<String> nameKeys = new IntObjectMap<>();
+    private final AtomicInteger lastId;
+    private final StripedLock itemLocks = new StripedLock();
+    private final StripedLock ownerLocks = new StripedLock();
+    private final ItemRepositoryMetrics metrics = new ItemRepositoryMetrics(this::size, this::ownerCount,
+            this::maxItemsPerOwner);
+    private final Journal journal;
+
+    public ItemRepositoryInMemory() {
+        this(new AtomicInteger());
+    }
+
+    /**
+     * Шард {@link ShardedItemRepository}: id выдаются из общего для всех шардов счетчика, журнала нет.
+     */
+    ItemRepositoryInMemory(AtomicInteger lastId) {
+        this.lastId = lastId;
+        journal = null;
+    }
+
+    /**
+     * С включенным журналом восстанавливает вещи из снимка и журнала и дописывает в него каждое изменение.
+     */
+    @Autowired
+    public ItemRepositoryInMemory(JournalProperties journalProperties) {
+        lastId = new AtomicInteger();
+        // пока журнал восстанавливается, поле еще не задано и восстановленные изменения повторно не пишутся
+        journal = journalProperties.isEnabled()
+                ? Journal.open("items", journalProperties, this::replay, this::writeState)
+                : null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
 
     @Override
     public Item create(Item item) {
         item.setId(getNextId());
+        item.setVersion(1);
 
-        itemsById.put(item.getId(), item);
+        long position = itemLocks.withLock(item.getId(), () -> {
+            itemsById.put(item.getId(), item);
+            textIndex.put(item.getId(), item.getName(), item.getDescription());
+            indexName(item);
+            addOwnerItems(item.getOwnerId(), List.of(item));
+            return logPut(item);
+        });
+        awaitDurable(position);
+
+        return item;
+    }
 
-        if (!itemsByUserId.containsKey(item.getOwnerId())) {
-            itemsByUserId.put(item.getOwnerId(), new ArrayList<>());
+    @Override
+    public List<Item> createAll(final List<Item> items) {
+        int firstId = lastId.getAndAdd(items.size()) + 1;
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(firstId + i);
         }
-        itemsByUserId.get(item.getOwnerId()).add(item);
+        return insertAll(items);
+    }
 
-        return item;
+    /**
+     * Сохраняет новые вещи с уже выделенными id.
+     */
+    List<Item> insertAll(final List<Item> items) {
+        long position = 0;
+        for (Item item : items) {
+            item.setVersion(1);
+            position = itemLocks.withLock(item.getId(), () -> {
+                itemsById.put(item.getId(), item);
+                textIndex.put(item.getId(), item.getName(), item.getDescription());
+                indexName(item);
+                return logPut(item);
+            });
+        }
+        items.stream()
+                .collect(Collectors.groupingBy(Item::getOwnerId))
+                .forEach(this::addOwnerItems);
+        awaitDurable(position);
+        return items;
     }
 
     @Override
     public Item update(final Item item) {
-        itemsById.put(item.getId(), item);
-        itemsByUserId.get(item.getOwnerId()).removeIf(i -> i.getId() == item.getId());
-        itemsByUserId.get(item.getOwnerId()).add(item);
+        long position = itemLocks.withLock(item.getId(), () -> {
+            Item oldItem = itemsById.get(item.getId());
+            if (oldItem == null) {
+                throw new NoSuchElementException("Не найдена вещь с id=" + item.getId());
+            }
+            replace(oldItem, item);
+            textIndex.put(item.getId(), item.getName(), item.getDescription());
+            indexName(item);
+            return logPut(item);
+        });
+        awaitDurable(position);
         return item;
     }
 
     @Override
-    public void deleteById(final int itemId) {
-        if (itemsById.containsKey(itemId)) {
-            Item item = itemsById.get(itemId);
-            itemsByUserId.get(item.getOwnerId()).removeIf(i -> i.getId() == itemId);
-            itemsById.remove(itemId);
+    public List<Item> updateAll(final List<Item> items) {
+        List<Item> updated = new ArrayList<>(items.size());
+        long position = 0;
+        for (Item item : items) {
+            position = Math.max(position, itemLocks.withLock(item.getId(), () -> {
+                Item oldItem = itemsById.get(item.getId());
+                if (oldItem == null) {
+                    return 0L;
+                }
+                replace(oldItem, item);
+                textIndex.put(item.getId(), item.getName(), item.getDescription());
+                indexName(item);
+                updated.add(item);
+                return logPut(item);
+            }));
         }
+        awaitDurable(position);
+        return updated;
+    }
+
+    @Override
+    public void deleteById(final int itemId) {
+        long position = itemLocks.withLock(itemId, () -> {
+            Item item = itemsById.remove(itemId);
+            if (item == null) {
+                return 0L;
+            }
+            textIndex.remove(itemId);
+            nameIndex.replace(itemId, nameKeys.remove(itemId), null);
+            removeOwnerItem(item.getOwnerId(), itemId);
+            return journal != null ? journal.append(deleteRecord(itemId)) : 0L;
+        });
+        awaitDurable(position);
     }
 
     @Override
@@ -52,24 +202,212 @@ public class ItemRepositoryInMemory implements ItemRepository {
     }
 
     @Override
-    public List<Item> findItemsByUser(int userId) {
-        return itemsByUserId.get(userId) != null ? itemsByUserId.get(userId) : List.of();
+    public OptionalLong findItemVersion(int itemId) {
+        Item item = itemsById.get(itemId);
+        return item != null ? OptionalLong.of(item.getVersion()) : OptionalLong.empty();
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Integer> itemIds) {
+        return itemIds.stream()
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .sorted()
+                .mapToObj(itemsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findAllItems(final PageRequest page) {
+        // id выдаются по порядку, поэтому страница собирается обходом id без сортировки
+        return IntStream.rangeClosed(page.getAfterId() + 1, lastId.get())
+                .mapToObj(itemsById::get)
+                .filter(Objects::nonNull)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList();
     }
 
     @Override
-    public List<Item> findItemsByParams(final String text, final boolean isOnlyAvailable) {
+    public List<Item> findItemsByUser(final int userId, final PageRequest page) {
+        CompactIntSet itemIds = itemIdsByUserId.get(userId);
+        if (itemIds == null) {
+            return List.of();
+        }
+
+        List<Item> items = new ArrayList<>(Math.min(page.getSize(), itemIds.size()));
+        long toSkip = page.getFrom();
+        PrimitiveIterator.OfInt ids = itemIds.iterator(page.getAfterId() + 1);
+        while (ids.hasNext() && items.size() < page.getSize()) {
+            Item item = itemsById.get(ids.nextInt());
+            if (item == null) {
+                continue;
+            }
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                items.add(item);
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    @Override
+    public List<Item> findItemsByParams(final String text, final boolean isOnlyAvailable, final PageRequest page) {
         if (text.isBlank()) {
             return List.of();
         }
 
-        return itemsById.values().stream()
-                .filter(i -> (i.getName().toLowerCase().contains(text.toLowerCase())
-                                   || i.getDescription().toLowerCase().contains(text.toLowerCase()))
-                                  && (!isOnlyAvailable || i.isAvailable()))
+        return metrics.recordSearch(() -> textIndex.search(text, page.getAfterId() + 1)
+                .mapToObj(itemsById::get)
+                .filter(Objects::nonNull)
+                .filter(i -> !isOnlyAvailable || i.isAvailable())
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList());
+    }
+
+    @Override
+    public List<Item> findItemsByNamePrefix(final String prefix, final int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return nameIndex.find(prefix, limit).stream()
+                .map(itemsById::get)
+                .filter(item -> item != null && item.isAvailable())
                 .toList();
     }
 
+    int size() {
+        return itemsById.size();
+    }
+
+    int ownerCount() {
+        return itemIdsByUserId.size();
+    }
+
+    int maxItemsPerOwner() {
+        return itemIdsByUserId.values().mapToInt(CompactIntSet::size).max().orElse(0);
+    }
+
+    /**
+     * Сохраняет вещь со следующей версией; вызывается под блокировкой вещи.
+     * Изменяемая вещь может быть тем же объектом, что и сохраненная.
+     */
+    private void indexName(Item item) {
+        String key = ItemNameTrie.key(item);
+        String oldKey = key != null ? nameKeys.put(item.getId(), key) : nameKeys.remove(item.getId());
+        nameIndex.replace(item.getId(), oldKey, key);
+    }
+
+    private void replace(Item oldItem, Item item) {
+        item.setVersion(oldItem.getVersion() + 1);
+        itemsById.put(item.getId(), item);
+    }
+
+    private void addOwnerItems(int ownerId, List<Item> newItems) {
+        ownerLocks.withLock(ownerId, () -> {
+            // вещь могли удалить до того, как она попала в индекс владельца
+            int[] newIds = newItems.stream()
+                    .filter(item -> itemsById.get(item.getId()) == item)
+                    .mapToInt(Item::getId)
+                    .toArray();
+            if (newIds.length == 0) {
+                return;
+            }
+            CompactIntSet itemIds = itemIdsByUserId.get(ownerId);
+            if (itemIds == null) {
+                itemIds = new CompactIntSet();
+                itemIdsByUserId.put(ownerId, itemIds);
+            }
+            for (int itemId : newIds) {
+                itemIds.add(itemId);
+            }
+        });
+    }
+
+    private void removeOwnerItem(int ownerId, int itemId) {
+        ownerLocks.withLock(ownerId, () -> {
+            CompactIntSet itemIds = itemIdsByUserId.get(ownerId);
+            if (itemIds != null && itemIds.remove(itemId) && itemIds.isEmpty()) {
+                itemIdsByUserId.remove(ownerId);
+            }
+        });
+    }
+
+    private long logPut(Item item) {
+        return journal != null ? journal.append(putRecord(item)) : 0L;
+    }
+
+    private void awaitDurable(long position) {
+        if (journal != null) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    private void replay(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case PUT_RECORD -> {
+                Item item = Item.builder()
+                        .id(record.getInt())
+                        .ownerId(record.getInt())
+                        .available(record.get() != 0)
+                        .name(JournalRecords.getString(record))
+                        .description(JournalRecords.getString(record))
+                        // в записях до появления версий ее нет
+                        .version(record.hasRemaining() ? record.getLong() : 1)
+                        .build();
+                lastId.accumulateAndGet(item.getId(), Math::max);
+                Item oldItem = itemsById.put(item.getId(), item);
+                if (oldItem == null) {
+                    addOwnerItems(item.getOwnerId(), List.of(item));
+                }
+                textIndex.put(item.getId(), item.getName(), item.getDescription());
+                indexName(item);
+            }
+            case DELETE_RECORD -> {
+                int itemId = record.getInt();
+                lastId.accumulateAndGet(itemId, Math::max);
+                deleteById(itemId);
+            }
+            case LAST_ID_RECORD -> lastId.accumulateAndGet(record.getInt(), Math::max);
+            default -> throw new IllegalStateException("Неизвестный тип записи журнала вещей: " + type);
+        }
+    }
+
+    private void writeState(Consumer<byte[]> out) {
+        int maxId = lastId.get();
+        out.accept(ByteBuffer.allocate(1 + Integer.BYTES).put(LAST_ID_RECORD).putInt(maxId).array());
+        // по возрастанию id, чтобы при восстановлении id дописывались в конец множеств индексов
+        for (int itemId = 1; itemId <= maxId; itemId++) {
+            Item item = itemsById.get(itemId);
+            if (item != null) {
+                out.accept(putRecord(item));
+            }
+        }
+    }
+
+    private static byte[] putRecord(Item item) {
+        byte[] name = JournalRecords.utf8(item.getName());
+        byte[] description = JournalRecords.utf8(item.getDescription());
+        ByteBuffer record = ByteBuffer.allocate(1 + 3 * Integer.BYTES + 1 + Integer.BYTES + name.length + description.length + Long.BYTES)
+                .put(PUT_RECORD)
+                .putInt(item.getId())
+                .putInt(item.getOwnerId())
+                .put((byte) (item.isAvailable() ? 1 : 0));
+        JournalRecords.putBytes(record, name);
+        JournalRecords.putBytes(record, description);
+        record.putLong(item.getVersion());
+        return record.array();
+    }
+
+    private static byte[] deleteRecord(int itemId) {
+        return ByteBuffer.allocate(1 + Integer.BYTES).put(DELETE_RECORD).putInt(itemId).array();
+    }
+
     private int getNextId() {
-        return ++lastId;
+        return lastId.incrementAndGet();
     }
 }
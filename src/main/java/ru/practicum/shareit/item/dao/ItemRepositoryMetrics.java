@@ -0,0 +1,54 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Метрики хранилища вещей. Создаются вместе с репозиторием и начинают публиковаться после {@link #bindTo}.
+ */
+class ItemRepositoryMetrics {
+    private final CompositeMeterRegistry meters = new CompositeMeterRegistry();
+    private final Timer searchTimer = Timer.builder("shareit.items.search")
+            .description("Время поиска вещей по тексту")
+            .publishPercentileHistogram()
+            .register(meters);
+    private final DistributionSummary searchResults = DistributionSummary.builder("shareit.items.search.results")
+            .description("Число вещей в результате поиска")
+            .baseUnit("items")
+            .publishPercentileHistogram()
+            .register(meters);
+
+    ItemRepositoryMetrics(Supplier<Number> items) {
+        gauge("shareit.items.count", "Число вещей", items);
+    }
+
+    ItemRepositoryMetrics(Supplier<Number> items, Supplier<Number> owners, Supplier<Number> maxItemsPerOwner) {
+        this(items);
+        gauge("shareit.items.owners", "Число владельцев вещей", owners);
+        gauge("shareit.items.per.owner.max", "Наибольшее число вещей у одного владельца", maxItemsPerOwner);
+    }
+
+    void bindTo(MeterRegistry registry) {
+        meters.add(registry);
+    }
+
+    List<Item> recordSearch(Supplier<List<Item>> search) {
+        List<Item> found = searchTimer.record(search);
+        searchResults.record(found.size());
+        return found;
+    }
+
+    void gauge(String name, String description, Supplier<Number> value) {
+        Gauge.builder(name, value)
+                .description(description)
+                .strongReference(true)
+                .register(meters);
+    }
+}
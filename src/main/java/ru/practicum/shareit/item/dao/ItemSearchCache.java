@@ -0,0 +1,121 @@
+package ru.practicum.shareit.item.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Кэш результатов поиска вещей по тексту. Записи не сбрасываются при изменениях: каждая запись помнит
+ * номер последнего изменения на момент поиска, а изменение вещи помечает своим номером n-граммы нового текста
+ * и саму вещь. Результат устарел, только если помечена одна из n-грамм запроса (вещь могла начать подходить
+ * под запрос) или одна из найденных вещей (вещь могла измениться или перестать подходить).
+ *
+ * <p>Пометки хранятся в массивах фиксированного размера по хэшу, поэтому память не растет,
+ * а совпадение хэшей приводит лишь к лишнему повторному поиску.
+ * Кэшируются только страницы без пропуска ({@code from=0}): вещи до курсора на страницу не влияют.
+ */
+class ItemSearchCache {
+    private static final int SLOTS = 1 << 16;
+
+    private final Cache<Key, Entry> results;
+    private final AtomicLong lastWrite = new AtomicLong();
+    private final AtomicLongArray gramWrites = new AtomicLongArray(SLOTS);
+    private final AtomicLongArray itemWrites = new AtomicLongArray(SLOTS);
+
+    ItemSearchCache(Cache<Key, Entry> results) {
+        this.results = results;
+    }
+
+    Cache<Key, Entry> results() {
+        return results;
+    }
+
+    List<Item> search(String text, boolean isOnlyAvailable, int size, int afterId, Supplier<List<Item>> search) {
+        Key key = new Key(text.toLowerCase(), isOnlyAvailable, size, afterId);
+        Entry cached = results.asMap().get(key);
+        if (cached != null && !isValid(cached)) {
+            results.asMap().remove(key, cached);
+        }
+        return results.get(key, k -> {
+            // номер берется до поиска: изменение, попавшее или не попавшее в результат, получит номер больше
+            long version = lastWrite.get();
+            List<Item> found = List.copyOf(search.get());
+            int[] slots = IntStream.concat(
+                            queryGrams(k.text()).stream().mapToInt(gram -> slot(gram.hashCode())),
+                            found.stream().mapToInt(item -> SLOTS + slot(Integer.hashCode(item.getId()))))
+                    .toArray();
+            return new Entry(version, found, slots);
+        }).items();
+    }
+
+    /**
+     * Отмечает изменение вещей; вызывается после записи в хранилище.
+     */
+    void written(Collection<Item> items) {
+        long version = lastWrite.incrementAndGet();
+        for (Item item : items) {
+            mark(itemWrites, Integer.hashCode(item.getId()), version);
+            markGrams(item.getName().toLowerCase(), version);
+            markGrams(item.getDescription().toLowerCase(), version);
+        }
+    }
+
+    void deleted(int itemId) {
+        mark(itemWrites, Integer.hashCode(itemId), lastWrite.incrementAndGet());
+    }
+
+    private boolean isValid(Entry entry) {
+        for (int slot : entry.slots()) {
+            long written = slot < SLOTS ? gramWrites.get(slot) : itemWrites.get(slot - SLOTS);
+            if (written > entry.version()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * n-граммы, которые обязательно есть в тексте, содержащем запрос: сам короткий запрос или его триграммы.
+     */
+    private static Collection<String> queryGrams(String query) {
+        return query.length() <= ItemTextIndex.MAX_GRAM_LENGTH
+                ? List.of(query)
+                : ItemTextIndex.grams(query, ItemTextIndex.MAX_GRAM_LENGTH);
+    }
+
+    /**
+     * Помечает n-граммы длиной от 1 до 3; хэш считается как {@link String#hashCode()} подстроки, но без ее создания.
+     */
+    private void markGrams(String text, long version) {
+        for (int i = 0; i < text.length(); i++) {
+            int hash = 0;
+            for (int end = i; end < Math.min(text.length(), i + ItemTextIndex.MAX_GRAM_LENGTH); end++) {
+                hash = 31 * hash + text.charAt(end);
+                mark(gramWrites, hash, version);
+            }
+        }
+    }
+
+    private static void mark(AtomicLongArray writes, int hash, long version) {
+        writes.accumulateAndGet(slot(hash), version, Math::max);
+    }
+
+    private static int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & (SLOTS - 1);
+    }
+
+    record Key(String text, boolean isOnlyAvailable, int size, int afterId) {
+    }
+
+    /**
+     * @param slots пометки, от которых зависит результат: n-граммы запроса, затем со сдвигом {@code SLOTS} - найденные вещи
+     */
+    record Entry(long version, List<Item> items, int[] slots) {
+    }
+}
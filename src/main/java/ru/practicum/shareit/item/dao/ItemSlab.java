@@ -0,0 +1,312 @@
+package ru.practicum.shareit.item.dao;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
+
+/**
+ * Вещи в сегментах памяти вне кучи. Запись вещи - id, владелец, доступность, версия и название с описанием в UTF-8
+ * ({@code [int id][int ownerId][byte available][long version][int length][name][int length][description]});
+ * в куче остается только адрес записи по id, 8 байт на вещь. Объекты {@link Item} создаются при чтении.
+ *
+ * <p>Записи неизменяемы: изменение дописывает новую запись, старая становится мусором. Когда мусора в сегменте
+ * набирается половина, живые записи переносятся в текущий сегмент, а освободившийся сегмент используется заново.
+ * Чтение не блокируется: оно проверяет, не было ли за это время переноса, и при переносе повторяется под блокировкой.
+ * Изменять хранилище может только один поток одновременно (синхронизация на стороне вызывающего).
+ */
+class ItemSlab {
+    private static final int OWNER_ID = Integer.BYTES;
+    private static final int AVAILABLE = 2 * Integer.BYTES;
+    private static final int VERSION = AVAILABLE + 1;
+    private static final int NAME_LENGTH = VERSION + Long.BYTES;
+    private static final int HEADER = NAME_LENGTH + Integer.BYTES;
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final long ABSENT = -1;
+    private static final VarHandle ADDRESSES = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int segmentSize;
+    private final StampedLock moveLock = new StampedLock();
+    private final Deque<Integer> freeSegments = new ArrayDeque<>();
+
+    private volatile ByteBuffer[] segments = new ByteBuffer[0];
+    /**
+     * Адреса записей ({@code сегмент << 32 | смещение}) страницами по 65536 id; страницы не копируются при росте.
+     */
+    private volatile long[][] pages = new long[0][];
+    private int[] deadBytes = new int[0];
+    /**
+     * Конец записей заполненного сегмента; у текущего сегмента конец - {@link #headPosition}.
+     */
+    private int[] ends = new int[0];
+    private int head = -1;
+    private int headPosition;
+    private int filled = -1;
+    private volatile int size;
+    private volatile long usedBytes;
+
+    ItemSlab(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Занятая память сегментов, включая еще не перенесенный мусор.
+     */
+    long allocatedBytes() {
+        return (long) segments.length * segmentSize;
+    }
+
+    long usedBytes() {
+        return usedBytes;
+    }
+
+    /**
+     * Сохраняет вещь. Если {@code onlyExisting} и вещи с таким id нет, ничего не делает и возвращает {@code false}.
+     */
+    boolean put(Item item, boolean onlyExisting) {
+        long oldAddress = address(item.getId());
+        if (onlyExisting && oldAddress == ABSENT) {
+            return false;
+        }
+
+        byte[] name = item.getName().getBytes(StandardCharsets.UTF_8);
+        byte[] description = item.getDescription().getBytes(StandardCharsets.UTF_8);
+        int length = HEADER + Integer.BYTES + name.length + description.length;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Вещь с id=" + item.getId() + " не помещается в сегмент хранилища");
+        }
+        ByteBuffer segment = reserve(length);
+        int position = headPosition;
+        segment.putInt(position, item.getId())
+                .putInt(position + OWNER_ID, item.getOwnerId())
+                .put(position + AVAILABLE, (byte) (item.isAvailable() ? 1 : 0))
+                .putLong(position + VERSION, item.getVersion())
+                .putInt(position + NAME_LENGTH, name.length)
+                .put(position + HEADER, name)
+                .putInt(position + HEADER + name.length, description.length)
+                .put(position + HEADER + Integer.BYTES + name.length, description);
+        headPosition += length;
+        usedBytes += length;
+
+        setAddress(item.getId(), (long) head << 32 | position);
+        if (oldAddress == ABSENT) {
+            size++;
+        } else {
+            release(oldAddress);
+        }
+        if (filled >= 0) {
+            int filledSegment = filled;
+            filled = -1;
+            compactIfSparse(filledSegment);
+        }
+        return true;
+    }
+
+    /**
+     * Удаляет вещь и возвращает ее или {@code null}, если вещи нет.
+     */
+    Item remove(int itemId) {
+        long address = address(itemId);
+        if (address == ABSENT) {
+            return null;
+        }
+        Item item = decode(address);
+        setAddress(itemId, ABSENT);
+        size--;
+        release(address);
+        return item;
+    }
+
+    Item get(int itemId) {
+        return read(() -> {
+            long address = address(itemId);
+            return address == ABSENT ? null : decode(address);
+        });
+    }
+
+    /**
+     * Версия вещи без декодирования строк; 0, если вещи нет.
+     */
+    long version(int itemId) {
+        return read(() -> {
+            long address = address(itemId);
+            return address == ABSENT ? 0L : segments[(int) (address >>> 32)].getLong((int) address + VERSION);
+        });
+    }
+
+    /**
+     * Возвращает вещь, если ее название или описание в нижнем регистре содержит {@code lowerText}, как в
+     * {@link ItemTextIndex}. Строки декодируются только у подходящих по доступности вещей.
+     */
+    Item findMatching(int itemId, String lowerText, boolean isOnlyAvailable) {
+        return read(() -> {
+            long address = address(itemId);
+            if (address == ABSENT) {
+                return null;
+            }
+            ByteBuffer segment = segments[(int) (address >>> 32)];
+            int position = (int) address;
+            if (isOnlyAvailable && segment.get(position + AVAILABLE) == 0) {
+                return null;
+            }
+            Item item = decode(address);
+            return item.getName().toLowerCase().contains(lowerText)
+                    || item.getDescription().toLowerCase().contains(lowerText) ? item : null;
+        });
+    }
+
+    private <T> T read(Supplier<T> reader) {
+        long stamp = moveLock.tryOptimisticRead();
+        try {
+            T result = reader.get();
+            if (moveLock.validate(stamp)) {
+                return result;
+            }
+        } catch (RuntimeException e) {
+            // запись могли перенести и затереть во время чтения; если переноса не было, ошибка настоящая
+            if (moveLock.validate(stamp)) {
+                throw e;
+            }
+        }
+
+        stamp = moveLock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            moveLock.unlockRead(stamp);
+        }
+    }
+
+    private Item decode(long address) {
+        ByteBuffer segment = segments[(int) (address >>> 32)];
+        int position = (int) address;
+        int nameLength = segment.getInt(position + NAME_LENGTH);
+        int descriptionPosition = position + HEADER + nameLength;
+        return Item.builder()
+                .id(segment.getInt(position))
+                .ownerId(segment.getInt(position + OWNER_ID))
+                .available(segment.get(position + AVAILABLE) != 0)
+                .version(segment.getLong(position + VERSION))
+                .name(string(segment, position + HEADER, nameLength))
+                .description(string(segment, descriptionPosition + Integer.BYTES, segment.getInt(descriptionPosition)))
+                .build();
+    }
+
+    private static String string(ByteBuffer segment, int position, int length) {
+        // при чтении без блокировки длина может оказаться мусором из перенесенного сегмента
+        if (length < 0 || position + length > segment.capacity()) {
+            throw new IndexOutOfBoundsException("Некорректная длина строки в хранилище вещей: " + length);
+        }
+        byte[] bytes = new byte[length];
+        segment.get(position, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int recordLength(ByteBuffer segment, int position) {
+        int nameLength = segment.getInt(position + NAME_LENGTH);
+        return HEADER + Integer.BYTES + nameLength + segment.getInt(position + HEADER + nameLength);
+    }
+
+    /**
+     * Возвращает сегмент, в конце которого есть место под запись длиной {@code length}.
+     */
+    private ByteBuffer reserve(int length) {
+        if (head < 0 || headPosition + length > segmentSize) {
+            if (head >= 0) {
+                ends[head] = headPosition;
+                filled = head;
+            }
+            head = nextSegment();
+            headPosition = 0;
+        }
+        return segments[head];
+    }
+
+    private int nextSegment() {
+        Integer free = freeSegments.pollFirst();
+        if (free != null) {
+            return free;
+        }
+        ByteBuffer[] grown = Arrays.copyOf(segments, segments.length + 1);
+        grown[segments.length] = ByteBuffer.allocateDirect(segmentSize);
+        deadBytes = Arrays.copyOf(deadBytes, grown.length);
+        ends = Arrays.copyOf(ends, grown.length);
+        segments = grown;
+        return grown.length - 1;
+    }
+
+    private void release(long address) {
+        int segment = (int) (address >>> 32);
+        int length = recordLength(segments[segment], (int) address);
+        deadBytes[segment] += length;
+        usedBytes -= length;
+        compactIfSparse(segment);
+    }
+
+    /**
+     * Переносит живые записи заполненного сегмента, если мусор занимает в нем не меньше половины.
+     */
+    private void compactIfSparse(int segment) {
+        if (segment == head || deadBytes[segment] < segmentSize / 2) {
+            return;
+        }
+
+        long stamp = moveLock.writeLock();
+        try {
+            ByteBuffer source = segments[segment];
+            int position = 0;
+            while (position < ends[segment]) {
+                int itemId = source.getInt(position);
+                int length = recordLength(source, position);
+                if (address(itemId) == ((long) segment << 32 | position)) {
+                    ByteBuffer target = reserve(length);
+                    target.put(headPosition, source, position, length);
+                    setAddress(itemId, (long) head << 32 | headPosition);
+                    headPosition += length;
+                }
+                position += length;
+            }
+            deadBytes[segment] = 0;
+            ends[segment] = 0;
+            freeSegments.addLast(segment);
+        } finally {
+            moveLock.unlockWrite(stamp);
+        }
+    }
+
+    private long address(int itemId) {
+        long[][] current = pages;
+        int page = itemId >>> PAGE_BITS;
+        if (page >= current.length || current[page] == null) {
+            return ABSENT;
+        }
+        return (long) ADDRESSES.getAcquire(current[page], itemId & (PAGE_SIZE - 1));
+    }
+
+    private void setAddress(int itemId, long address) {
+        int page = itemId >>> PAGE_BITS;
+        long[][] current = pages;
+        if (page >= current.length) {
+            current = Arrays.copyOf(current, page + 1);
+        }
+        if (current[page] == null) {
+            long[] addresses = new long[PAGE_SIZE];
+            Arrays.fill(addresses, ABSENT);
+            current[page] = addresses;
+            pages = current;
+        }
+        ADDRESSES.setRelease(current[page], itemId & (PAGE_SIZE - 1), address);
+    }
+}
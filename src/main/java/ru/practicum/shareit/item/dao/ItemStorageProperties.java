@@ -0,0 +1,43 @@
+package ru.practicum.shareit.item.dao;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.journal.JournalProperties;
+
+/**
+ * Настройки хранилища вещей в памяти.
+ */
+@Data
+@ConfigurationProperties("shareit.items")
+public class ItemStorageProperties {
+    /**
+     * {@code heap} - объекты вещей в куче с индексом n-грамм для поиска,
+     * {@code slab} - компактные записи вне кучи, поиск просмотром,
+     * {@code sharded} - как {@code heap}, но вещи разделены по владельцам на независимые шарды.
+     */
+    private Storage storage = Storage.HEAP;
+    /**
+     * Размер сегмента памяти вне кучи для {@code slab}; память выделяется и освобождается сегментами.
+     */
+    private DataSize slabSegmentSize = DataSize.ofMegabytes(16);
+    /**
+     * Число шардов для {@code sharded}.
+     */
+    private int shards = 16;
+
+    /**
+     * Журнал ведет только {@code heap}; с другим хранилищем и включенным журналом приложение не запускается.
+     */
+    ItemStorageProperties requireNoJournal(JournalProperties journalProperties) {
+        if (journalProperties.isEnabled()) {
+            throw new IllegalStateException("Хранилище вещей " + storage.name().toLowerCase()
+                    + " не поддерживает журнал: выключите shareit.journal.enabled или выберите shareit.items.storage=heap");
+        }
+        return this;
+    }
+
+    public enum Storage {
+        HEAP, SLAB, SHARDED
+    }
+}
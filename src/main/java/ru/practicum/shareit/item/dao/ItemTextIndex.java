@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.dao;
+
+import ru.practicum.shareit.util.ByteSearch;
+import ru.practicum.shareit.util.IntObjectMap;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Индекс n-грамм (длиной от 1 до 3 символов) по названию и описанию вещей, см. {@link ItemGramIndex}.
+ * Хранит текст в нижнем регистре, поэтому поиск повторяет поведение {@code toLowerCase().contains()},
+ * но проверяет только вещи-кандидаты. С модулем {@code jdk.incubator.vector} текст хранится в UTF-8 и сравнивается
+ * по байтам через {@link ByteSearch}; без модуля побайтовый поиск медленнее {@link String#contains},
+ * поэтому текст хранится строками.
+ * Изменения по одной вещи должны выполняться последовательно, чтение не блокируется.
+ */
+class ItemTextIndex {
+    static final int MAX_GRAM_LENGTH = 3;
+
+    private final ItemGramIndex gramIndex = new ItemGramIndex();
+    private final IntObjectMap<IndexedText> textById = new IntObjectMap<>();
+    private final boolean utf8;
+
+    ItemTextIndex() {
+        this(ByteSearch.isVectorized());
+    }
+
+    /**
+     * @param utf8 хранить текст в UTF-8 и проверять кандидатов через {@link ByteSearch}
+     */
+    ItemTextIndex(boolean utf8) {
+        this.utf8 = utf8;
+    }
+
+    void put(int itemId, String name, String description) {
+        String lowerName = name.toLowerCase();
+        String lowerDescription = description.toLowerCase();
+        IndexedText text = utf8
+                ? new Utf8Text(utf8(lowerName), utf8(lowerDescription))
+                : new StringText(lowerName, lowerDescription);
+        IndexedText oldText = textById.put(itemId, text);
+
+        if (text.sameAs(oldText)) {
+            return;
+        }
+        gramIndex.replace(itemId, oldText != null ? oldText.grams() : Set.of(), grams(lowerName, lowerDescription));
+    }
+
+    void remove(int itemId) {
+        IndexedText oldText = textById.remove(itemId);
+        if (oldText != null) {
+            gramIndex.replace(itemId, oldText.grams(), Set.of());
+        }
+    }
+
+    /**
+     * Возвращает id вещей, в названии или описании которых есть {@code text} без учета регистра,
+     * в порядке возрастания id, начиная с {@code fromId}.
+     */
+    IntStream search(String text, int fromId) {
+        String query = text.toLowerCase();
+        if (query.isEmpty()) {
+            return IntStream.empty();
+        }
+
+        IntStream candidates = gramIndex.candidates(query, fromId);
+        if (query.length() <= MAX_GRAM_LENGTH) {
+            return candidates;
+        }
+        if (!utf8) {
+            return candidates.filter(id -> textById.get(id) instanceof StringText indexed && indexed.contains(query));
+        }
+        byte[] pattern = utf8(query);
+        return candidates.filter(id -> textById.get(id) instanceof Utf8Text indexed && indexed.contains(pattern));
+    }
+
+    static Set<String> grams(String text, int length) {
+        Set<String> grams = HashSet.newHashSet(text.length());
+        addGrams(grams, text, length);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String text, int length) {
+        for (int i = 0; i + length <= text.length(); i++) {
+            grams.add(text.substring(i, i + length));
+        }
+    }
+
+    /**
+     * n-граммы всех длин названия и описания, уже переведенных в нижний регистр.
+     */
+    static Set<String> grams(String name, String description) {
+        Set<String> grams = HashSet.newHashSet(MAX_GRAM_LENGTH * (name.length() + description.length()));
+        for (int length = 1; length <= MAX_GRAM_LENGTH; length++) {
+            addGrams(grams, name, length);
+            addGrams(grams, description, length);
+        }
+        return grams;
+    }
+
+    /**
+     * Подстрока в UTF-8 - это подстрока байтов: кодировка не дает вхождению начаться с середины символа.
+     */
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Название и описание вещи в нижнем регистре.
+     */
+    private sealed interface IndexedText permits Utf8Text, StringText {
+        Set<String> grams();
+
+        boolean sameAs(IndexedText other);
+    }
+
+    private record Utf8Text(byte[] name, byte[] description) implements IndexedText {
+        /**
+         * n-граммы строятся по символам, поэтому текст декодируется; это нужно только при изменении вещи.
+         */
+        @Override
+        public Set<String> grams() {
+            return ItemTextIndex.grams(new String(name, StandardCharsets.UTF_8),
+                    new String(description, StandardCharsets.UTF_8));
+        }
+
+        boolean contains(byte[] pattern) {
+            return ByteSearch.contains(name, pattern) || ByteSearch.contains(description, pattern);
+        }
+
+        @Override
+        public boolean sameAs(IndexedText other) {
+            return other instanceof Utf8Text text
+                    && Arrays.equals(name, text.name) && Arrays.equals(description, text.description);
+        }
+    }
+
+    private record StringText(String name, String description) implements IndexedText {
+        @Override
+        public Set<String> grams() {
+            return ItemTextIndex.grams(name, description);
+        }
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        @Override
+        public boolean sameAs(IndexedText other) {
+            return other instanceof StringText text && name.equals(text.name) && description.equals(text.description);
+        }
+    }
+}
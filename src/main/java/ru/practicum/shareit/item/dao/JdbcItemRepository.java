@@ -0,0 +1,278 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.util.RefreshedValue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Хранилище вещей в БД. Поиск по подстроке отбирает кандидатов по таблице триграмм
+ * и проверяет совпадение через {@code LIKE} только для них. Запрос короче триграммы кандидатов не сужает:
+ * вещи просматриваются по возрастанию id, пока не наберется страница, а при редком совпадении - вся таблица.
+ */
+@Repository
+@Qualifier("itemStorage")
+@Profile("jdbc")
+public class JdbcItemRepository implements ItemRepository, MeterBinder {
+    private static final String ITEM_COLUMNS = "i.id, i.name, i.description, i.available, i.owner_id, i.version";
+    private static final String INSERT_TRIGRAM = "INSERT INTO item_trigrams (trigram, item_id) VALUES (?, ?)";
+    private static final String INSERT_ITEM =
+            "INSERT INTO items (name, description, available, owner_id, name_normalized, version) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ITEM =
+            "UPDATE items SET name = ?, description = ?, available = ?, owner_id = ?, name_normalized = ?, version = ? WHERE id = ?";
+    private static final String DELETE_TRIGRAM = "DELETE FROM item_trigrams WHERE trigram = ? AND item_id = ?";
+    private static final String SEARCH_FILTER = "(i.available OR NOT :onlyAvailable) "
+            + "AND (LOWER(i.name) LIKE :pattern ESCAPE '\\' OR LOWER(i.description) LIKE :pattern ESCAPE '\\')";
+    private static final Duration METRICS_REFRESH = Duration.ofMinutes(1);
+    private static final RowMapper<Item> ITEM_MAPPER = (rs, rowNum) -> Item.builder()
+            .id(rs.getInt("id"))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .available(rs.getBoolean("available"))
+            .ownerId(rs.getInt("owner_id"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ItemRepositoryMetrics metrics;
+
+    public JdbcItemRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        // Метрики по владельцам требуют GROUP BY по всей таблице, поэтому для JDBC публикуется только число вещей,
+        // и то не чаще раза в интервал
+        this.metrics = new ItemRepositoryMetrics(new RefreshedValue<>(
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class), METRICS_REFRESH));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    @Override
+    @Transactional
+    public Item create(Item item) {
+        createAll(List.of(item));
+        return item;
+    }
+
+    @Override
+    @Transactional
+    public List<Item> createAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return items;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_ITEM, new String[]{"id"})) {
+                for (Item item : items) {
+                    item.setVersion(1);
+                    setItemColumns(ps, item);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (Item item : items) {
+                        if (!keys.next()) {
+                            throw new SQLException("Не получены id созданных вещей");
+                        }
+                        item.setId(keys.getInt(1));
+                    }
+                }
+            }
+            return null;
+        });
+
+        batchTrigrams(INSERT_TRIGRAM, items.stream()
+                .flatMap(item -> trigrams(item).stream().map(trigram -> new TrigramRow(trigram, item.getId())))
+                .toList());
+        return items;
+    }
+
+    @Override
+    @Transactional
+    public Item update(Item item) {
+        if (updateAll(List.of(item)).isEmpty()) {
+            throw new NoSuchElementException("Не найдена вещь с id=" + item.getId());
+        }
+        return item;
+    }
+
+    @Override
+    @Transactional
+    public List<Item> updateAll(List<Item> items) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Item> oldItems = namedJdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i "
+                        + "WHERE i.id IN (:ids) FOR UPDATE",
+                        Map.of("ids", items.stream().map(Item::getId).toList()), ITEM_MAPPER).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        List<Item> updated = items.stream()
+                .filter(item -> oldItems.containsKey(item.getId()))
+                .toList();
+        // строки заблокированы до конца транзакции, так что версия не может увеличиться дважды до одного значения
+        updated.forEach(item -> item.setVersion(oldItems.get(item.getId()).getVersion() + 1));
+
+        jdbcTemplate.batchUpdate(UPDATE_ITEM, updated, updated.size(), (ps, item) -> {
+            setItemColumns(ps, item);
+            ps.setInt(7, item.getId());
+        });
+
+        List<TrigramRow> removed = new ArrayList<>();
+        List<TrigramRow> added = new ArrayList<>();
+        for (Item item : updated) {
+            Set<String> oldTrigrams = trigrams(oldItems.get(item.getId()));
+            Set<String> newTrigrams = trigrams(item);
+            oldTrigrams.stream()
+                    .filter(trigram -> !newTrigrams.contains(trigram))
+                    .forEach(trigram -> removed.add(new TrigramRow(trigram, item.getId())));
+            newTrigrams.stream()
+                    .filter(trigram -> !oldTrigrams.contains(trigram))
+                    .forEach(trigram -> added.add(new TrigramRow(trigram, item.getId())));
+        }
+        batchTrigrams(DELETE_TRIGRAM, removed);
+        batchTrigrams(INSERT_TRIGRAM, added);
+        return updated;
+    }
+
+    @Override
+    public void deleteById(int itemId) {
+        jdbcTemplate.update("DELETE FROM items WHERE id = ?", itemId);
+    }
+
+    @Override
+    public Optional<Item> findItemById(int itemId) {
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.id = ?", ITEM_MAPPER, itemId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public OptionalLong findItemVersion(int itemId) {
+        return jdbcTemplate.queryForList("SELECT version FROM items WHERE id = ?", Long.class, itemId).stream()
+                .mapToLong(Long::longValue)
+                .findFirst();
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Integer> itemIds) {
+        if (itemIds.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.id IN (:ids) ORDER BY i.id",
+                new MapSqlParameterSource("ids", Set.copyOf(itemIds)), ITEM_MAPPER);
+    }
+
+    @Override
+    public List<Item> findAllItems(PageRequest page) {
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.id > ? ORDER BY i.id LIMIT ? OFFSET ?",
+                ITEM_MAPPER, page.getAfterId(), page.getSize(), page.getFrom());
+    }
+
+    @Override
+    public List<Item> findItemsByUser(int userId, PageRequest page) {
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.owner_id = ? AND i.id > ? "
+                        + "ORDER BY i.id LIMIT ? OFFSET ?",
+                ITEM_MAPPER, userId, page.getAfterId(), page.getSize(), page.getFrom());
+    }
+
+    @Override
+    public List<Item> findItemsByParams(String text, boolean isOnlyAvailable, PageRequest page) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+        return metrics.recordSearch(() -> search(text.toLowerCase(), isOnlyAvailable, page));
+    }
+
+    private List<Item> search(String query, boolean isOnlyAvailable, PageRequest page) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("pattern", "%" + escapeLike(query) + "%")
+                .addValue("onlyAvailable", isOnlyAvailable)
+                .addValue("afterId", page.getAfterId())
+                .addValue("size", page.getSize())
+                .addValue("from", page.getFrom());
+        if (query.length() < ItemTextIndex.MAX_GRAM_LENGTH) {
+            return namedJdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.id > :afterId AND "
+                    + SEARCH_FILTER + " ORDER BY i.id LIMIT :size OFFSET :from", params, ITEM_MAPPER);
+        }
+
+        // кандидаты - вещи со всеми триграммами запроса; LIKE проверяется только для них, страница отбирается
+        // в том же запросе, так что в приложение не читаются ни все id кандидатов, ни лишние вещи
+        Set<String> trigrams = ItemTextIndex.grams(query, ItemTextIndex.MAX_GRAM_LENGTH);
+        params.addValue("trigrams", trigrams).addValue("trigramCount", trigrams.size());
+        return namedJdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i JOIN (SELECT t.item_id FROM item_trigrams t "
+                + "WHERE t.trigram IN (:trigrams) AND t.item_id > :afterId "
+                + "GROUP BY t.item_id HAVING COUNT(*) = :trigramCount) c ON c.item_id = i.id "
+                + "WHERE " + SEARCH_FILTER + " ORDER BY i.id LIMIT :size OFFSET :from", params, ITEM_MAPPER);
+    }
+
+    @Override
+    public List<Item> findItemsByNamePrefix(String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return jdbcTemplate.query("SELECT " + ITEM_COLUMNS + " FROM items i WHERE i.available "
+                        + "AND i.name_normalized LIKE ? ESCAPE '\\' ORDER BY i.name_normalized, i.id LIMIT ?",
+                ITEM_MAPPER, escapeLike(ItemRepository.normalizeName(prefix)) + "%", limit);
+    }
+
+    private void batchTrigrams(String sql, List<TrigramRow> rows) {
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, rows, rows.size(), (ps, row) -> {
+                ps.setString(1, row.trigram());
+                ps.setInt(2, row.itemId());
+            });
+        }
+    }
+
+    private static void setItemColumns(PreparedStatement ps, Item item) throws SQLException {
+        ps.setString(1, item.getName());
+        ps.setString(2, item.getDescription());
+        ps.setBoolean(3, item.isAvailable());
+        ps.setInt(4, item.getOwnerId());
+        ps.setString(5, ItemRepository.normalizeName(item.getName()));
+        ps.setLong(6, item.getVersion());
+    }
+
+    private static Set<String> trigrams(Item item) {
+        Set<String> trigrams = new HashSet<>(
+                ItemTextIndex.grams(item.getName().toLowerCase(), ItemTextIndex.MAX_GRAM_LENGTH));
+        trigrams.addAll(ItemTextIndex.grams(item.getDescription().toLowerCase(), ItemTextIndex.MAX_GRAM_LENGTH));
+        return trigrams;
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private record TrigramRow(String trigram, int itemId) {
+    }
+}
@@ -0,0 +1,256 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Хранилище вещей в куче, разделенное по владельцам ({@code shareit.items.storage=sharded}) на независимые шарды
+ * {@link ItemRepositoryInMemory} со своими индексами, поэтому запись в разные шарды не конкурирует за общие
+ * списки n-грамм. Операции с вещами одного владельца обращаются к одному шарду, вещь по id находится по справочнику.
+ * Поиск выполняется во всех шардах параллельно на {@link ForkJoinPool}, результаты сливаются по возрастанию id.
+ * id выдаются из общего счетчика, так что порядок вещей тот же, что и в {@code heap}. Журнал не поддерживается.
+ */
+@Repository
+@Qualifier("itemStorage")
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "shareit.items.storage", havingValue = "sharded")
+public class ShardedItemRepository implements ItemRepository, MeterBinder {
+    private static final Comparator<Item> BY_ID = Comparator.comparingInt(Item::getId);
+    private static final Comparator<Item> BY_NAME = Comparator.comparing((Item item) ->
+            ItemRepository.normalizeName(item.getName())).thenComparing(BY_ID);
+
+    private final ItemRepositoryInMemory[] shards;
+    private final IntObjectMap<ItemRepositoryInMemory> shardsByItemId = new IntObjectMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final ForkJoinPool searchPool;
+    private final ItemRepositoryMetrics metrics;
+
+    public ShardedItemRepository(ItemStorageProperties properties) {
+        if (properties.getShards() <= 0) {
+            throw new IllegalArgumentException("Число шардов хранилища вещей должно быть положительным: "
+                    + properties.getShards());
+        }
+        shards = new ItemRepositoryInMemory[properties.getShards()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new ItemRepositoryInMemory(lastId);
+        }
+        searchPool = new ForkJoinPool(Math.min(shards.length, Runtime.getRuntime().availableProcessors()));
+        metrics = new ItemRepositoryMetrics(
+                () -> Arrays.stream(shards).mapToInt(ItemRepositoryInMemory::size).sum(),
+                () -> Arrays.stream(shards).mapToInt(ItemRepositoryInMemory::ownerCount).sum(),
+                () -> Arrays.stream(shards).mapToInt(ItemRepositoryInMemory::maxItemsPerOwner).max().orElse(0));
+    }
+
+    /**
+     * Отказывается запускаться с включенным журналом, чтобы вещи не терялись при перезапуске молча.
+     */
+    @Autowired
+    public ShardedItemRepository(ItemStorageProperties properties, JournalProperties journalProperties) {
+        this(properties.requireNoJournal(journalProperties));
+    }
+
+    @PreDestroy
+    public void close() {
+        searchPool.shutdown();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    @Override
+    public Item create(Item item) {
+        item.setId(lastId.incrementAndGet());
+        insert(List.of(item));
+        return item;
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> items) {
+        int firstId = lastId.getAndAdd(items.size()) + 1;
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setId(firstId + i);
+        }
+        insert(items);
+        return items;
+    }
+
+    @Override
+    public Item update(Item item) {
+        return shardOf(item.getOwnerId()).update(item);
+    }
+
+    @Override
+    public List<Item> updateAll(List<Item> items) {
+        List<Item> updated = new ArrayList<>(items.size());
+        for (Item item : items) {
+            updated.addAll(shardOf(item.getOwnerId()).updateAll(List.of(item)));
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(int itemId) {
+        ItemRepositoryInMemory shard = shardsByItemId.get(itemId);
+        if (shard != null) {
+            shard.deleteById(itemId);
+            shardsByItemId.remove(itemId);
+        }
+    }
+
+    @Override
+    public Optional<Item> findItemById(int itemId) {
+        ItemRepositoryInMemory shard = shardsByItemId.get(itemId);
+        return shard != null ? shard.findItemById(itemId) : Optional.empty();
+    }
+
+    @Override
+    public OptionalLong findItemVersion(int itemId) {
+        ItemRepositoryInMemory shard = shardsByItemId.get(itemId);
+        return shard != null ? shard.findItemVersion(itemId) : OptionalLong.empty();
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Integer> itemIds) {
+        return itemIds.stream()
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .sorted()
+                .mapToObj(this::findItemById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findAllItems(PageRequest page) {
+        // id общие для всех шардов, поэтому они обходятся один раз по справочнику: в каждом шарде обход шел бы
+        // по всему диапазону id, даже если вещей в шарде почти нет
+        return IntStream.rangeClosed(page.getAfterId() + 1, lastId.get())
+                .mapToObj(this::findItemById)
+                .flatMap(Optional::stream)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList();
+    }
+
+    @Override
+    public List<Item> findItemsByUser(int userId, PageRequest page) {
+        return shardOf(userId).findItemsByUser(userId, page);
+    }
+
+    @Override
+    public List<Item> findItemsByParams(String text, boolean isOnlyAvailable, PageRequest page) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+        PageRequest shardPage = shardPage(page);
+        return metrics.recordSearch(() -> merge(
+                fanOut(shard -> shard.findItemsByParams(text, isOnlyAvailable, shardPage)),
+                BY_ID, page.getFrom(), page.getSize()));
+    }
+
+    @Override
+    public List<Item> findItemsByNamePrefix(String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return merge(fanOut(shard -> shard.findItemsByNamePrefix(prefix, limit)), BY_NAME, 0, limit);
+    }
+
+    private ItemRepositoryInMemory shardOf(int ownerId) {
+        return shards[Math.floorMod(ownerId, shards.length)];
+    }
+
+    private void insert(List<Item> items) {
+        // справочник заполняется раньше шарда: найденная поиском вещь должна находиться и по id
+        for (Item item : items) {
+            shardsByItemId.put(item.getId(), shardOf(item.getOwnerId()));
+        }
+        items.stream()
+                .collect(Collectors.groupingBy(item -> shardOf(item.getOwnerId())))
+                .forEach(ItemRepositoryInMemory::insertAll);
+    }
+
+    /**
+     * Страница для одного шарда: из любого шарда в итоговую страницу попадет не больше {@code from + size} вещей.
+     */
+    private static PageRequest shardPage(PageRequest page) {
+        return new PageRequest(0, (int) Math.min(Integer.MAX_VALUE, (long) page.getFrom() + page.getSize()),
+                page.getAfterId());
+    }
+
+    /**
+     * Выполняет запрос во всех шардах: в пуле, кроме первого шарда, который обрабатывает вызывающий поток.
+     */
+    private List<List<Item>> fanOut(Function<ItemRepositoryInMemory, List<Item>> query) {
+        List<ForkJoinTask<List<Item>>> tasks = IntStream.range(1, shards.length)
+                .mapToObj(i -> searchPool.submit(() -> query.apply(shards[i])))
+                .toList();
+        List<List<Item>> results = new ArrayList<>(shards.length);
+        results.add(query.apply(shards[0]));
+        for (ForkJoinTask<List<Item>> task : tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * Слияние упорядоченных результатов шардов через кучу по первым элементам: пропускает {@code from}
+     * и возвращает не больше {@code size} вещей.
+     */
+    private static List<Item> merge(List<List<Item>> results, Comparator<Item> order, int from, int size) {
+        PriorityQueue<Head> heads = new PriorityQueue<>(results.size(),
+                (left, right) -> order.compare(left.item(), right.item()));
+        for (List<Item> result : results) {
+            Iterator<Item> iterator = result.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head(iterator.next(), iterator));
+            }
+        }
+
+        List<Item> merged = new ArrayList<>(Math.min(size, 64));
+        long toSkip = from;
+        while (!heads.isEmpty() && merged.size() < size) {
+            Head head = heads.poll();
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                merged.add(head.item());
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return List.copyOf(merged);
+    }
+
+    private record Head(Item item, Iterator<Item> rest) {
+    }
+}
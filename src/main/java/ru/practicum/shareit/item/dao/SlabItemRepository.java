@@ -0,0 +1,249 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.util.CompactIntSet;
+import ru.practicum.shareit.util.IntObjectMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Хранилище вещей вне кучи ({@code shareit.items.storage=slab}) для миллионов вещей без роста кучи и пауз GC.
+ * В куче остаются адреса записей по id, индекс владельцев, дерево названий для подсказок и списки id по n-граммам
+ * ({@link ItemGramIndex}) без самих текстов: поиск проверяет по записям только вещи-кандидаты.
+ * Изменения выполняются по одному под общей блокировкой, чтение не блокируется. Журнал не поддерживается.
+ */
+@Repository
+@Qualifier("itemStorage")
+@Profile("!jdbc")
+@ConditionalOnProperty(name = "shareit.items.storage", havingValue = "slab")
+public class SlabItemRepository implements ItemRepository, MeterBinder {
+    private final ItemSlab slab;
+    /**
+     * id вещей владельца по возрастанию; изменяется под {@link #writeLock}.
+     */
+    private final IntObjectMap<CompactIntSet> itemIdsByUserId = new IntObjectMap<>();
+    private final ItemNameTrie nameIndex = new ItemNameTrie();
+    private final ItemGramIndex gramIndex = new ItemGramIndex();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile int lastId;
+    private final ItemRepositoryMetrics metrics;
+
+    public SlabItemRepository(ItemStorageProperties properties) {
+        this.slab = new ItemSlab((int) properties.getSlabSegmentSize().toBytes());
+        this.metrics = new ItemRepositoryMetrics(slab::size, itemIdsByUserId::size,
+                () -> itemIdsByUserId.values().mapToInt(CompactIntSet::size).max().orElse(0));
+        metrics.gauge("shareit.items.slab.used", "Байты живых записей вещей вне кучи", slab::usedBytes);
+        metrics.gauge("shareit.items.slab.allocated", "Выделенная память сегментов вещей вне кучи", slab::allocatedBytes);
+    }
+
+    /**
+     * Отказывается запускаться с включенным журналом, чтобы вещи не терялись при перезапуске молча.
+     */
+    @Autowired
+    public SlabItemRepository(ItemStorageProperties properties, JournalProperties journalProperties) {
+        this(properties.requireNoJournal(journalProperties));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        metrics.bindTo(registry);
+    }
+
+    @Override
+    public Item create(Item item) {
+        return createAll(List.of(item)).getFirst();
+    }
+
+    @Override
+    public List<Item> createAll(List<Item> items) {
+        writeLock.lock();
+        try {
+            for (Item item : items) {
+                item.setId(lastId + 1);
+                item.setVersion(1);
+                slab.put(item, false);
+                lastId = item.getId();
+                addOwnerItem(item.getOwnerId(), item.getId());
+                nameIndex.replace(item.getId(), null, ItemNameTrie.key(item));
+                gramIndex.replace(item.getId(), Set.of(), grams(item));
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return items;
+    }
+
+    @Override
+    public Item update(Item item) {
+        writeLock.lock();
+        try {
+            if (!replace(item)) {
+                throw new NoSuchElementException("Не найдена вещь с id=" + item.getId());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return item;
+    }
+
+    @Override
+    public List<Item> updateAll(List<Item> items) {
+        List<Item> updated = new ArrayList<>(items.size());
+        writeLock.lock();
+        try {
+            for (Item item : items) {
+                if (replace(item)) {
+                    updated.add(item);
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(int itemId) {
+        writeLock.lock();
+        try {
+            Item item = slab.remove(itemId);
+            if (item != null) {
+                nameIndex.replace(itemId, ItemNameTrie.key(item), null);
+                gramIndex.replace(itemId, grams(item), Set.of());
+                CompactIntSet itemIds = itemIdsByUserId.get(item.getOwnerId());
+                if (itemIds != null && itemIds.remove(itemId) && itemIds.isEmpty()) {
+                    itemIdsByUserId.remove(item.getOwnerId());
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Item> findItemById(int itemId) {
+        return Optional.ofNullable(slab.get(itemId));
+    }
+
+    @Override
+    public OptionalLong findItemVersion(int itemId) {
+        long version = slab.version(itemId);
+        return version != 0 ? OptionalLong.of(version) : OptionalLong.empty();
+    }
+
+    @Override
+    public List<Item> findItemsByIds(Collection<Integer> itemIds) {
+        return itemIds.stream()
+                .mapToInt(Integer::intValue)
+                .distinct()
+                .sorted()
+                .mapToObj(slab::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Item> findAllItems(PageRequest page) {
+        return IntStream.rangeClosed(page.getAfterId() + 1, lastId)
+                .mapToObj(slab::get)
+                .filter(Objects::nonNull)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList();
+    }
+
+    @Override
+    public List<Item> findItemsByUser(int userId, PageRequest page) {
+        CompactIntSet itemIds = itemIdsByUserId.get(userId);
+        if (itemIds == null) {
+            return List.of();
+        }
+
+        List<Item> items = new ArrayList<>(Math.min(page.getSize(), itemIds.size()));
+        long toSkip = page.getFrom();
+        PrimitiveIterator.OfInt ids = itemIds.iterator(page.getAfterId() + 1);
+        while (ids.hasNext() && items.size() < page.getSize()) {
+            Item item = slab.get(ids.nextInt());
+            if (item == null) {
+                continue;
+            }
+            if (toSkip > 0) {
+                toSkip--;
+            } else {
+                items.add(item);
+            }
+        }
+        return Collections.unmodifiableList(items);
+    }
+
+    @Override
+    public List<Item> findItemsByParams(String text, boolean isOnlyAvailable, PageRequest page) {
+        if (text.isBlank()) {
+            return List.of();
+        }
+
+        String query = text.toLowerCase();
+        return metrics.recordSearch(() -> gramIndex.candidates(query, page.getAfterId() + 1)
+                .mapToObj(id -> slab.findMatching(id, query, isOnlyAvailable))
+                .filter(Objects::nonNull)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList());
+    }
+
+    @Override
+    public List<Item> findItemsByNamePrefix(String prefix, int limit) {
+        if (prefix.isBlank()) {
+            return List.of();
+        }
+        return nameIndex.find(prefix, limit).stream()
+                .map(slab::get)
+                .filter(item -> item != null && item.isAvailable())
+                .toList();
+    }
+
+    private boolean replace(Item item) {
+        Item oldItem = slab.get(item.getId());
+        if (oldItem == null) {
+            return false;
+        }
+        item.setVersion(oldItem.getVersion() + 1);
+        slab.put(item, true);
+        nameIndex.replace(item.getId(), ItemNameTrie.key(oldItem), ItemNameTrie.key(item));
+        gramIndex.replace(item.getId(), grams(oldItem), grams(item));
+        return true;
+    }
+
+    private static Set<String> grams(Item item) {
+        return ItemTextIndex.grams(item.getName().toLowerCase(), item.getDescription().toLowerCase());
+    }
+
+    private void addOwnerItem(int ownerId, int itemId) {
+        CompactIntSet itemIds = itemIdsByUserId.get(ownerId);
+        if (itemIds == null) {
+            itemIds = new CompactIntSet();
+            itemIdsByUserId.put(ownerId, itemIds);
+        }
+        itemIds.add(itemId);
+    }
+}
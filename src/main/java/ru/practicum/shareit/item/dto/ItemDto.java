@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -10,4 +11,9 @@ public class ItemDto {
     private String name;
     private String description;
     private Boolean available;
+    /**
+     * Версия для ETag, в теле ответа не передается.
+     */
+    @JsonIgnore
+    private long version;
 }
@@ -9,6 +9,7 @@ public class ItemDtoMapper {
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.isAvailable())
+                .version(item.getVersion())
                 .build();
     }
 
@@ -4,11 +4,15 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class Item {
     private int id;
     private String name;
     private String description;
     private boolean available;
     private int ownerId;
+    /**
+     * Номер изменения: хранилище задает 1 при создании и увеличивает при каждом изменении.
+     */
+    private long version;
 }
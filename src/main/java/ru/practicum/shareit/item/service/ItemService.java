@@ -1,7 +1,12 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface ItemService {
 
@@ -9,11 +14,31 @@ public interface ItemService {
 
     ItemDto update(int userId, int itemId, ItemDto itemDto);
 
+    /**
+     * Создает вещи без id и изменяет вещи с id. Результаты возвращаются в порядке элементов пакета.
+     */
+    List<BatchResult<ItemDto>> createOrUpdateAll(int userId, List<ItemDto> itemDtos);
+
     ItemDto findItemById(int itemId);
 
-    List<ItemDto> findUserItems(int userId);
+    /**
+     * Версия вещи для условных запросов; сама вещь не читается.
+     */
+    long findItemVersion(int itemId);
+
+    Page<ItemDto> findUserItems(int userId, PageRequest page);
+
+    Page<ItemDto> searchItems(String text, boolean isOnlyAvailable, PageRequest page);
+
+    /**
+     * Подсказки: до {@code limit} доступных вещей, название которых начинается с {@code prefix}.
+     */
+    List<ItemDto> suggestItems(String prefix, int limit);
 
-    List<ItemDto> searchItems(String text, boolean isOnlyAvailable);
+    /**
+     * Все вещи по возрастанию id; читаются из хранилища частями по мере обхода потока.
+     */
+    Stream<ItemDto> exportItems();
 
     void deleteItemById(int itemId);
 }
@@ -1,64 +1,100 @@
 package ru.practicum.shareit.item.service;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
+@Counted("shareit.service.calls")
 public class ItemServiceImpl implements ItemService {
+    static final int MAX_SUGGESTIONS = 100;
+    static final int EXPORT_BATCH_SIZE = 1000;
+
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final ItemRequestRepository itemRequestRepository;
 
     @Override
     public ItemDto create(int userId, ItemDto itemDto) {
-        User user = userRepository.findUserById(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId));
-
-        if (itemDto.getName() == null
-            || itemDto.getName().isBlank()
-            || itemDto.getDescription() == null
-            || itemDto.getDescription().isBlank()
-            || itemDto.getAvailable() == null) {
-            throw new ValidationException("Некорректные данные вещи");
-        }
-
-        Item itemToCreate = ItemDtoMapper.mapItemDtoToItem(itemDto);
-        itemToCreate.setOwnerId(user.getId());
-
-        return ItemDtoMapper.mapItemToItemDto(itemRepository.create(itemToCreate));
+        User user = findUser(userId);
+        Item item = itemRepository.create(newItem(user, itemDto));
+        answerRequests(item);
+        return ItemDtoMapper.mapItemToItemDto(item);
     }
 
     @Override
     public ItemDto update(int userId, int itemId, ItemDto itemDto) {
         Item item = itemRepository.findItemById(itemId).orElseThrow(() -> new NoSuchElementException("Не найдена вещь с id=" + itemId));
-        User user = userRepository.findUserById(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId));
-
-        if (item.getOwnerId() != user.getId()) {
-            throw new ValidationException("Пользователь id=" + user.getId() + " не может изменить вещь id=" + item.getId());
-        }
+        User user = findUser(userId);
+        return ItemDtoMapper.mapItemToItemDto(itemRepository.update(patchItem(item, user, itemDto)));
+    }
 
-        if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
-            item.setName(itemDto.getName());
+    @Override
+    public List<BatchResult<ItemDto>> createOrUpdateAll(int userId, List<ItemDto> itemDtos) {
+        BatchResult.checkSize(itemDtos.size());
+        User user = findUser(userId);
+
+        List<BatchResult<ItemDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        List<Item> toCreate = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        Map<Integer, Integer> updateIndexes = new HashMap<>();
+        List<Item> toUpdate = new ArrayList<>();
+        for (int i = 0; i < itemDtos.size(); i++) {
+            ItemDto itemDto = itemDtos.get(i);
+            try {
+                if (itemDto.getId() == 0) {
+                    toCreate.add(newItem(user, itemDto));
+                    createIndexes.add(i);
+                } else {
+                    if (updateIndexes.containsKey(itemDto.getId())) {
+                        throw new ValidationException("Вещь id=" + itemDto.getId() + " указана в пакете несколько раз");
+                    }
+                    Item item = itemRepository.findItemById(itemDto.getId())
+                            .orElseThrow(() -> new NoSuchElementException("Не найдена вещь с id=" + itemDto.getId()));
+                    toUpdate.add(patchItem(item, user, itemDto));
+                    updateIndexes.put(item.getId(), i);
+                }
+            } catch (ValidationException | NoSuchElementException e) {
+                results.set(i, BatchResult.failed(i, e));
+            }
         }
 
-        if (itemDto.getDescription() != null) {
-            item.setDescription(itemDto.getDescription());
+        List<Item> created = itemRepository.createAll(toCreate);
+        for (int i = 0; i < created.size(); i++) {
+            answerRequests(created.get(i));
+            results.set(createIndexes.get(i), BatchResult.created(createIndexes.get(i),
+                    ItemDtoMapper.mapItemToItemDto(created.get(i))));
         }
-
-        if (itemDto.getAvailable() != null) {
-            item.setAvailable(itemDto.getAvailable());
+        for (Item item : itemRepository.updateAll(toUpdate)) {
+            int index = updateIndexes.remove(item.getId());
+            results.set(index, BatchResult.updated(index, ItemDtoMapper.mapItemToItemDto(item)));
         }
-
-        return ItemDtoMapper.mapItemToItemDto(itemRepository.update(item));
+        // вещи, удаленные во время обработки пакета
+        updateIndexes.forEach((itemId, index) ->
+                results.set(index, BatchResult.failed(index, new NoSuchElementException("Не найдена вещь с id=" + itemId))));
+        return results;
     }
 
     @Override
@@ -67,21 +103,94 @@ public class ItemServiceImpl implements ItemService {
     }
 
     @Override
-    public List<ItemDto> findUserItems(int userId) {
-        return itemRepository.findItemsByUser(userId).stream()
-                .map(ItemDtoMapper::mapItemToItemDto)
-                .toList();
+    public long findItemVersion(int itemId) {
+        return itemRepository.findItemVersion(itemId).orElseThrow(() -> new NoSuchElementException("Не найдена вещь с id=" + itemId));
     }
 
     @Override
-    public List<ItemDto> searchItems(String text, boolean isOnlyAvailable) {
-        return itemRepository.findItemsByParams(text, isOnlyAvailable).stream()
+    public Page<ItemDto> findUserItems(int userId, PageRequest page) {
+        return Page.of(itemRepository.findItemsByUser(userId, page), page, Item::getId)
+                .map(ItemDtoMapper::mapItemToItemDto);
+    }
+
+    @Override
+    public Page<ItemDto> searchItems(String text, boolean isOnlyAvailable, PageRequest page) {
+        return Page.of(itemRepository.findItemsByParams(text, isOnlyAvailable, page), page, Item::getId)
+                .map(ItemDtoMapper::mapItemToItemDto);
+    }
+
+    @Override
+    public List<ItemDto> suggestItems(String prefix, int limit) {
+        if (limit <= 0 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("Некорректное число подсказок: limit=" + limit);
+        }
+        return itemRepository.findItemsByNamePrefix(prefix, limit).stream()
                 .map(ItemDtoMapper::mapItemToItemDto)
                 .toList();
     }
 
+    @Override
+    public Stream<ItemDto> exportItems() {
+        return Page.streamAll(itemRepository::findAllItems, Item::getId, EXPORT_BATCH_SIZE)
+                .map(ItemDtoMapper::mapItemToItemDto);
+    }
+
     @Override
     public void deleteItemById(int itemId) {
         itemRepository.deleteById(itemId);
     }
+
+    /**
+     * Отмечает новую вещь в открытых запросах других пользователей, описание которых
+     * содержит хотя бы одно ключевое слово названия вещи.
+     */
+    private void answerRequests(Item item) {
+        List<Integer> requestIds = itemRequestRepository.findRequestIdsByKeywords(
+                ItemRequestRepository.keywords(item.getName()), item.getOwnerId());
+        if (!requestIds.isEmpty()) {
+            itemRequestRepository.addAnswers(item.getId(), requestIds);
+        }
+    }
+
+    private User findUser(int userId) {
+        return userRepository.findUserById(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId));
+    }
+
+    private static Item newItem(User owner, ItemDto itemDto) {
+        if (itemDto.getName() == null
+            || itemDto.getName().isBlank()
+            || itemDto.getDescription() == null
+            || itemDto.getDescription().isBlank()
+            || itemDto.getAvailable() == null) {
+            throw new ValidationException("Некорректные данные вещи");
+        }
+
+        Item itemToCreate = ItemDtoMapper.mapItemDtoToItem(itemDto);
+        itemToCreate.setOwnerId(owner.getId());
+        return itemToCreate;
+    }
+
+    /**
+     * Изменяет копию вещи: хранилище в памяти отдает сохраненный объект, который до {@code update} должен оставаться
+     * прежним для параллельного чтения и при ошибке изменения.
+     */
+    private static Item patchItem(Item storedItem, User user, ItemDto itemDto) {
+        if (storedItem.getOwnerId() != user.getId()) {
+            throw new ValidationException("Пользователь id=" + user.getId() + " не может изменить вещь id=" + storedItem.getId());
+        }
+        Item item = storedItem.toBuilder().build();
+
+        if (itemDto.getName() != null && !itemDto.getName().isBlank()) {
+            item.setName(itemDto.getName());
+        }
+
+        if (itemDto.getDescription() != null) {
+            item.setDescription(itemDto.getDescription());
+        }
+
+        if (itemDto.getAvailable() != null) {
+            item.setAvailable(itemDto.getAvailable());
+        }
+        return item;
+    }
 }
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageRequest;
+
+/**
+ * Неблокирующий вариант {@link ItemService} для реактивного API с теми же правилами и хранилищем.
+ */
+public interface ReactiveItemService {
+    Mono<ItemDto> create(int userId, ItemDto itemDto);
+
+    Mono<ItemDto> update(int userId, int itemId, ItemDto itemDto);
+
+    Mono<ItemDto> findItemById(int itemId);
+
+    /**
+     * Вещи владельца; следующие части читаются из хранилища по мере запроса подписчика.
+     */
+    Flux<ItemDto> findUserItems(int userId, PageRequest page);
+
+    /**
+     * Результаты поиска; следующие части читаются из хранилища по мере запроса подписчика.
+     */
+    Flux<ItemDto> searchItems(String text, boolean isOnlyAvailable, PageRequest page);
+
+    Mono<Void> deleteItemById(int itemId);
+}
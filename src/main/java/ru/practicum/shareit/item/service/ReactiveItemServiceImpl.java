@@ -0,0 +1,55 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.reactive.StorageSchedulers;
+
+/**
+ * Проверки и хранилище - из {@link ItemService}; обращения к нему выполняются на {@link StorageSchedulers}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveItemServiceImpl implements ReactiveItemService {
+    private final ItemService itemService;
+    private final StorageSchedulers schedulers;
+
+    @Override
+    public Mono<ItemDto> create(int userId, ItemDto itemDto) {
+        return schedulers.write(() -> itemService.create(userId, itemDto));
+    }
+
+    @Override
+    public Mono<ItemDto> update(int userId, int itemId, ItemDto itemDto) {
+        return schedulers.write(() -> itemService.update(userId, itemId, itemDto));
+    }
+
+    @Override
+    public Mono<ItemDto> findItemById(int itemId) {
+        return schedulers.read(() -> itemService.findItemById(itemId));
+    }
+
+    @Override
+    public Flux<ItemDto> findUserItems(int userId, PageRequest page) {
+        return schedulers.readPages(batch -> itemService.findUserItems(userId, batch).getContent(), ItemDto::getId, page);
+    }
+
+    @Override
+    public Flux<ItemDto> searchItems(String text, boolean isOnlyAvailable, PageRequest page) {
+        return schedulers.readPages(batch -> itemService.searchItems(text, isOnlyAvailable, batch).getContent(),
+                ItemDto::getId, page);
+    }
+
+    @Override
+    public Mono<Void> deleteItemById(int itemId) {
+        return schedulers.write(() -> {
+            itemService.deleteItemById(itemId);
+            return null;
+        }).then();
+    }
+}
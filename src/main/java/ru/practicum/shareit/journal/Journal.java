@@ -0,0 +1,406 @@
+package ru.practicum.shareit.journal;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Журнал изменений хранилища в памяти: файл только на дозапись, отображаемый в память участками.
+ * Запись - длина, CRC32C и данные; чтение останавливается на нулевой длине или неверной контрольной сумме,
+ * то есть на недописанном хвосте после сбоя. Записи, ожидающие сброса на диск, фиксируются одним
+ * {@code force} на группу: первый ожидающий сбрасывает все, что успели дописать остальные.
+ *
+ * <p>Снимок пишется так: журнал переключается на новое поколение, в отдельный файл выгружается
+ * текущее состояние, после чего журналы старых поколений удаляются. Снимок может уже содержать часть
+ * изменений нового поколения, поэтому записи должны быть идемпотентными (полное состояние сущности или удаление).
+ */
+@Slf4j
+public class Journal implements Closeable {
+    private static final int RECORD_HEADER = 2 * Integer.BYTES;
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path directory;
+    private final String name;
+    private final int regionSize;
+    private final boolean syncWrites;
+    private final long snapshotEvery;
+    private final Consumer<Consumer<byte[]>> stateWriter;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition forced = lock.newCondition();
+    private final Object snapshotLock = new Object();
+    private final ExecutorService snapshotExecutor;
+
+    private long generation;
+    private FileChannel channel;
+    private MappedByteBuffer region;
+    private long regionStart;
+    /**
+     * Сквозные позиции по всем поколениям: начало текущего поколения, конец записанного и сброшенного на диск.
+     */
+    private long generationStart;
+    private long written;
+    private long durable;
+    private boolean forcing;
+    private long recordsSinceSnapshot;
+    private long snapshotGeneration = -1;
+    private Future<?> snapshotTask = CompletableFuture.completedFuture(null);
+    private boolean closed;
+
+    private Journal(String name, JournalProperties properties, Consumer<Consumer<byte[]>> stateWriter) {
+        this.directory = properties.getDirectory();
+        this.name = name;
+        this.regionSize = (int) Math.min(Integer.MAX_VALUE, properties.getRegionSize().toBytes());
+        this.syncWrites = properties.isSyncWrites();
+        this.snapshotEvery = properties.getSnapshotEvery();
+        this.stateWriter = stateWriter;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(Thread.ofPlatform()
+                .name("journal-" + name)
+                .daemon()
+                .factory());
+    }
+
+    /**
+     * Открывает журнал {@code name}: передает в {@code replay} записи последнего снимка и более новых
+     * поколений журнала по порядку, после чего журнал готов к дозаписи.
+     * {@code stateWriter} выгружает текущее состояние хранилища записями для снимка.
+     */
+    public static Journal open(String name, JournalProperties properties, Consumer<ByteBuffer> replay,
+                               Consumer<Consumer<byte[]>> stateWriter) {
+        Journal journal = new Journal(name, properties, stateWriter);
+        try {
+            journal.recover(replay);
+        } catch (IOException e) {
+            journal.snapshotExecutor.shutdownNow();
+            throw new UncheckedIOException("Не удалось открыть журнал " + name, e);
+        }
+        return journal;
+    }
+
+    /**
+     * Дописывает запись и возвращает позицию ее конца для {@link #awaitDurable(long)}.
+     */
+    public long append(byte[] record) {
+        if (record.length + RECORD_HEADER > regionSize) {
+            throw new IllegalArgumentException("Запись журнала больше участка файла: " + record.length);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(record);
+
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Журнал " + name + " закрыт");
+            }
+            if (written - generationStart + RECORD_HEADER + record.length > regionStart + regionSize) {
+                nextRegion();
+            }
+            int offset = (int) (written - generationStart - regionStart);
+            region.putInt(offset + Integer.BYTES, (int) crc.getValue());
+            region.put(offset + RECORD_HEADER, record);
+            // длина пишется последней: запись без длины при чтении считается концом журнала
+            region.putInt(offset, record.length);
+            written += RECORD_HEADER + record.length;
+
+            if (++recordsSinceSnapshot >= snapshotEvery && snapshotEvery > 0 && snapshotTask.isDone()) {
+                long fromGeneration = rotate();
+                snapshotTask = snapshotExecutor.submit(() -> writeSnapshotQuietly(fromGeneration));
+            }
+            return written;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось дописать журнал " + name, e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Ждет, пока журнал до позиции {@code position} будет сброшен на диск, если включено ожидание записи.
+     */
+    public void awaitDurable(long position) {
+        if (!syncWrites) {
+            return;
+        }
+        lock.lock();
+        try {
+            while (durable < position) {
+                if (forcing) {
+                    forced.awaitUninterruptibly();
+                    continue;
+                }
+                forcing = true;
+                MappedByteBuffer buffer = region;
+                long bufferStart = generationStart + regionStart;
+                long from = Math.max(durable, bufferStart);
+                long to = written;
+                lock.unlock();
+                try {
+                    buffer.force((int) (from - bufferStart), (int) (to - from));
+                } finally {
+                    lock.lock();
+                    forcing = false;
+                    forced.signalAll();
+                }
+                durable = Math.max(durable, to);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Сохраняет снимок состояния и удаляет журналы, которые он покрывает.
+     */
+    public void snapshot() {
+        long fromGeneration;
+        lock.lock();
+        try {
+            fromGeneration = rotate();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось начать новое поколение журнала " + name, e);
+        } finally {
+            lock.unlock();
+        }
+        try {
+            writeSnapshot(fromGeneration);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сохранить снимок " + name, e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        } finally {
+            lock.unlock();
+        }
+
+        snapshotExecutor.shutdown();
+        try {
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            region.force();
+            durable = written;
+            // отображение расширяет файл до конца участка; при закрытии лишние нули отрезаются
+            channel.truncate(written - generationStart);
+            channel.close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recover(Consumer<ByteBuffer> replay) throws IOException {
+        Files.createDirectories(directory);
+        long fromGeneration = 0;
+        if (Files.exists(snapshotPath())) {
+            long[] snapshotHeader = {-1};
+            read(snapshotPath(), record -> {
+                if (snapshotHeader[0] < 0) {
+                    snapshotHeader[0] = record.getLong();
+                } else {
+                    replay.accept(record);
+                }
+            });
+            if (snapshotHeader[0] < 0) {
+                throw new IOException("Снимок " + snapshotPath() + " поврежден");
+            }
+            fromGeneration = snapshotHeader[0];
+            snapshotGeneration = fromGeneration;
+        }
+
+        generation = fromGeneration;
+        long validEnd = 0;
+        for (long journalGeneration : journalGenerations()) {
+            if (journalGeneration < fromGeneration) {
+                Files.delete(journalPath(journalGeneration));
+                continue;
+            }
+            long[] count = {0};
+            validEnd = read(journalPath(journalGeneration), record -> {
+                replay.accept(record);
+                count[0]++;
+            });
+            recordsSinceSnapshot += count[0];
+            generation = journalGeneration;
+        }
+
+        channel = FileChannel.open(journalPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // недописанный хвост отрезается, чтобы его остатки не прочитались после новых записей
+        channel.truncate(validEnd);
+        written = validEnd;
+        durable = validEnd;
+        mapRegion(validEnd);
+        log.info("Журнал {}: восстановлено поколение {}, записей после снимка {}", name, generation, recordsSinceSnapshot);
+    }
+
+    /**
+     * Читает записи файла по порядку и возвращает позицию конца последней целой записи.
+     */
+    private long read(Path file, Consumer<ByteBuffer> consumer) throws IOException {
+        CRC32C crc = new CRC32C();
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = in.size();
+            long offset = 0;
+            while (offset + RECORD_HEADER <= size) {
+                MappedByteBuffer window = in.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(size - offset, regionSize));
+                int pos = 0;
+                while (pos + RECORD_HEADER <= window.limit()) {
+                    int length = window.getInt(pos);
+                    if (length <= 0 || offset + pos + RECORD_HEADER + length > size) {
+                        return offset + pos;
+                    }
+                    if (pos + RECORD_HEADER + length > window.limit()) {
+                        break;
+                    }
+                    ByteBuffer record = window.slice(pos + RECORD_HEADER, length);
+                    crc.reset();
+                    crc.update(record.duplicate());
+                    if ((int) crc.getValue() != window.getInt(pos + Integer.BYTES)) {
+                        return offset + pos;
+                    }
+                    consumer.accept(record);
+                    pos += RECORD_HEADER + length;
+                }
+                if (pos == 0) {
+                    return offset;
+                }
+                offset += pos;
+            }
+            return offset;
+        }
+    }
+
+    private void mapRegion(long start) throws IOException {
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, regionSize);
+        regionStart = start;
+    }
+
+    private void nextRegion() throws IOException {
+        region.force();
+        durable = written;
+        mapRegion(written - generationStart);
+    }
+
+    /**
+     * Сбрасывает текущее поколение на диск и начинает следующее. Вызывается под блокировкой.
+     *
+     * @return поколение, с которого нужно читать журнал поверх нового снимка
+     */
+    private long rotate() throws IOException {
+        region.force();
+        durable = written;
+        channel.close();
+        generation++;
+        generationStart = written;
+        channel = FileChannel.open(journalPath(generation),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        mapRegion(0);
+        recordsSinceSnapshot = 0;
+        return generation;
+    }
+
+    private void writeSnapshotQuietly(long fromGeneration) {
+        try {
+            writeSnapshot(fromGeneration);
+        } catch (IOException | RuntimeException e) {
+            log.error("Не удалось сохранить снимок {}", name, e);
+        }
+    }
+
+    private void writeSnapshot(long fromGeneration) throws IOException {
+        synchronized (snapshotLock) {
+            if (fromGeneration <= snapshotGeneration) {
+                return;
+            }
+            long start = System.nanoTime();
+            Path tmp = directory.resolve(name + SNAPSHOT_SUFFIX + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(out), 1 << 16))) {
+                CRC32C crc = new CRC32C();
+                Consumer<byte[]> writer = record -> {
+                    crc.reset();
+                    crc.update(record);
+                    try {
+                        stream.writeInt(record.length);
+                        stream.writeInt((int) crc.getValue());
+                        stream.write(record);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                };
+                writer.accept(ByteBuffer.allocate(Long.BYTES).putLong(fromGeneration).array());
+                stateWriter.accept(writer);
+                stream.flush();
+                out.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            Files.move(tmp, snapshotPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            }
+            snapshotGeneration = fromGeneration;
+
+            for (long journalGeneration : journalGenerations()) {
+                if (journalGeneration < fromGeneration) {
+                    Files.deleteIfExists(journalPath(journalGeneration));
+                }
+            }
+            log.info("Журнал {}: снимок поколения {} сохранен за {} мс", name, fromGeneration,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    private List<Long> journalGenerations() throws IOException {
+        String prefix = name + "-";
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.startsWith(prefix) && file.endsWith(JOURNAL_SUFFIX))
+                    .map(file -> Long.parseLong(file.substring(prefix.length(), file.length() - JOURNAL_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path journalPath(long journalGeneration) {
+        return directory.resolve(name + "-" + journalGeneration + JOURNAL_SUFFIX);
+    }
+
+    private Path snapshotPath() {
+        return directory.resolve(name + SNAPSHOT_SUFFIX);
+    }
+}
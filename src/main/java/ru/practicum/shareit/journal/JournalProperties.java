@@ -0,0 +1,36 @@
+package ru.practicum.shareit.journal;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+
+/**
+ * Настройки журнала хранилищ в памяти.
+ */
+@Data
+@ConfigurationProperties("shareit.journal")
+public class JournalProperties {
+    /**
+     * Записывать изменения вещей, пользователей, бронирований и запросов вещей в журнал и восстанавливать их при старте.
+     */
+    private boolean enabled;
+    /**
+     * Каталог файлов журнала и снимков.
+     */
+    private Path directory = Path.of("data");
+    /**
+     * Размер участка файла, отображаемого в память за один раз.
+     */
+    private DataSize regionSize = DataSize.ofMegabytes(64);
+    /**
+     * Ждать сброса записи на диск перед ответом; сброс выполняется одним force на группу записей.
+     * Без ожидания запись переживает падение процесса, но не сбой ОС.
+     */
+    private boolean syncWrites = true;
+    /**
+     * Число записей журнала, после которого состояние сохраняется в снимок, а журнал начинается заново.
+     */
+    private long snapshotEvery = 1_000_000;
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.journal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Кодирование полей записей журнала: строки хранятся как длина и байты UTF-8,
+ * дата и время - как секунды и наносекунды.
+ */
+public final class JournalRecords {
+    private JournalRecords() {
+    }
+
+    public static byte[] utf8(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static ByteBuffer putBytes(ByteBuffer buffer, byte[] bytes) {
+        return buffer.putInt(bytes.length).put(bytes);
+    }
+
+    public static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static ByteBuffer putDateTime(ByteBuffer buffer, LocalDateTime value) {
+        return buffer.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+    }
+
+    public static LocalDateTime getDateTime(ByteBuffer buffer) {
+        return LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+    }
+}
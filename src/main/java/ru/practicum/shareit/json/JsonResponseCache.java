@@ -0,0 +1,125 @@
+package ru.practicum.shareit.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.pagination.Page;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * JSON DTO вещей и пользователей в UTF-8 по типу, id и версии сущности. Версия меняется при каждом изменении,
+ * поэтому запись не нужно сбрасывать: после изменения ее просто перестают запрашивать, и она вытесняется по размеру.
+ * Ответ пишется готовыми байтами, без обхода DTO через Jackson; список - склейкой байтов элементов.
+ */
+@Component
+public class JsonResponseCache implements MeterBinder {
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, byte[]> json;
+
+    public JsonResponseCache(ObjectMapper objectMapper, CacheProperties properties) {
+        this.objectMapper = objectMapper;
+        this.json = Caffeine.newBuilder()
+                .maximumWeight(properties.getJsonMaximumSize().toBytes())
+                .weigher((Key key, byte[] value) -> value.length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, json, "json");
+    }
+
+    /**
+     * Ответ на GET сущности с ETag ее версии. Версия читается первой: при совпадении с {@code If-None-Match}
+     * ответ - 304, при наличии JSON этой версии в кэше сущность не читается вовсе.
+     */
+    public <T> ResponseEntity<byte[]> entity(String ifNoneMatch, Class<T> type, int id, LongSupplier version,
+                                             Supplier<T> body, ToLongFunction<T> bodyVersion) {
+        long current = version.getAsLong();
+        String etag = ETags.of(current);
+        if (ifNoneMatch != null && ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        byte[] bytes = json.getIfPresent(new Key(type, id, current));
+        if (bytes == null) {
+            // сущность могли изменить после чтения версии: ETag и кэш - по версии прочитанной сущности
+            T value = body.get();
+            long valueVersion = bodyVersion.applyAsLong(value);
+            bytes = toJson(type, id, valueVersion, value);
+            etag = ETags.of(valueVersion);
+        }
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(bytes);
+    }
+
+    /**
+     * Страница как JSON-массив; тело остается списком, курсор следующей страницы - в заголовке
+     * {@link Page#NEXT_CURSOR_HEADER}.
+     */
+    public <T> ResponseEntity<byte[]> page(Page<T> page, Class<T> type, ToIntFunction<T> id, ToLongFunction<T> version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON);
+        if (page.getNextCursor() != null) {
+            response.header(Page.NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(toJsonArray(page.getContent(), type, id, version));
+    }
+
+    public <T> ResponseEntity<byte[]> list(List<T> values, Class<T> type, ToIntFunction<T> id, ToLongFunction<T> version) {
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(toJsonArray(values, type, id, version));
+    }
+
+    <T> byte[] toJsonArray(List<T> values, Class<T> type, ToIntFunction<T> id, ToLongFunction<T> version) {
+        byte[][] elements = new byte[values.size()][];
+        int length = 2 + Math.max(0, values.size() - 1);
+        for (int i = 0; i < elements.length; i++) {
+            T value = values.get(i);
+            elements[i] = toJson(type, id.applyAsInt(value), version.applyAsLong(value), value);
+            length += elements[i].length;
+        }
+
+        byte[] array = new byte[length];
+        array[0] = '[';
+        int position = 1;
+        for (int i = 0; i < elements.length; i++) {
+            if (i > 0) {
+                array[position++] = ',';
+            }
+            System.arraycopy(elements[i], 0, array, position, elements[i].length);
+            position += elements[i].length;
+        }
+        array[position] = ']';
+        return array;
+    }
+
+    <T> byte[] toJson(Class<T> type, int id, long version, T value) {
+        return json.get(new Key(type, id, version), key -> {
+            try {
+                return objectMapper.writeValueAsBytes(value);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private record Key(Class<?> type, int id, long version) {
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Страница результата и курсор следующей страницы ({@code null}, если страница последняя).
+ */
+@Value
+public class Page<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    List<T> content;
+    String nextCursor;
+
+    public static <T> Page<T> of(List<T> content, PageRequest request, ToIntFunction<T> idExtractor) {
+        String nextCursor = request.isPaged() && content.size() == request.getSize()
+                ? PageRequest.encodeCursor(idExtractor.applyAsInt(content.getLast()))
+                : null;
+        return new Page<>(content, nextCursor);
+    }
+
+    /**
+     * Ленивый обход всех записей страницами по {@code batchSize} с курсором по id: следующая страница читается,
+     * когда обработана предыдущая, поэтому в памяти не больше одной страницы при любом числе записей.
+     *
+     * @param pages страница записей в порядке возрастания id после {@link PageRequest#getAfterId()}
+     */
+    public static <T> Stream<T> streamAll(Function<PageRequest, List<T>> pages, ToIntFunction<T> idExtractor,
+                                          int batchSize) {
+        return streamAll(pages, idExtractor, 0, batchSize);
+    }
+
+    /**
+     * То же, начиная с записей после id {@code startAfterId}.
+     */
+    public static <T> Stream<T> streamAll(Function<PageRequest, List<T>> pages, ToIntFunction<T> idExtractor,
+                                          int startAfterId, int batchSize) {
+        return StreamSupport.stream(new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            private Iterator<T> batch = Collections.emptyIterator();
+            private int afterId = startAfterId;
+            private boolean isLast;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (!batch.hasNext()) {
+                    if (isLast) {
+                        return false;
+                    }
+                    List<T> next = pages.apply(new PageRequest(0, batchSize, afterId));
+                    isLast = next.size() < batchSize;
+                    if (next.isEmpty()) {
+                        return false;
+                    }
+                    afterId = idExtractor.applyAsInt(next.getLast());
+                    batch = next.iterator();
+                }
+                action.accept(batch.next());
+                return true;
+            }
+        }, false);
+    }
+
+    public <R> Page<R> map(Function<T, R> mapper) {
+        return new Page<>(content.stream().map(mapper).toList(), nextCursor);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.pagination;
+
+import lombok.Value;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Параметры страницы: пропустить {@code from} записей после записи с id {@code afterId}
+ * (0 - с начала) и вернуть не больше {@code size} записей.
+ */
+@Value
+public class PageRequest {
+    public static final PageRequest UNPAGED = new PageRequest(0, Integer.MAX_VALUE, 0);
+
+    static final String CURSOR_PREFIX = "after:";
+
+    int from;
+    int size;
+    int afterId;
+
+    public static PageRequest of(Integer from, Integer size, String cursor) {
+        int offset = from != null ? from : 0;
+        int limit = size != null ? size : Integer.MAX_VALUE;
+        if (offset < 0 || limit <= 0) {
+            throw new ValidationException("Некорректные параметры страницы: from=" + from + ", size=" + size);
+        }
+        return new PageRequest(offset, limit, cursor != null ? decodeCursor(cursor) : 0);
+    }
+
+    public boolean isPaged() {
+        return size != Integer.MAX_VALUE;
+    }
+
+    static String encodeCursor(int lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static int decodeCursor(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (decoded.startsWith(CURSOR_PREFIX)) {
+                int afterId = Integer.parseInt(decoded.substring(CURSOR_PREFIX.length()));
+                if (afterId >= 0) {
+                    return afterId;
+                }
+            }
+        } catch (IllegalArgumentException ignore) {
+            // обработка ниже
+        }
+        throw new ValidationException("Некорректный курсор: " + cursor);
+    }
+}
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.reactive;
+
+import org.springframework.core.codec.DecodingException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Ошибки реактивного API - те же статусы и тело {@code {"error": ...}}, что у
+ * {@link ru.practicum.shareit.exception.ErrorHandler} для MVC.
+ */
+class ReactiveErrorHandler implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        // исключение при разборе запроса бросается до подписки, поэтому обработчик вызывается внутри defer
+        return Mono.defer(() -> next.handle(request))
+                .onErrorResume(e -> ServerResponse.status(status(e)).bodyValue(Map.of("error", String.valueOf(e.getMessage()))));
+    }
+
+    private static HttpStatus status(Throwable e) {
+        if (e instanceof UserEmailConfilct) {
+            return HttpStatus.CONFLICT;
+        }
+        if (e instanceof ValidationException || e instanceof ServerWebInputException || e instanceof DecodingException) {
+            return HttpStatus.BAD_REQUEST;
+        }
+        if (e instanceof NoSuchElementException) {
+            return HttpStatus.NOT_FOUND;
+        }
+        return HttpStatus.INTERNAL_SERVER_ERROR;
+    }
+}
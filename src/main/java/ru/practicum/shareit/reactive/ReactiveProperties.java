@@ -0,0 +1,20 @@
+package ru.practicum.shareit.reactive;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Настройки реактивного API вещей и пользователей на отдельном сервере Netty.
+ */
+@Data
+@ConfigurationProperties("shareit.reactive")
+public class ReactiveProperties {
+    /**
+     * Запускать реактивный сервер рядом с сервером MVC.
+     */
+    private boolean enabled;
+    /**
+     * Порт реактивного сервера; 0 - любой свободный.
+     */
+    private int port = 8081;
+}
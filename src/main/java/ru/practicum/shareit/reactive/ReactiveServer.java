@@ -0,0 +1,78 @@
+package ru.practicum.shareit.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import ru.practicum.shareit.item.ItemHandler;
+import ru.practicum.shareit.user.UserHandler;
+
+/**
+ * Реактивный API вещей и пользователей на отдельном сервере Reactor Netty рядом с Tomcat.
+ * Сервисы, хранилища и настройки JSON - общие с MVC; списки пишутся в ответ по мере готовности клиента
+ * их принять (JSON-массив или NDJSON по {@code Accept: application/x-ndjson}).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveServer implements SmartLifecycle {
+    private final ReactiveProperties properties;
+    private final ItemHandler itemHandler;
+    private final UserHandler userHandler;
+    private final ObjectMapper objectMapper;
+
+    private volatile DisposableServer server;
+
+    @Override
+    public void start() {
+        RouterFunction<ServerResponse> routes = itemHandler.routes()
+                .and(userHandler.routes())
+                .filter(new ReactiveErrorHandler());
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        HttpHandler handler = RouterFunctions.toHttpHandler(routes, strategies);
+        server = HttpServer.create()
+                .port(properties.getPort())
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+        log.info("Реактивный сервер запущен на порту {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Порт, на котором слушает сервер (при {@code port=0} - выбранный системой).
+     */
+    public int port() {
+        return server.port();
+    }
+}
@@ -0,0 +1,72 @@
+package ru.practicum.shareit.reactive;
+
+import jakarta.validation.Validator;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.pagination.PageRequest;
+
+/**
+ * Разбор запросов реактивного API так же, как в контроллерах MVC.
+ */
+public final class ServerRequests {
+    public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+
+    private ServerRequests() {
+    }
+
+    public static int userId(ServerRequest request) {
+        String userId = request.headers().firstHeader(USER_ID_HEADER);
+        if (userId == null) {
+            throw new ValidationException("Не указан заголовок " + USER_ID_HEADER);
+        }
+        return parseInt(USER_ID_HEADER, userId);
+    }
+
+    public static int pathInt(ServerRequest request, String name) {
+        return parseInt(name, request.pathVariable(name));
+    }
+
+    public static PageRequest page(ServerRequest request) {
+        return PageRequest.of(intParam(request, "from"), intParam(request, "size"),
+                request.queryParam("cursor").orElse(null));
+    }
+
+    /**
+     * Тело запроса с проверкой аннотаций Bean Validation, как {@code @Valid} в MVC.
+     */
+    public static <T> Mono<T> body(ServerRequest request, Class<T> type, Validator validator) {
+        return request.bodyToMono(type)
+                .switchIfEmpty(Mono.error(() -> new ValidationException("Пустое тело запроса")))
+                .doOnNext(body -> validator.validate(body).stream().findFirst().ifPresent(violation -> {
+                    throw new ValidationException("Некорректное поле " + violation.getPropertyPath() + ": "
+                            + violation.getMessage());
+                }));
+    }
+
+    /**
+     * Список в ответ по мере готовности: JSON-массив или, если клиент принимает {@code application/x-ndjson},
+     * объект на строку. Функциональные обработчики сами не выбирают формат по {@code Accept}.
+     */
+    public static <T> Mono<ServerResponse> list(ServerRequest request, Flux<T> body, Class<T> type) {
+        boolean isNdjson = request.headers().accept().stream().anyMatch(MediaType.APPLICATION_NDJSON::equalsTypeAndSubtype);
+        return ServerResponse.ok()
+                .contentType(isNdjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON)
+                .body(body, type);
+    }
+
+    private static Integer intParam(ServerRequest request, String name) {
+        return request.queryParam(name).map(value -> parseInt(name, value)).orElse(null);
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ValidationException("Некорректное значение " + name + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.reactive;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import ru.practicum.shareit.item.dao.ItemStorageProperties;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Где выполняются обращения к общим с MVC хранилищам, чтобы не блокировать потоки событий Netty.
+ * Сразу выполняется только чтение из хранилища вещей {@code heap}: оно не ждет блокировок и читает индекс.
+ * Остальное - на {@link Schedulers#boundedElastic()}: изменения (блокировки вещи, запись журнала), обращения к БД,
+ * поиск в {@code sharded}, который ждет задачи шардов, и в {@code slab}, который декодирует записи.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class StorageSchedulers {
+    static final int MAX_BATCH_SIZE = 1000;
+
+    private final Scheduler reads;
+    private final Scheduler writes = Schedulers.boundedElastic();
+
+    public StorageSchedulers(Environment environment, ItemStorageProperties itemStorage) {
+        boolean heapOnly = !environment.acceptsProfiles(Profiles.of("jdbc"))
+                && itemStorage.getStorage() == ItemStorageProperties.Storage.HEAP;
+        this.reads = heapOnly ? Schedulers.immediate() : Schedulers.boundedElastic();
+    }
+
+    public <T> Mono<T> read(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(reads);
+    }
+
+    public <T> Mono<T> write(Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(writes);
+    }
+
+    /**
+     * Записи страницы {@code page}, читаемые из хранилища частями по запросу подписчика: пока клиент не готов
+     * принять следующие элементы, следующая часть не читается, а после {@code size} элементов чтение прекращается.
+     *
+     * @param pages страница в порядке возрастания id после {@link PageRequest#getAfterId()}
+     */
+    public <T> Flux<T> readPages(Function<PageRequest, List<T>> pages, ToIntFunction<T> idExtractor, PageRequest page) {
+        int batchSize = (int) Math.min((long) page.getFrom() + page.getSize(), MAX_BATCH_SIZE);
+        return Flux.fromStream(() -> Page.streamAll(pages, idExtractor, page.getAfterId(), batchSize))
+                .skip(page.getFrom())
+                .take(page.getSize())
+                .subscribeOn(reads);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.request.dao;
+
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public interface ItemRequestRepository {
+    int MAX_KEYWORD_LENGTH = 64;
+    /**
+     * Частые слова, которые встречаются в описаниях почти любых запросов и названиях вещей и не говорят о предмете.
+     */
+    Set<String> STOP_WORDS = Set.of(
+            "без", "большой", "все", "всё", "где", "для", "его", "еще", "ещё", "или", "как", "который", "кто",
+            "можно", "над", "надо", "небольшой", "нужен", "нужна", "нужно", "нужны", "она", "они", "очень", "под",
+            "при", "про", "только", "уже", "хочу", "что", "это",
+            "and", "for", "from", "need", "the", "this", "with");
+
+    /**
+     * Сохраняет запрос и добавляет его в индекс ключевых слов описания, см. {@link #keywords(String)}.
+     */
+    ItemRequest create(ItemRequest request);
+
+    Optional<ItemRequest> findRequestById(int requestId);
+
+    /**
+     * Запросы пользователя, новые первыми.
+     */
+    List<ItemRequest> findRequestsByRequestor(int requestorId);
+
+    /**
+     * Запросы остальных пользователей, новые первыми.
+     */
+    List<ItemRequest> findOtherRequests(int userId, PageRequest page);
+
+    /**
+     * id запросов других пользователей, в описании которых есть хотя бы одно из ключевых слов, по возрастанию.
+     */
+    List<Integer> findRequestIdsByKeywords(Set<String> keywords, int exceptRequestorId);
+
+    /**
+     * Отмечает вещь как подходящую под запросы.
+     */
+    void addAnswers(int itemId, Collection<Integer> requestIds);
+
+    /**
+     * id подошедших вещей по id запросов; запросы без вещей в результат не входят.
+     */
+    Map<Integer, List<Integer>> findAnswerItemIds(Collection<Integer> requestIds);
+
+    /**
+     * Ключевые слова текста: слова из букв и цифр длиной от 3 до {@link #MAX_KEYWORD_LENGTH} символов в нижнем регистре,
+     * кроме {@link #STOP_WORDS}.
+     */
+    static Set<String> keywords(String text) {
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(word -> word.length() >= 3 && word.length() <= MAX_KEYWORD_LENGTH)
+                .filter(word -> !STOP_WORDS.contains(word))
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,248 @@
+package ru.practicum.shareit.request.dao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.journal.Journal;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.journal.JournalRecords;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.util.CompactIntSet;
+import ru.practicum.shareit.util.IntObjectMap;
+import ru.practicum.shareit.util.StripedLock;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Запросы вещей в памяти. Для подбора запросов к новой вещи ведется инвертированный индекс: ключевое слово
+ * описания - id запросов с этим словом, так что подбор читает только списки слов вещи, а не все запросы.
+ * С включенным журналом ({@code shareit.journal.enabled}) запросы и ответы на них дописываются в журнал {@code requests}.
+ */
+@Repository
+@Profile("!jdbc")
+public class ItemRequestRepositoryInMemory implements ItemRequestRepository, MeterBinder {
+    private static final byte PUT_RECORD = 1;
+    private static final byte ANSWER_RECORD = 2;
+    private static final byte LAST_ID_RECORD = 3;
+
+    private final IntObjectMap<ItemRequest> requestsById = new IntObjectMap<>();
+    private final IntObjectMap<CompactIntSet> requestIdsByRequestorId = new IntObjectMap<>();
+    /**
+     * Множество изменяется только внутри {@code compute} по его слову.
+     */
+    private final Map<String, CompactIntSet> requestIdsByKeyword = new ConcurrentHashMap<>();
+    private final IntObjectMap<CompactIntSet> answerItemIdsByRequestId = new IntObjectMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final StripedLock requestorLocks = new StripedLock();
+    private final StripedLock answerLocks = new StripedLock();
+    private final Journal journal;
+
+    public ItemRequestRepositoryInMemory() {
+        journal = null;
+    }
+
+    /**
+     * С включенным журналом восстанавливает запросы из снимка и журнала и дописывает в него каждое изменение.
+     */
+    @Autowired
+    public ItemRequestRepositoryInMemory(JournalProperties journalProperties) {
+        // пока журнал восстанавливается, поле еще не задано и восстановленные изменения повторно не пишутся
+        journal = journalProperties.isEnabled()
+                ? Journal.open("requests", journalProperties, this::replay, this::writeState)
+                : null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.requests.count", requestsById, IntObjectMap::size)
+                .description("Число запросов вещей")
+                .register(registry);
+    }
+
+    @Override
+    public ItemRequest create(ItemRequest request) {
+        request.setId(lastId.incrementAndGet());
+        put(request);
+        awaitDurable(journal != null ? journal.append(putRecord(request)) : 0L);
+        return request;
+    }
+
+    private void put(ItemRequest request) {
+        requestsById.put(request.getId(), request);
+        addTo(requestIdsByRequestorId, requestorLocks, request.getRequestorId(), request.getId());
+        for (String keyword : ItemRequestRepository.keywords(request.getDescription())) {
+            requestIdsByKeyword.compute(keyword, (key, requestIds) -> {
+                CompactIntSet updated = requestIds != null ? requestIds : new CompactIntSet();
+                updated.add(request.getId());
+                return updated;
+            });
+        }
+    }
+
+    @Override
+    public Optional<ItemRequest> findRequestById(int requestId) {
+        return Optional.ofNullable(requestsById.get(requestId));
+    }
+
+    @Override
+    public List<ItemRequest> findRequestsByRequestor(int requestorId) {
+        CompactIntSet requestIds = requestIdsByRequestorId.get(requestorId);
+        if (requestIds == null) {
+            return List.of();
+        }
+        return requestIds.stream()
+                .mapToObj(requestsById::get)
+                .filter(Objects::nonNull)
+                .toList()
+                .reversed();
+    }
+
+    @Override
+    public List<ItemRequest> findOtherRequests(int userId, PageRequest page) {
+        // id выдаются по порядку создания, поэтому новые первыми - это обход id по убыванию
+        int maxId = lastId.get();
+        return IntStream.rangeClosed(1, maxId)
+                .map(i -> maxId + 1 - i)
+                .mapToObj(requestsById::get)
+                .filter(request -> request != null && request.getRequestorId() != userId)
+                .skip(page.getFrom())
+                .limit(page.getSize())
+                .toList();
+    }
+
+    @Override
+    public List<Integer> findRequestIdsByKeywords(Set<String> keywords, int exceptRequestorId) {
+        return keywords.stream()
+                .map(requestIdsByKeyword::get)
+                .filter(Objects::nonNull)
+                .flatMapToInt(CompactIntSet::stream)
+                .distinct()
+                .sorted()
+                .filter(requestId -> requestsById.get(requestId).getRequestorId() != exceptRequestorId)
+                .boxed()
+                .toList();
+    }
+
+    @Override
+    public void addAnswers(int itemId, Collection<Integer> requestIds) {
+        long position = 0;
+        for (int requestId : requestIds) {
+            addTo(answerItemIdsByRequestId, answerLocks, requestId, itemId);
+            if (journal != null) {
+                position = journal.append(answerRecord(requestId, itemId));
+            }
+        }
+        awaitDurable(position);
+    }
+
+    @Override
+    public Map<Integer, List<Integer>> findAnswerItemIds(Collection<Integer> requestIds) {
+        Map<Integer, List<Integer>> answers = new HashMap<>();
+        for (int requestId : requestIds) {
+            CompactIntSet itemIds = answerItemIdsByRequestId.get(requestId);
+            if (itemIds != null && !itemIds.isEmpty()) {
+                answers.put(requestId, itemIds.stream().boxed().toList());
+            }
+        }
+        return answers;
+    }
+
+    private void awaitDurable(long position) {
+        if (journal != null) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    /**
+     * Запросы не изменяются, а ответ только добавляется в множество, поэтому повтор записи ничего не меняет.
+     */
+    private void replay(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case PUT_RECORD -> {
+                ItemRequest request = ItemRequest.builder()
+                        .id(record.getInt())
+                        .requestorId(record.getInt())
+                        .created(JournalRecords.getDateTime(record))
+                        .description(JournalRecords.getString(record))
+                        .build();
+                lastId.accumulateAndGet(request.getId(), Math::max);
+                if (requestsById.get(request.getId()) == null) {
+                    put(request);
+                }
+            }
+            case ANSWER_RECORD -> {
+                int requestId = record.getInt();
+                addTo(answerItemIdsByRequestId, answerLocks, requestId, record.getInt());
+            }
+            case LAST_ID_RECORD -> lastId.accumulateAndGet(record.getInt(), Math::max);
+            default -> throw new IllegalStateException("Неизвестный тип записи журнала запросов: " + type);
+        }
+    }
+
+    private void writeState(Consumer<byte[]> out) {
+        int maxId = lastId.get();
+        out.accept(ByteBuffer.allocate(1 + Integer.BYTES).put(LAST_ID_RECORD).putInt(maxId).array());
+        for (int requestId = 1; requestId <= maxId; requestId++) {
+            ItemRequest request = requestsById.get(requestId);
+            if (request != null) {
+                out.accept(putRecord(request));
+            }
+            CompactIntSet itemIds = answerItemIdsByRequestId.get(requestId);
+            if (itemIds != null) {
+                int id = requestId;
+                itemIds.stream().forEach(itemId -> out.accept(answerRecord(id, itemId)));
+            }
+        }
+    }
+
+    private static byte[] putRecord(ItemRequest request) {
+        byte[] description = JournalRecords.utf8(request.getDescription());
+        ByteBuffer record = ByteBuffer.allocate(1 + 3 * Integer.BYTES + Long.BYTES + Integer.BYTES + description.length)
+                .put(PUT_RECORD)
+                .putInt(request.getId())
+                .putInt(request.getRequestorId());
+        JournalRecords.putDateTime(record, request.getCreated());
+        JournalRecords.putBytes(record, description);
+        return record.array();
+    }
+
+    private static byte[] answerRecord(int requestId, int itemId) {
+        return ByteBuffer.allocate(1 + 2 * Integer.BYTES).put(ANSWER_RECORD).putInt(requestId).putInt(itemId).array();
+    }
+
+    private static void addTo(IntObjectMap<CompactIntSet> index, StripedLock locks, int key, int value) {
+        locks.withLock(key, () -> {
+            CompactIntSet values = index.get(key);
+            if (values == null) {
+                values = new CompactIntSet();
+                index.put(key, values);
+            }
+            values.add(value);
+        });
+    }
+}
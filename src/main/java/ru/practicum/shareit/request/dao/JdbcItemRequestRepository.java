@@ -0,0 +1,128 @@
+package ru.practicum.shareit.request.dao;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Запросы вещей в БД. Ключевые слова описаний хранятся в {@code item_request_keywords} с первичным ключом
+ * {@code (keyword, request_id)}, так что подбор запросов к вещи - поиск по индексу для каждого слова.
+ */
+@Repository
+@Profile("jdbc")
+public class JdbcItemRequestRepository implements ItemRequestRepository {
+    private static final String REQUEST_COLUMNS = "r.id, r.description, r.requestor_id, r.created";
+    private static final RowMapper<ItemRequest> REQUEST_MAPPER = (rs, rowNum) -> ItemRequest.builder()
+            .id(rs.getInt("id"))
+            .description(rs.getString("description"))
+            .requestorId(rs.getInt("requestor_id"))
+            .created(rs.getTimestamp("created").toLocalDateTime())
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    public JdbcItemRequestRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Override
+    @Transactional
+    public ItemRequest create(ItemRequest request) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        namedJdbcTemplate.update("INSERT INTO item_requests (description, requestor_id, created) "
+                        + "VALUES (:description, :requestorId, :created)",
+                new MapSqlParameterSource()
+                        .addValue("description", request.getDescription())
+                        .addValue("requestorId", request.getRequestorId())
+                        .addValue("created", Timestamp.valueOf(request.getCreated())),
+                keyHolder, new String[]{"id"});
+        request.setId(keyHolder.getKeyAs(Integer.class));
+
+        List<String> keywords = List.copyOf(ItemRequestRepository.keywords(request.getDescription()));
+        jdbcTemplate.batchUpdate("INSERT INTO item_request_keywords (keyword, request_id) VALUES (?, ?)",
+                keywords, keywords.size(), (ps, keyword) -> {
+                    ps.setString(1, keyword);
+                    ps.setInt(2, request.getId());
+                });
+        return request;
+    }
+
+    @Override
+    public Optional<ItemRequest> findRequestById(int requestId) {
+        return jdbcTemplate.query("SELECT " + REQUEST_COLUMNS + " FROM item_requests r WHERE r.id = ?",
+                        REQUEST_MAPPER, requestId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<ItemRequest> findRequestsByRequestor(int requestorId) {
+        return jdbcTemplate.query("SELECT " + REQUEST_COLUMNS + " FROM item_requests r WHERE r.requestor_id = ? "
+                + "ORDER BY r.id DESC", REQUEST_MAPPER, requestorId);
+    }
+
+    @Override
+    public List<ItemRequest> findOtherRequests(int userId, PageRequest page) {
+        return jdbcTemplate.query("SELECT " + REQUEST_COLUMNS + " FROM item_requests r WHERE r.requestor_id <> ? "
+                        + "ORDER BY r.id DESC LIMIT ? OFFSET ?",
+                REQUEST_MAPPER, userId, page.getSize(), page.getFrom());
+    }
+
+    @Override
+    public List<Integer> findRequestIdsByKeywords(Set<String> keywords, int exceptRequestorId) {
+        if (keywords.isEmpty()) {
+            return List.of();
+        }
+        return namedJdbcTemplate.queryForList("SELECT DISTINCT k.request_id FROM item_request_keywords k "
+                        + "JOIN item_requests r ON r.id = k.request_id "
+                        + "WHERE k.keyword IN (:keywords) AND r.requestor_id <> :requestorId ORDER BY k.request_id",
+                new MapSqlParameterSource()
+                        .addValue("keywords", keywords)
+                        .addValue("requestorId", exceptRequestorId),
+                Integer.class);
+    }
+
+    @Override
+    public void addAnswers(int itemId, Collection<Integer> requestIds) {
+        List<Integer> ids = List.copyOf(requestIds);
+        jdbcTemplate.batchUpdate("INSERT INTO item_request_answers (request_id, item_id) VALUES (?, ?)",
+                ids, ids.size(), (ps, requestId) -> {
+                    ps.setInt(1, requestId);
+                    ps.setInt(2, itemId);
+                });
+    }
+
+    @Override
+    public Map<Integer, List<Integer>> findAnswerItemIds(Collection<Integer> requestIds) {
+        Map<Integer, List<Integer>> answers = new HashMap<>();
+        if (requestIds.isEmpty()) {
+            return answers;
+        }
+        namedJdbcTemplate.query("SELECT request_id, item_id FROM item_request_answers WHERE request_id IN (:ids) "
+                        + "ORDER BY request_id, item_id",
+                new MapSqlParameterSource("ids", Set.copyOf(requestIds)),
+                rs -> {
+                    answers.computeIfAbsent(rs.getInt("request_id"), id -> new ArrayList<>()).add(rs.getInt("item_id"));
+                });
+        return answers;
+    }
+}
@@ -1,7 +1,20 @@
 package ru.practicum.shareit.request.dto;
 
-/**
- * TODO Sprint add-item-requests.
- */
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
 public class ItemRequestDto {
+    private int id;
+    private String description;
+    private LocalDateTime created;
+    /**
+     * Вещи, подошедшие под запрос.
+     */
+    private List<ItemDto> items;
 }
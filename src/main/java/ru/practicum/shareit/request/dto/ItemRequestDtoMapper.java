@@ -0,0 +1,24 @@
+package ru.practicum.shareit.request.dto;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.util.List;
+
+public class ItemRequestDtoMapper {
+    public static ItemRequestDto mapItemRequestToItemRequestDto(ItemRequest request, List<ItemDto> items) {
+        return ItemRequestDto.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .created(request.getCreated())
+                .items(items)
+                .build();
+    }
+
+    public static ItemRequest mapItemRequestDtoToItemRequest(ItemRequestDto requestDto) {
+        return ItemRequest.builder()
+                .id(requestDto.getId())
+                .description(requestDto.getDescription())
+                .build();
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.request.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder(toBuilder = true)
+public class ItemRequest {
+    private int id;
+    private String description;
+    private int requestorId;
+    private LocalDateTime created;
+}
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.request.service;
+
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+
+import java.util.List;
+
+public interface ItemRequestService {
+    ItemRequestDto create(int userId, ItemRequestDto requestDto);
+
+    /**
+     * Запросы пользователя с подошедшими вещами, новые первыми.
+     */
+    List<ItemRequestDto> findUserRequests(int userId);
+
+    /**
+     * Запросы других пользователей с подошедшими вещами, новые первыми.
+     */
+    List<ItemRequestDto> findOtherRequests(int userId, PageRequest page);
+
+    ItemRequestDto findRequestById(int userId, int requestId);
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.request.service;
+
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDtoMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestDtoMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
+@Counted("shareit.service.calls")
+public class ItemRequestServiceImpl implements ItemRequestService {
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+
+    @Override
+    public ItemRequestDto create(int userId, ItemRequestDto requestDto) {
+        if (requestDto.getDescription() == null || requestDto.getDescription().isBlank()) {
+            throw new ValidationException("Некорректные данные запроса");
+        }
+        checkUser(userId);
+
+        ItemRequest request = ItemRequestDtoMapper.mapItemRequestDtoToItemRequest(requestDto);
+        request.setRequestorId(userId);
+        request.setCreated(LocalDateTime.now());
+        return ItemRequestDtoMapper.mapItemRequestToItemRequestDto(itemRequestRepository.create(request), List.of());
+    }
+
+    @Override
+    public List<ItemRequestDto> findUserRequests(int userId) {
+        checkUser(userId);
+        return toDtos(itemRequestRepository.findRequestsByRequestor(userId));
+    }
+
+    @Override
+    public List<ItemRequestDto> findOtherRequests(int userId, PageRequest page) {
+        checkUser(userId);
+        return toDtos(itemRequestRepository.findOtherRequests(userId, page));
+    }
+
+    @Override
+    public ItemRequestDto findRequestById(int userId, int requestId) {
+        checkUser(userId);
+        ItemRequest request = itemRequestRepository.findRequestById(requestId)
+                .orElseThrow(() -> new NoSuchElementException("Не найден запрос с id=" + requestId));
+        return toDtos(List.of(request)).getFirst();
+    }
+
+    private void checkUser(int userId) {
+        if (userRepository.findUserById(userId).isEmpty()) {
+            throw new NoSuchElementException("Не найден пользователь с id=" + userId);
+        }
+    }
+
+    /**
+     * Вещи всех запросов страницы читаются одним обращением к хранилищу, а не по запросу на каждый запрос вещи.
+     */
+    private List<ItemRequestDto> toDtos(List<ItemRequest> requests) {
+        Map<Integer, List<Integer>> answers = itemRequestRepository.findAnswerItemIds(
+                requests.stream().map(ItemRequest::getId).toList());
+        Map<Integer, Item> items = itemRepository.findItemsByIds(answers.values().stream()
+                        .flatMap(Collection::stream)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        return requests.stream()
+                .map(request -> ItemRequestDtoMapper.mapItemRequestToItemRequestDto(request,
+                        answers.getOrDefault(request.getId(), List.of()).stream()
+                                .map(items::get)
+                                .filter(Objects::nonNull)
+                                .map(ItemDtoMapper::mapItemToItemDto)
+                                .toList()))
+                .toList();
+    }
+}
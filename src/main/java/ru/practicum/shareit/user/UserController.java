@@ -2,14 +2,21 @@ package ru.practicum.shareit.user;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.json.JsonResponseCache;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 
@@ -21,15 +28,21 @@ import java.util.List;
 public class UserController {
 
     private final UserService userService;
+    private final JsonResponseCache jsonCache;
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<byte[]> getAllUsers(@RequestParam(required = false) Integer from,
+                                              @RequestParam(required = false) Integer size,
+                                              @RequestParam(required = false) String cursor) {
+        return jsonCache.page(userService.getAllUsers(PageRequest.of(from, size, cursor)),
+                UserDto.class, UserDto::getId, UserDto::getVersion);
     }
 
     @GetMapping("/{id}")
-    public UserDto getUserById(@PathVariable int id) {
-        return userService.getUserById(id);
+    public ResponseEntity<byte[]> getUserById(@PathVariable int id,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return jsonCache.entity(ifNoneMatch, UserDto.class, id, () -> userService.getUserVersion(id),
+                () -> userService.getUserById(id), UserDto::getVersion);
     }
 
     @PostMapping
@@ -37,6 +50,11 @@ public class UserController {
         return userService.create(userDto);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResult<UserDto>> createOrUpdateAll(@RequestBody List<@Valid UserDto> userDtos) {
+        return userService.createOrUpdateAll(userDtos);
+    }
+
     @PatchMapping("/{id}")
     public UserDto update(@PathVariable int id,
                           @Valid @RequestBody UserDto userDto) {
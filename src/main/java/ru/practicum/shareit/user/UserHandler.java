@@ -0,0 +1,63 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.reactive.ServerRequests;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.ReactiveUserService;
+
+/**
+ * Реактивный вариант {@link UserController} для сервера Netty.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class UserHandler {
+    private final ReactiveUserService userService;
+    private final Validator validator;
+
+    public RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .path("/users", builder -> builder
+                        .GET("/{id}", this::getUserById)
+                        .GET("", this::getAllUsers)
+                        .POST("", this::create)
+                        .PATCH("/{id}", this::update)
+                        .DELETE("/{id}", this::delete))
+                .build();
+    }
+
+    Mono<ServerResponse> getAllUsers(ServerRequest request) {
+        return ServerRequests.list(request, userService.getAllUsers(ServerRequests.page(request)), UserDto.class);
+    }
+
+    Mono<ServerResponse> getUserById(ServerRequest request) {
+        return userService.getUserById(ServerRequests.pathInt(request, "id"))
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> create(ServerRequest request) {
+        return ServerRequests.body(request, UserDto.class, validator)
+                .flatMap(userService::create)
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> update(ServerRequest request) {
+        int userId = ServerRequests.pathInt(request, "id");
+        return ServerRequests.body(request, UserDto.class, validator)
+                .flatMap(userDto -> userService.update(userId, userDto))
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> delete(ServerRequest request) {
+        return userService.delete(ServerRequests.pathInt(request, "id"))
+                .then(ServerResponse.ok().build());
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.user.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Кэш пользователей перед хранилищем. По email кэшируется только id пользователя:
+ * найденный по нему пользователь сверяется с email, поэтому смена email не требует сброса.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "shareit.cache.enabled", havingValue = "true")
+public class CachingUserRepository implements UserRepository, MeterBinder {
+    private final UserRepository storage;
+    private final Cache<Integer, User> usersById;
+    private final Cache<String, Integer> userIdsByEmail;
+
+    public CachingUserRepository(@Qualifier("userStorage") UserRepository storage, CacheProperties properties) {
+        this.storage = storage;
+        this.usersById = properties.newCache();
+        this.userIdsByEmail = properties.newCache();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, usersById, "users");
+        CaffeineCacheMetrics.monitor(registry, userIdsByEmail, "users.email");
+    }
+
+    @Override
+    public List<User> findAllUsers(PageRequest page) {
+        return storage.findAllUsers(page);
+    }
+
+    @Override
+    public Optional<User> findUserById(int userId) {
+        return Optional.ofNullable(usersById.get(userId, id -> storage.findUserById(id)
+                        .map(CachingUserRepository::copy)
+                        .orElse(null)))
+                .map(CachingUserRepository::copy);
+    }
+
+    @Override
+    public OptionalLong findUserVersion(int userId) {
+        User cached = usersById.getIfPresent(userId);
+        return cached != null ? OptionalLong.of(cached.getVersion()) : storage.findUserVersion(userId);
+    }
+
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        String key = UserRepository.normalizeEmail(email);
+        Integer userId = userIdsByEmail.getIfPresent(key);
+        if (userId != null) {
+            Optional<User> user = findUserById(userId);
+            if (user.isPresent() && key.equals(UserRepository.normalizeEmail(user.get().getEmail()))) {
+                return user;
+            }
+            userIdsByEmail.invalidate(key);
+        }
+
+        Optional<User> user = storage.findUserByEmail(email);
+        user.ifPresent(u -> userIdsByEmail.put(key, u.getId()));
+        return user;
+    }
+
+    @Override
+    public User create(User user) {
+        storage.create(user);
+        userIdsByEmail.put(UserRepository.normalizeEmail(user.getEmail()), user.getId());
+        return user;
+    }
+
+    @Override
+    public List<User> createAll(List<User> users) {
+        List<User> created = storage.createAll(users);
+        created.forEach(user -> userIdsByEmail.put(UserRepository.normalizeEmail(user.getEmail()), user.getId()));
+        return created;
+    }
+
+    @Override
+    public User update(User user) {
+        try {
+            return storage.update(user);
+        } finally {
+            usersById.invalidate(user.getId());
+        }
+    }
+
+    @Override
+    public List<User> updateAll(List<User> users) {
+        try {
+            return storage.updateAll(users);
+        } finally {
+            usersById.invalidateAll(users.stream().map(User::getId).toList());
+        }
+    }
+
+    @Override
+    public void deleteById(int userId) {
+        try {
+            storage.deleteById(userId);
+        } finally {
+            usersById.invalidate(userId);
+        }
+    }
+
+    private static User copy(User user) {
+        return user.toBuilder().build();
+    }
+}
@@ -0,0 +1,193 @@
+package ru.practicum.shareit.user.dao;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.RefreshedValue;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+@Repository
+@Qualifier("userStorage")
+@Profile("jdbc")
+@RequiredArgsConstructor
+public class JdbcUserRepository implements UserRepository, MeterBinder {
+    /**
+     * Строка с занятым email пропускается, не прерывая пакет; созданные строки возвращают id и email.
+     */
+    private static final String INSERT_USER =
+            "INSERT INTO users (name, email, email_normalized) VALUES (?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String UPDATE_USER = "UPDATE users SET name = ?, email = ?, email_normalized = ?, version = version + 1 WHERE id = ?";
+    private static final RowMapper<User> USER_MAPPER = (rs, rowNum) -> User.builder()
+            .id(rs.getInt("id"))
+            .name(rs.getString("name"))
+            .email(rs.getString("email"))
+            .version(rs.getLong("version"))
+            .build();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        RefreshedValue<Number> count = new RefreshedValue<>(
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class), Duration.ofMinutes(1));
+        Gauge.builder("shareit.users.count", count)
+                .strongReference(true)
+                .description("Число пользователей")
+                .register(registry);
+    }
+
+    @Override
+    public List<User> findAllUsers(PageRequest page) {
+        return jdbcTemplate.query("SELECT id, name, email, version FROM users WHERE id > ? ORDER BY id LIMIT ? OFFSET ?",
+                USER_MAPPER, page.getAfterId(), page.getSize(), page.getFrom());
+    }
+
+    @Override
+    public Optional<User> findUserById(int userId) {
+        return jdbcTemplate.query("SELECT id, name, email, version FROM users WHERE id = ?", USER_MAPPER, userId)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public OptionalLong findUserVersion(int userId) {
+        return jdbcTemplate.queryForList("SELECT version FROM users WHERE id = ?", Long.class, userId).stream()
+                .mapToLong(Long::longValue)
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> findUserByEmail(String email) {
+        return jdbcTemplate.query("SELECT id, name, email, version FROM users WHERE email_normalized = ?",
+                        USER_MAPPER, UserRepository.normalizeEmail(email))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    @Transactional
+    public User create(User user) {
+        if (createAll(List.of(user)).isEmpty()) {
+            throw emailConflict(List.of(user));
+        }
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public List<User> createAll(List<User> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        return jdbcTemplate.execute((ConnectionCallback<List<User>>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_USER, new String[]{"id", "email_normalized"})) {
+                for (User user : users) {
+                    user.setVersion(1);
+                    setUserColumns(ps, user);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                Map<String, Integer> ids = new HashMap<>();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        ids.put(keys.getString(2), keys.getInt(1));
+                    }
+                }
+                List<User> created = new ArrayList<>(ids.size());
+                for (User user : users) {
+                    // повтор email в списке: id получает только первый пользователь с ним
+                    Integer id = ids.remove(UserRepository.normalizeEmail(user.getEmail()));
+                    if (id != null) {
+                        user.setId(id);
+                        created.add(user);
+                    }
+                }
+                return created;
+            }
+        });
+    }
+
+    @Override
+    @Transactional
+    public User update(User user) {
+        if (updateAll(List.of(user)).isEmpty()) {
+            throw new NoSuchElementException("Не найден пользователь с id=" + user.getId());
+        }
+        return user;
+    }
+
+    @Override
+    @Transactional
+    public List<User> updateAll(List<User> users) {
+        if (users.isEmpty()) {
+            return List.of();
+        }
+        int[][] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(UPDATE_USER, users, users.size(), (ps, user) -> {
+                setUserColumns(ps, user);
+                ps.setInt(4, user.getId());
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(users);
+        }
+        List<User> updated = new ArrayList<>(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            if (counts[0][i] != 0) {
+                updated.add(users.get(i));
+            }
+        }
+        if (!updated.isEmpty()) {
+            // строки заблокированы изменением до конца транзакции, так что читается своя версия
+            Map<Integer, Long> versions = new HashMap<>();
+            new NamedParameterJdbcTemplate(jdbcTemplate).query("SELECT id, version FROM users WHERE id IN (:ids)",
+                    Map.of("ids", updated.stream().map(User::getId).toList()),
+                    rs -> {
+                        versions.put(rs.getInt("id"), rs.getLong("version"));
+                    });
+            updated.forEach(user -> user.setVersion(versions.get(user.getId())));
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteById(int userId) {
+        jdbcTemplate.update("DELETE FROM users WHERE id = ?", userId);
+    }
+
+    private static void setUserColumns(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getName());
+        ps.setString(2, user.getEmail());
+        ps.setString(3, UserRepository.normalizeEmail(user.getEmail()));
+    }
+
+    private static UserEmailConfilct emailConflict(List<User> users) {
+        return new UserEmailConfilct(users.size() == 1
+                ? "Пользователь с email " + users.getFirst().getEmail() + " уже существует"
+                : "Email одного из пользователей уже занят");
+    }
+}
@@ -1,21 +1,73 @@
 package ru.practicum.shareit.user.dao;
 
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.model.User;
 
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.OptionalLong;
 
 public interface UserRepository {
 
-    List<User> findAllUsers();
+    /**
+     * Пользователи в порядке возрастания id.
+     */
+    List<User> findAllUsers(PageRequest page);
+
+    default List<User> findAllUsers() {
+        return findAllUsers(PageRequest.UNPAGED);
+    }
 
     Optional<User> findUserById(int userId);
 
+    /**
+     * Версия пользователя без чтения остальных полей; пусто, если пользователя нет.
+     */
+    OptionalLong findUserVersion(int userId);
+
+    /**
+     * Поиск без учета регистра и пробелов по краям, см. {@link #normalizeEmail(String)}.
+     */
     Optional<User> findUserByEmail(String email);
 
+    /**
+     * Создает пользователя, атомарно закрепляя за ним email.
+     *
+     * @throws UserEmailConfilct если email уже занят другим пользователем
+     */
     User create(User user);
 
+    /**
+     * Создает пользователей, выделяя им id одним блоком, в порядке списка. Пользователи, чей email уже занят
+     * или повторяется в списке, не создаются; остальные создаются независимо от них.
+     *
+     * @return созданные пользователи (те же объекты) в порядке списка
+     */
+    List<User> createAll(List<User> users);
+
+    /**
+     * Сохраняет пользователя; новый email закрепляется атомарно, прежний освобождается.
+     *
+     * @throws UserEmailConfilct если email уже занят другим пользователем
+     */
     User update(User user);
 
+    /**
+     * Сохраняет изменения пользователей. Пользователи, которых уже нет в хранилище, пропускаются.
+     * Если хотя бы один email занят, не изменяется ни один пользователь.
+     *
+     * @throws UserEmailConfilct если email уже занят или повторяется в списке
+     */
+    List<User> updateAll(List<User> users);
+
     void deleteById(int userId);
+
+    /**
+     * Ключ уникальности email: без пробелов по краям и в нижнем регистре.
+     */
+    static String normalizeEmail(String email) {
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
 }
@@ -1,24 +1,91 @@
 package ru.practicum.shareit.user.dao;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.journal.Journal;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.journal.JournalRecords;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.IntObjectMap;
+import ru.practicum.shareit.util.StripedLock;
 
-import java.util.Comparator;
-import java.util.HashMap;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 @Repository
-public class UserRepositoryInMemory implements UserRepository {
-    private final Map<Integer, User> userById = new HashMap<>();
-    private final Map<String, User> userByEmail = new HashMap<>();
-    private int lastId = 0;
+@Qualifier("userStorage")
+@Profile("!jdbc")
+public class UserRepositoryInMemory implements UserRepository, MeterBinder {
+    private static final byte PUT_RECORD = 1;
+    private static final byte DELETE_RECORD = 2;
+    private static final byte LAST_ID_RECORD = 3;
+    private static final long NOT_FOUND = -1;
+
+    private final IntObjectMap<User> userById = new IntObjectMap<>();
+    /**
+     * Пользователи по нормализованному email; запись в этот индекс и есть проверка уникальности.
+     */
+    private final Map<String, User> userByEmail = new ConcurrentHashMap<>();
+    private final AtomicInteger lastId = new AtomicInteger();
+    private final StripedLock userLocks = new StripedLock();
+    private final Journal journal;
+
+    public UserRepositoryInMemory() {
+        journal = null;
+    }
+
+    /**
+     * С включенным журналом восстанавливает пользователей из снимка и журнала и дописывает в него каждое изменение.
+     */
+    @Autowired
+    public UserRepositoryInMemory(JournalProperties journalProperties) {
+        // пока журнал восстанавливается, поле еще не задано и восстановленные изменения повторно не пишутся
+        journal = journalProperties.isEnabled()
+                ? Journal.open("users", journalProperties, this::replay, this::writeState)
+                : null;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("shareit.users.count", userById, IntObjectMap::size)
+                .description("Число пользователей")
+                .register(registry);
+    }
 
     @Override
-    public List<User> findAllUsers() {
-        return userById.values().stream()
-                .sorted(Comparator.comparingInt(User::getId))
+    public List<User> findAllUsers(final PageRequest page) {
+        // id выдаются по порядку, поэтому страница собирается обходом id без сортировки
+        return IntStream.rangeClosed(page.getAfterId() + 1, lastId.get())
+                .mapToObj(userById::get)
+                .filter(Objects::nonNull)
+                .skip(page.getFrom())
+                .limit(page.getSize())
                 .toList();
     }
 
@@ -27,41 +94,219 @@ public class UserRepositoryInMemory implements UserRepository {
         return Optional.ofNullable(userById.get(userId));
     }
 
+    @Override
+    public OptionalLong findUserVersion(final int userId) {
+        User user = userById.get(userId);
+        return user != null ? OptionalLong.of(user.getVersion()) : OptionalLong.empty();
+    }
+
     @Override
     public Optional<User> findUserByEmail(final String email) {
-        return Optional.ofNullable(userByEmail.get(email));
+        return Optional.ofNullable(userByEmail.get(UserRepository.normalizeEmail(email)));
     }
 
     @Override
     public User create(final User user) {
-        user.setId(getNextId());
-        userById.put(user.getId(), user);
-        userByEmail.put(user.getEmail(), user);
+        if (createAll(List.of(user)).isEmpty()) {
+            throw new UserEmailConfilct("Пользователь с email " + user.getEmail() + " уже существует");
+        }
         return user;
     }
 
     @Override
-    public User update(final User user) {
-        User oldUser = userById.get(user.getId());
-        userById.put(user.getId(), user);
+    public List<User> createAll(final List<User> users) {
+        int firstId = lastId.getAndAdd(users.size()) + 1;
+        for (int i = 0; i < users.size(); i++) {
+            users.get(i).setId(firstId + i);
+            users.get(i).setVersion(1);
+        }
+        // email закрепляются до появления пользователей в хранилище; id пользователей с занятым email пропускаются
+        List<User> created = new ArrayList<>(users.size());
+        for (User user : users) {
+            if (userByEmail.putIfAbsent(UserRepository.normalizeEmail(user.getEmail()), user) == null) {
+                created.add(user);
+            }
+        }
+        long position = 0;
+        for (User user : created) {
+            position = userLocks.withLock(user.getId(), () -> {
+                userById.put(user.getId(), user);
+                return logPut(user);
+            });
+        }
+        awaitDurable(position);
+        return created;
+    }
 
-        if (!user.getEmail().equals(oldUser.getEmail())) {
-            userByEmail.remove(oldUser.getEmail());
+    @Override
+    public User update(final User user) {
+        String email = UserRepository.normalizeEmail(user.getEmail());
+        long position = replace(user, email, reserveEmail(user, email));
+        if (position == NOT_FOUND) {
+            throw new NoSuchElementException("Не найден пользователь с id=" + user.getId());
         }
-        userByEmail.put(user.getEmail(), user);
+        awaitDurable(position);
         return user;
     }
 
+    @Override
+    public List<User> updateAll(final List<User> users) {
+        boolean[] reserved = reserveEmails(users);
+        List<User> updated = new ArrayList<>(users.size());
+        long position = 0;
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            long userPosition = replace(user, UserRepository.normalizeEmail(user.getEmail()), reserved[i]);
+            if (userPosition != NOT_FOUND) {
+                updated.add(user);
+                position = Math.max(position, userPosition);
+            }
+        }
+        awaitDurable(position);
+        return updated;
+    }
+
     @Override
     public void deleteById(final int userId) {
-        if (userById.containsKey(userId)) {
-            User u = userById.get(userId);
-            userByEmail.remove(u.getEmail());
-            userById.remove(u.getId());
+        long position = userLocks.withLock(userId, () -> {
+            User u = userById.remove(userId);
+            if (u == null) {
+                return 0L;
+            }
+            releaseEmail(u.getEmail(), userId);
+            return journal != null ? journal.append(deleteRecord(userId)) : 0L;
+        });
+        awaitDurable(position);
+    }
+
+    /**
+     * Закрепляет email за пользователями. Если email занят другим пользователем,
+     * снимает сделанные резервы и бросает исключение.
+     *
+     * @return для каждого пользователя - был ли email закреплен заново (а не принадлежал ему раньше)
+     */
+    private boolean[] reserveEmails(List<User> users) {
+        boolean[] reserved = new boolean[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            try {
+                reserved[i] = reserveEmail(users.get(i), UserRepository.normalizeEmail(users.get(i).getEmail()));
+            } catch (UserEmailConfilct e) {
+                for (int j = 0; j < i; j++) {
+                    if (reserved[j]) {
+                        releaseEmail(users.get(j).getEmail(), users.get(j).getId());
+                    }
+                }
+                throw e;
+            }
+        }
+        return reserved;
+    }
+
+    /**
+     * Атомарно закрепляет email за пользователем одной операцией {@code putIfAbsent}.
+     *
+     * @return {@code true}, если email закреплен заново, {@code false}, если уже принадлежал пользователю
+     */
+    private boolean reserveEmail(User user, String email) {
+        User owner = userByEmail.putIfAbsent(email, user);
+        if (owner != null && owner.getId() != user.getId()) {
+            throw new UserEmailConfilct("Пользователь с email " + user.getEmail() + " уже существует");
+        }
+        return owner == null;
+    }
+
+    /**
+     * @return позиция записи в журнале или {@link #NOT_FOUND}, если пользователя нет
+     */
+    private long replace(User user, String email, boolean newlyReserved) {
+        return userLocks.withLock(user.getId(), () -> {
+            User oldUser = userById.get(user.getId());
+            if (oldUser == null) {
+                if (newlyReserved) {
+                    releaseEmail(user.getEmail(), user.getId());
+                }
+                return NOT_FOUND;
+            }
+            // изменяемый пользователь может быть тем же объектом, что и сохраненный
+            user.setVersion(oldUser.getVersion() + 1);
+            userById.put(user.getId(), user);
+
+            if (newlyReserved) {
+                releaseEmail(oldUser.getEmail(), user.getId());
+            } else {
+                userByEmail.put(email, user);
+            }
+            return logPut(user);
+        });
+    }
+
+    private void releaseEmail(String email, int userId) {
+        userByEmail.computeIfPresent(UserRepository.normalizeEmail(email),
+                (key, owner) -> owner.getId() == userId ? null : owner);
+    }
+
+    private long logPut(User user) {
+        return journal != null ? journal.append(putRecord(user)) : 0L;
+    }
+
+    private void awaitDurable(long position) {
+        if (journal != null) {
+            journal.awaitDurable(position);
+        }
+    }
+
+    private void replay(ByteBuffer record) {
+        byte type = record.get();
+        switch (type) {
+            case PUT_RECORD -> {
+                User user = User.builder()
+                        .id(record.getInt())
+                        .name(JournalRecords.getString(record))
+                        .email(JournalRecords.getString(record))
+                        // в записях до появления версий ее нет
+                        .version(record.hasRemaining() ? record.getLong() : 1)
+                        .build();
+                lastId.accumulateAndGet(user.getId(), Math::max);
+                User oldUser = userById.put(user.getId(), user);
+                if (oldUser != null) {
+                    releaseEmail(oldUser.getEmail(), user.getId());
+                }
+                userByEmail.put(UserRepository.normalizeEmail(user.getEmail()), user);
+            }
+            case DELETE_RECORD -> {
+                int userId = record.getInt();
+                lastId.accumulateAndGet(userId, Math::max);
+                deleteById(userId);
+            }
+            case LAST_ID_RECORD -> lastId.accumulateAndGet(record.getInt(), Math::max);
+            default -> throw new IllegalStateException("Неизвестный тип записи журнала пользователей: " + type);
+        }
+    }
+
+    private void writeState(Consumer<byte[]> out) {
+        int maxId = lastId.get();
+        out.accept(ByteBuffer.allocate(1 + Integer.BYTES).put(LAST_ID_RECORD).putInt(maxId).array());
+        for (int userId = 1; userId <= maxId; userId++) {
+            User user = userById.get(userId);
+            if (user != null) {
+                out.accept(putRecord(user));
+            }
         }
     }
 
-    private int getNextId() {
-        return ++lastId;
+    private static byte[] putRecord(User user) {
+        byte[] name = JournalRecords.utf8(user.getName());
+        byte[] email = JournalRecords.utf8(user.getEmail());
+        ByteBuffer record = ByteBuffer.allocate(1 + 3 * Integer.BYTES + name.length + email.length + Long.BYTES)
+                .put(PUT_RECORD)
+                .putInt(user.getId());
+        JournalRecords.putBytes(record, name);
+        JournalRecords.putBytes(record, email);
+        record.putLong(user.getVersion());
+        return record.array();
+    }
+
+    private static byte[] deleteRecord(int userId) {
+        return ByteBuffer.allocate(1 + Integer.BYTES).put(DELETE_RECORD).putInt(userId).array();
     }
 }
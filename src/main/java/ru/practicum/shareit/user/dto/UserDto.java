@@ -1,5 +1,6 @@
 package ru.practicum.shareit.user.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.Email;
 import lombok.Builder;
 import lombok.Data;
@@ -11,4 +12,9 @@ public class UserDto {
     private String name;
     @Email
     private String email;
+    /**
+     * Версия для ETag, в теле ответа не передается.
+     */
+    @JsonIgnore
+    private long version;
 }
@@ -4,9 +4,13 @@ import lombok.Builder;
 import lombok.Data;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 public class User {
     private int id;
     private String name;
     private String email;
+    /**
+     * Номер изменения: хранилище задает 1 при создании и увеличивает при каждом изменении.
+     */
+    private long version;
 }
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.user.service;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+/**
+ * Неблокирующий вариант {@link UserService} для реактивного API с теми же правилами и хранилищем.
+ */
+public interface ReactiveUserService {
+    /**
+     * Пользователи; следующие части читаются из хранилища по мере запроса подписчика.
+     */
+    Flux<UserDto> getAllUsers(PageRequest page);
+
+    Mono<UserDto> getUserById(int userId);
+
+    Mono<UserDto> create(UserDto userDto);
+
+    Mono<UserDto> update(int userId, UserDto userDto);
+
+    Mono<Void> delete(int userId);
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.reactive.StorageSchedulers;
+import ru.practicum.shareit.user.dto.UserDto;
+
+/**
+ * Проверки и хранилище - из {@link UserService}; обращения к нему выполняются на {@link StorageSchedulers}.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.reactive.enabled", havingValue = "true")
+public class ReactiveUserServiceImpl implements ReactiveUserService {
+    private final UserService userService;
+    private final StorageSchedulers schedulers;
+
+    @Override
+    public Flux<UserDto> getAllUsers(PageRequest page) {
+        return schedulers.readPages(batch -> userService.getAllUsers(batch).getContent(), UserDto::getId, page);
+    }
+
+    @Override
+    public Mono<UserDto> getUserById(int userId) {
+        return schedulers.read(() -> userService.getUserById(userId));
+    }
+
+    @Override
+    public Mono<UserDto> create(UserDto userDto) {
+        return schedulers.write(() -> userService.create(userDto));
+    }
+
+    @Override
+    public Mono<UserDto> update(int userId, UserDto userDto) {
+        return schedulers.write(() -> userService.update(userId, userDto));
+    }
+
+    @Override
+    public Mono<Void> delete(int userId) {
+        return schedulers.write(() -> {
+            userService.delete(userId);
+            return null;
+        }).then();
+    }
+}
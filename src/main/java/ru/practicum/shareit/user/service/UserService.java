@@ -1,16 +1,36 @@
 package ru.practicum.shareit.user.service;
 
+import ru.practicum.shareit.batch.BatchResult;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.dto.UserDto;
+
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserService {
-    List<UserDto> getAllUsers();
+    Page<UserDto> getAllUsers(PageRequest page);
 
     UserDto getUserById(int userId);
 
+    /**
+     * Версия пользователя для условных запросов; сам пользователь не читается.
+     */
+    long getUserVersion(int userId);
+
     UserDto create(UserDto userDto);
 
     UserDto update(int userId, UserDto userDto);
 
+    /**
+     * Создает пользователей без id и изменяет пользователей с id. Результаты возвращаются в порядке элементов пакета.
+     */
+    List<BatchResult<UserDto>> createOrUpdateAll(List<UserDto> userDtos);
+
     void delete(int userId);
+
+    /**
+     * Все пользователи по возрастанию id; читаются из хранилища частями по мере обхода потока.
+     */
+    Stream<UserDto> exportUsers();
 }
@@ -1,30 +1,45 @@
 package ru.practicum.shareit.user.service;
 
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.UserEmailConfilct;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserDtoMapper;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "shareit.service", histogram = true)
+@Counted("shareit.service.calls")
 public class UserServiceImpl implements UserService {
+    static final int EXPORT_BATCH_SIZE = 1000;
+
     private final UserRepository userRepository;
     private final ItemRepository itemRepository;
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return userRepository.findAllUsers().stream()
-                .map(UserDtoMapper::mapUserToUserDto)
-                .toList();
+    public Page<UserDto> getAllUsers(PageRequest page) {
+        return Page.of(userRepository.findAllUsers(page), page, User::getId)
+                .map(UserDtoMapper::mapUserToUserDto);
     }
 
     @Override
@@ -32,26 +47,106 @@ public class UserServiceImpl implements UserService {
         return UserDtoMapper.mapUserToUserDto(userRepository.findUserById(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId)));
     }
 
+    @Override
+    public long getUserVersion(int userId) {
+        return userRepository.findUserVersion(userId).orElseThrow(() -> new NoSuchElementException("Не найден пользователь с id=" + userId));
+    }
+
     @Override
     public UserDto create(UserDto userDto) {
+        validateNewUser(userDto);
+        // уникальность email проверяет само хранилище при записи
+        return UserDtoMapper.mapUserToUserDto(userRepository.create(UserDtoMapper.mapUserDtoToUser(userDto)));
+    }
+
+    @Override
+    public UserDto update(int userId, UserDto userDto) {
+        UserDto existingUser = patchUser(getUserById(userId), userDto);
+        return UserDtoMapper.mapUserToUserDto(userRepository.update(UserDtoMapper.mapUserDtoToUser(existingUser)));
+    }
+
+    @Override
+    public List<BatchResult<UserDto>> createOrUpdateAll(List<UserDto> userDtos) {
+        BatchResult.checkSize(userDtos.size());
+
+        List<BatchResult<UserDto>> results = new ArrayList<>(Collections.nCopies(userDtos.size(), null));
+        List<User> toCreate = new ArrayList<>();
+        List<Integer> createIndexes = new ArrayList<>();
+        List<User> toUpdate = new ArrayList<>();
+        Map<Integer, Integer> updateIndexes = new HashMap<>();
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < userDtos.size(); i++) {
+            UserDto userDto = userDtos.get(i);
+            try {
+                if (userDto.getId() == 0) {
+                    validateNewUser(userDto);
+                    checkEmailFree(userDto.getEmail(), 0);
+                    checkEmailFreeInBatch(userDto.getEmail(), batchEmails);
+                    toCreate.add(UserDtoMapper.mapUserDtoToUser(userDto));
+                    createIndexes.add(i);
+                } else {
+                    if (updateIndexes.containsKey(userDto.getId())) {
+                        throw new ValidationException("Пользователь id=" + userDto.getId() + " указан в пакете несколько раз");
+                    }
+                    UserDto existingUser = patchUser(getUserById(userDto.getId()), userDto);
+                    checkEmailFree(existingUser.getEmail(), existingUser.getId());
+                    checkEmailFreeInBatch(existingUser.getEmail(), batchEmails);
+                    toUpdate.add(UserDtoMapper.mapUserDtoToUser(existingUser));
+                    updateIndexes.put(existingUser.getId(), i);
+                }
+            } catch (ValidationException | NoSuchElementException | UserEmailConfilct e) {
+                results.set(i, BatchResult.failed(i, e));
+            }
+        }
+
+        // созданные пользователи - те же объекты в том же порядке; пропущенные заняли email между проверкой и созданием
+        List<User> created = userRepository.createAll(toCreate);
+        for (int i = 0, next = 0; i < toCreate.size(); i++) {
+            int index = createIndexes.get(i);
+            User user = toCreate.get(i);
+            if (next < created.size() && created.get(next) == user) {
+                results.set(index, BatchResult.created(index, UserDtoMapper.mapUserToUserDto(user)));
+                next++;
+            } else {
+                results.set(index, BatchResult.failed(index,
+                        new UserEmailConfilct("Пользователь с email " + user.getEmail() + " уже существует")));
+            }
+        }
+        for (User user : userRepository.updateAll(toUpdate)) {
+            int index = updateIndexes.remove(user.getId());
+            results.set(index, BatchResult.updated(index, UserDtoMapper.mapUserToUserDto(user)));
+        }
+        // пользователи, удаленные во время обработки пакета
+        updateIndexes.forEach((userId, index) ->
+                results.set(index, BatchResult.failed(index, new NoSuchElementException("Не найден пользователь с id=" + userId))));
+        return results;
+    }
+
+    @Override
+    public void delete(int userId) {
+        if (!itemRepository.findItemsByUser(userId, PageRequest.of(0, 1, null)).isEmpty()) {
+            throw new ValidationException("У пользователя есть вещи, удаление невозможно");
+        }
+
+        userRepository.deleteById(userId);
+    }
+
+    @Override
+    public Stream<UserDto> exportUsers() {
+        return Page.streamAll(userRepository::findAllUsers, User::getId, EXPORT_BATCH_SIZE)
+                .map(UserDtoMapper::mapUserToUserDto);
+    }
+
+    private static void validateNewUser(UserDto userDto) {
         if (userDto.getName() == null
                 || userDto.getName().isBlank()
                 || userDto.getEmail() == null
                 || userDto.getEmail().isBlank()) {
             throw new ValidationException("Некорректные данные пользователя");
         }
-
-        Optional<User> userByEmailOpt = userRepository.findUserByEmail(userDto.getEmail());
-        if (userByEmailOpt.isPresent()) {
-            throw new UserEmailConfilct("Пользователь с email " + userDto.getEmail() + " уже существует");
-        }
-        return UserDtoMapper.mapUserToUserDto(userRepository.create(UserDtoMapper.mapUserDtoToUser(userDto)));
     }
 
-    @Override
-    public UserDto update(int userId, UserDto userDto) {
-        UserDto existingUser = getUserById(userId);
-
+    private static UserDto patchUser(UserDto existingUser, UserDto userDto) {
         if (userDto.getName() != null && !userDto.getName().isBlank()) {
             existingUser.setName(userDto.getName());
         }
@@ -59,20 +154,22 @@ public class UserServiceImpl implements UserService {
         if (userDto.getEmail() != null && !userDto.getEmail().isBlank()) {
             existingUser.setEmail(userDto.getEmail());
         }
+        return existingUser;
+    }
 
-        Optional<User> userByEmailOpt = userRepository.findUserByEmail(existingUser.getEmail());
-        if (userByEmailOpt.isPresent() && userByEmailOpt.get().getId() != existingUser.getId()) {
-            throw new UserEmailConfilct("Пользователь с email " + existingUser.getEmail() + " уже существует");
+    /**
+     * Предварительная проверка для пакета, чтобы вернуть конфликт по конкретному элементу.
+     */
+    private void checkEmailFree(String email, int userId) {
+        Optional<User> userByEmailOpt = userRepository.findUserByEmail(email);
+        if (userByEmailOpt.isPresent() && userByEmailOpt.get().getId() != userId) {
+            throw new UserEmailConfilct("Пользователь с email " + email + " уже существует");
         }
-        return UserDtoMapper.mapUserToUserDto(userRepository.update(UserDtoMapper.mapUserDtoToUser(existingUser)));
     }
 
-    @Override
-    public void delete(int userId) {
-        if (!itemRepository.findItemsByUser(userId).isEmpty()) {
-            throw new ValidationException("У пользователя есть вещи, удаление невозможно");
+    private static void checkEmailFreeInBatch(String email, Set<String> batchEmails) {
+        if (!batchEmails.add(UserRepository.normalizeEmail(email))) {
+            throw new UserEmailConfilct("Email " + email + " указан в пакете несколько раз");
         }
-
-        userRepository.deleteById(userId);
     }
 }
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * Поиск подстроки в массиве байтов. Если при запуске подключен модуль {@code jdk.incubator.vector}
+ * ({@code --add-modules jdk.incubator.vector}), используется векторная реализация {@link VectorByteSearch},
+ * иначе - проверка по 8 байт в {@code long}. Обе реализации отбирают кандидатов по двум байтам образца
+ * и дают одинаковый результат.
+ */
+public final class ByteSearch {
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGH_BITS = 0x8080808080808080L;
+    private static final Kernel KERNEL = kernel();
+
+    private ByteSearch() {
+    }
+
+    /**
+     * Индекс первого вхождения {@code pattern} в {@code text} или -1.
+     */
+    public static int indexOf(byte[] text, byte[] pattern) {
+        return KERNEL.indexOf(text, pattern);
+    }
+
+    public static boolean contains(byte[] text, byte[] pattern) {
+        return KERNEL.indexOf(text, pattern) >= 0;
+    }
+
+    public static boolean isVectorized() {
+        return KERNEL instanceof VectorByteSearch;
+    }
+
+    /**
+     * Поиск без Vector API, начиная с позиции {@code from}: опорный и последний байты сравниваются сразу
+     * для 8 позиций, прочитанных одним {@code long}.
+     */
+    static int scalarIndexOf(byte[] text, byte[] pattern, int from) {
+        int length = pattern.length;
+        if (length == 0) {
+            return Math.min(from, text.length);
+        }
+        int anchor = anchor(pattern);
+        long anchorBytes = (pattern[anchor] & 0xFFL) * ONES;
+        long lastBytes = (pattern[length - 1] & 0xFFL) * ONES;
+
+        int i = from;
+        for (; i <= text.length - length - Long.BYTES + 1; i += Long.BYTES) {
+            long candidates = zeroBytes((long) LONGS.get(text, i + anchor) ^ anchorBytes)
+                    & zeroBytes((long) LONGS.get(text, i + length - 1) ^ lastBytes);
+            while (candidates != 0) {
+                int start = i + (Long.numberOfTrailingZeros(candidates) >>> 3);
+                // отметка может быть ложной и для последнего байта, поэтому сравнивается весь образец
+                if (Arrays.equals(text, start, start + length, pattern, 0, length)) {
+                    return start;
+                }
+                candidates &= candidates - 1;
+            }
+        }
+        for (; i <= text.length - length; i++) {
+            if (text[i + length - 1] == pattern[length - 1]
+                    && Arrays.equals(text, i, i + length - 1, pattern, 0, length - 1)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Старший бит в каждом нулевом байте {@code value}. Выше нулевого байта бит может оказаться и у байта 0x01,
+     * такие позиции отсеиваются сравнением всего образца; нулевой байт не пропускается никогда.
+     */
+    private static long zeroBytes(long value) {
+        return (value - ONES) & ~value & HIGH_BITS;
+    }
+
+    /**
+     * Позиция байта образца, по которому отбираются кандидаты вместе с последним байтом: первый байт продолжения
+     * символа UTF-8 ({@code 10xxxxxx}). Первые байты кириллических букв - почти всегда {@code 0xD0} или {@code 0xD1}
+     * и совпадают с каждым вторым байтом текста, а байты продолжения различают буквы.
+     */
+    static int anchor(byte[] pattern) {
+        for (int i = 0; i < pattern.length - 1; i++) {
+            if ((pattern[i] & 0xC0) == 0x80) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    private static Kernel kernel() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                // класс загружается по имени, чтобы без модуля не было ссылок на jdk.incubator.vector
+                return (Kernel) Class.forName(ByteSearch.class.getPackageName() + ".VectorByteSearch")
+                        .getDeclaredConstructor()
+                        .newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // остается обычный цикл
+            }
+        }
+        return (text, pattern) -> scalarIndexOf(text, pattern, 0);
+    }
+
+    interface Kernel {
+        int indexOf(byte[] text, byte[] pattern);
+    }
+}
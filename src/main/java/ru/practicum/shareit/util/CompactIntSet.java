@@ -0,0 +1,329 @@
+package ru.practicum.shareit.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Упорядоченное множество неотрицательных {@code int}, разбитое на блоки по старшим 16 битам.
+ * Небольшие блоки хранятся отсортированным массивом {@code char}, плотные - битовой картой.
+ * Изменять множество может только один поток одновременно (синхронизация на стороне вызывающего),
+ * чтение и обход не блокируются.
+ */
+public class CompactIntSet {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final VarHandle WORDS = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final Container[] EMPTY = new Container[0];
+
+    private volatile Container[] containers = EMPTY;
+    private volatile int size;
+
+    public boolean add(int value) {
+        Container[] current = containers;
+        int high = value >>> 16;
+        int index = indexOf(current, high);
+        if (index < 0) {
+            int insertAt = -index - 1;
+            Container[] updated = new Container[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, insertAt);
+            updated[insertAt] = new ArrayContainer(high, new char[]{(char) value}, 1);
+            System.arraycopy(current, insertAt, updated, insertAt + 1, current.length - insertAt);
+            containers = updated;
+            size = size + 1;
+            return true;
+        }
+
+        Container container = current[index];
+        if (container.contains((char) value)) {
+            return false;
+        }
+        Container replacement = container.add((char) value);
+        if (replacement != container) {
+            Container[] updated = current.clone();
+            updated[index] = replacement;
+            containers = updated;
+        }
+        size = size + 1;
+        return true;
+    }
+
+    public boolean remove(int value) {
+        Container[] current = containers;
+        int index = indexOf(current, value >>> 16);
+        if (index < 0 || !current[index].contains((char) value)) {
+            return false;
+        }
+
+        Container replacement = current[index].remove((char) value);
+        if (replacement == null) {
+            Container[] updated = new Container[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            containers = updated;
+        } else if (replacement != current[index]) {
+            Container[] updated = current.clone();
+            updated[index] = replacement;
+            containers = updated;
+        }
+        size = size - 1;
+        return true;
+    }
+
+    public boolean contains(int value) {
+        Container[] current = containers;
+        int index = indexOf(current, value >>> 16);
+        return index >= 0 && current[index].contains((char) value);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Значения по возрастанию. Обход слабо согласован с параллельными изменениями.
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Значения не меньше {@code from} по возрастанию; начало обхода находится двоичным поиском.
+     */
+    public PrimitiveIterator.OfInt iterator(int from) {
+        return new SetIterator(containers, Math.max(from, 0));
+    }
+
+    public IntStream stream() {
+        return stream(0);
+    }
+
+    public IntStream stream(int from) {
+        return StreamSupport.intStream(Spliterators.spliteratorUnknownSize(iterator(from),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    private static int indexOf(Container[] containers, int high) {
+        int low = 0;
+        int top = containers.length - 1;
+        while (low <= top) {
+            int mid = (low + top) >>> 1;
+            int midHigh = containers[mid].high;
+            if (midHigh < high) {
+                low = mid + 1;
+            } else if (midHigh > high) {
+                top = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private abstract static class Container {
+        final int high;
+
+        Container(int high) {
+            this.high = high;
+        }
+
+        abstract boolean contains(char low);
+
+        /**
+         * Добавляет отсутствующее значение: изменяет блок на месте или возвращает новый.
+         */
+        abstract Container add(char low);
+
+        /**
+         * Удаляет присутствующее значение; {@code null}, если блок опустел.
+         */
+        abstract Container remove(char low);
+
+        /**
+         * Следующее значение не меньше {@code from} или -1.
+         */
+        abstract int next(int from);
+    }
+
+    private static final class ArrayContainer extends Container {
+        private final char[] values;
+        private volatile int count;
+
+        ArrayContainer(int high, char[] values, int count) {
+            super(high);
+            this.values = values;
+            this.count = count;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return Arrays.binarySearch(values, 0, count, low) >= 0;
+        }
+
+        @Override
+        Container add(char low) {
+            int n = count;
+            int insertAt = -Arrays.binarySearch(values, 0, n, low) - 1;
+            if (insertAt == n && n < values.length) {
+                values[n] = low;
+                count = n + 1;
+                return this;
+            }
+            if (n == ARRAY_LIMIT) {
+                BitmapContainer bitmap = new BitmapContainer(high);
+                for (int i = 0; i < n; i++) {
+                    bitmap.set(values[i]);
+                }
+                bitmap.set(low);
+                return bitmap;
+            }
+            char[] copy = new char[Math.min(ARRAY_LIMIT, Math.max(4, n + (n >> 1) + 1))];
+            System.arraycopy(values, 0, copy, 0, insertAt);
+            copy[insertAt] = low;
+            System.arraycopy(values, insertAt, copy, insertAt + 1, n - insertAt);
+            return new ArrayContainer(high, copy, n + 1);
+        }
+
+        @Override
+        Container remove(char low) {
+            int n = count;
+            if (n == 1) {
+                return null;
+            }
+            int index = Arrays.binarySearch(values, 0, n, low);
+            char[] copy = new char[n - 1];
+            System.arraycopy(values, 0, copy, 0, index);
+            System.arraycopy(values, index + 1, copy, index, n - index - 1);
+            return new ArrayContainer(high, copy, n - 1);
+        }
+
+        @Override
+        int next(int from) {
+            if (from > Character.MAX_VALUE) {
+                return -1;
+            }
+            int n = count;
+            int index = Arrays.binarySearch(values, 0, n, (char) from);
+            if (index < 0) {
+                index = -index - 1;
+            }
+            return index < n ? values[index] : -1;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words = new long[1024];
+        private int cardinality;
+
+        BitmapContainer(int high) {
+            super(high);
+        }
+
+        void set(char low) {
+            long word = (long) WORDS.getAcquire(words, low >>> 6);
+            WORDS.setRelease(words, low >>> 6, word | (1L << low));
+            cardinality++;
+        }
+
+        @Override
+        boolean contains(char low) {
+            return ((long) WORDS.getAcquire(words, low >>> 6) & (1L << low)) != 0;
+        }
+
+        @Override
+        Container add(char low) {
+            set(low);
+            return this;
+        }
+
+        @Override
+        Container remove(char low) {
+            if (cardinality - 1 < ARRAY_LIMIT / 2) {
+                char[] values = new char[cardinality - 1];
+                int n = 0;
+                for (int value = next(0); value >= 0; value = next(value + 1)) {
+                    if (value != low) {
+                        values[n++] = (char) value;
+                    }
+                }
+                return new ArrayContainer(high, values, n);
+            }
+            long word = (long) WORDS.getAcquire(words, low >>> 6);
+            WORDS.setRelease(words, low >>> 6, word & ~(1L << low));
+            cardinality--;
+            return this;
+        }
+
+        @Override
+        int next(int from) {
+            if (from > Character.MAX_VALUE) {
+                return -1;
+            }
+            int index = from >>> 6;
+            long word = (long) WORDS.getAcquire(words, index) & (-1L << from);
+            while (true) {
+                if (word != 0) {
+                    return (index << 6) + Long.numberOfTrailingZeros(word);
+                }
+                if (++index == words.length) {
+                    return -1;
+                }
+                word = (long) WORDS.getAcquire(words, index);
+            }
+        }
+    }
+
+    private static final class SetIterator implements PrimitiveIterator.OfInt {
+        private final Container[] containers;
+        private int containerIndex;
+        private int nextLow = -1;
+
+        SetIterator(Container[] containers, int from) {
+            this.containers = containers;
+            int index = indexOf(containers, from >>> 16);
+            if (index >= 0) {
+                containerIndex = index;
+                advance(from & 0xFFFF);
+            } else {
+                containerIndex = -index - 1;
+                advance(0);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextLow >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (nextLow < 0) {
+                throw new NoSuchElementException();
+            }
+            int value = (containers[containerIndex].high << 16) | nextLow;
+            advance(nextLow + 1);
+            return value;
+        }
+
+        private void advance(int from) {
+            while (containerIndex < containers.length) {
+                nextLow = containers[containerIndex].next(from);
+                if (nextLow >= 0) {
+                    return;
+                }
+                containerIndex++;
+                from = 0;
+            }
+            nextLow = -1;
+        }
+    }
+}
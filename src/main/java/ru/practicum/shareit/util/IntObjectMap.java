@@ -0,0 +1,276 @@
+package ru.practicum.shareit.util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Хеш-таблица с открытой адресацией и ключами {@code int} без упаковки в {@code Integer}.
+ * Разбита на сегменты с отдельными блокировками на запись; чтение не блокируется
+ * и видит таблицу сегмента либо до, либо после каждого изменения.
+ */
+public class IntObjectMap<V> {
+    private static final VarHandle VALUES = MethodHandles.arrayElementVarHandle(Object[].class);
+    private static final Object DELETED = new Object();
+    private static final int MIN_CAPACITY = 16;
+
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    @SuppressWarnings("unchecked")
+    public IntObjectMap(int expectedSize) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4 - 1)) << 1;
+        segments = (Segment<V>[]) new Segment[segmentCount];
+        int perSegment = Math.max(MIN_CAPACITY, expectedSize / segmentCount);
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+    }
+
+    public IntObjectMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public V get(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).get(key, hash);
+    }
+
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Сохраняет значение и возвращает предыдущее или {@code null}.
+     */
+    public V put(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, requireValue(value), false, false);
+    }
+
+    public V putIfAbsent(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, requireValue(value), true, false);
+    }
+
+    /**
+     * Заменяет значение только для существующего ключа и возвращает предыдущее или {@code null}.
+     */
+    public V replace(int key, V value) {
+        int hash = hash(key);
+        return segmentFor(hash).put(key, hash, requireValue(value), false, true);
+    }
+
+    public V remove(int key) {
+        int hash = hash(key);
+        return segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Слабо согласованный обход значений: не бросает исключений при параллельных изменениях.
+     */
+    public Stream<V> values() {
+        return Arrays.stream(segments)
+                .flatMap(segment -> StreamSupport.stream(segment.spliterator(), false));
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static <V> V requireValue(V value) {
+        if (value == null) {
+            throw new NullPointerException("IntObjectMap не хранит null");
+        }
+        return value;
+    }
+
+    private static final class Table {
+        final int[] keys;
+        final Object[] values;
+        final int mask;
+
+        Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+            mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment<V> {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table;
+        private volatile int size;
+        private int usedSlots;
+
+        Segment(int expectedSize) {
+            table = new Table(capacityFor(expectedSize));
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(int key, int hash) {
+            Table t = table;
+            int index = hash & t.mask;
+            while (true) {
+                Object value = VALUES.getAcquire(t.values, index);
+                if (value == null) {
+                    return null;
+                }
+                if (t.keys[index] == key) {
+                    return value == DELETED ? null : (V) value;
+                }
+                index = (index + 1) & t.mask;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V put(int key, int hash, V value, boolean onlyIfAbsent, boolean onlyIfPresent) {
+            lock.lock();
+            try {
+                Table t = table;
+                int index = hash & t.mask;
+                while (true) {
+                    Object current = t.values[index];
+                    if (current == null) {
+                        break;
+                    }
+                    if (t.keys[index] == key) {
+                        boolean present = current != DELETED;
+                        if (present ? onlyIfAbsent : onlyIfPresent) {
+                            return present ? (V) current : null;
+                        }
+                        VALUES.setRelease(t.values, index, value);
+                        if (!present) {
+                            size++;
+                        }
+                        return present ? (V) current : null;
+                    }
+                    index = (index + 1) & t.mask;
+                }
+
+                if (onlyIfPresent) {
+                    return null;
+                }
+                if (usedSlots + 1 > (t.keys.length >> 2) * 3) {
+                    t = rehash(t);
+                    index = hash & t.mask;
+                    while (t.values[index] != null) {
+                        index = (index + 1) & t.mask;
+                    }
+                }
+                t.keys[index] = key;
+                VALUES.setRelease(t.values, index, value);
+                usedSlots++;
+                size++;
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        V remove(int key, int hash) {
+            lock.lock();
+            try {
+                Table t = table;
+                int index = hash & t.mask;
+                while (true) {
+                    Object current = t.values[index];
+                    if (current == null) {
+                        return null;
+                    }
+                    if (t.keys[index] == key) {
+                        if (current == DELETED) {
+                            return null;
+                        }
+                        VALUES.setRelease(t.values, index, DELETED);
+                        size--;
+                        return (V) current;
+                    }
+                    index = (index + 1) & t.mask;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Живые ключи занимают не больше половины порога новой таблицы. Иначе при чередовании вставок и удалений
+         * около порога таблица того же размера перестраивалась бы снова через несколько вставок.
+         */
+        private Table rehash(Table old) {
+            Table t = new Table(capacityFor(Math.max(size + 1, size * 2)));
+            for (int i = 0; i < old.keys.length; i++) {
+                Object value = old.values[i];
+                if (value != null && value != DELETED) {
+                    int index = hash(old.keys[i]) & t.mask;
+                    while (t.values[index] != null) {
+                        index = (index + 1) & t.mask;
+                    }
+                    t.keys[index] = old.keys[i];
+                    t.values[index] = value;
+                }
+            }
+            usedSlots = size;
+            table = t;
+            return t;
+        }
+
+        Spliterator<V> spliterator() {
+            Table t = table;
+            return new Spliterators.AbstractSpliterator<>(size, Spliterator.NONNULL) {
+                private int index;
+
+                @Override
+                @SuppressWarnings("unchecked")
+                public boolean tryAdvance(Consumer<? super V> action) {
+                    while (index < t.values.length) {
+                        Object value = VALUES.getAcquire(t.values, index++);
+                        if (value != null && value != DELETED) {
+                            action.accept((V) value);
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private static int capacityFor(int expectedSize) {
+            int capacity = MIN_CAPACITY;
+            while ((capacity >> 2) * 3 < expectedSize) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+    }
+}
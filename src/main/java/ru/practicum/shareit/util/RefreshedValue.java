@@ -0,0 +1,38 @@
+package ru.practicum.shareit.util;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Значение для метрик, которое дорого вычислять (например, {@code COUNT(*)} по таблице): вычисляется при первом
+ * чтении и затем не чаще раза в {@code interval}. Пока один поток обновляет значение, остальные получают прежнее.
+ */
+public final class RefreshedValue<T> implements Supplier<T> {
+    private final Supplier<T> loader;
+    private final long intervalNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile T value;
+    private volatile long loadedAt;
+
+    public RefreshedValue(Supplier<T> loader, Duration interval) {
+        this.loader = loader;
+        this.intervalNanos = interval.toNanos();
+    }
+
+    @Override
+    public T get() {
+        T current = value;
+        long now = System.nanoTime();
+        if ((current == null || now - loadedAt >= intervalNanos) && refreshing.compareAndSet(false, true)) {
+            try {
+                current = loader.get();
+                value = current;
+                loadedAt = now;
+            } finally {
+                refreshing.set(false);
+            }
+        }
+        return current != null ? current : value;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.util;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Набор блокировок, выбираемых по целочисленному ключу. Записи с разными ключами
+ * в большинстве случаев не конкурируют между собой, записи с одним ключом упорядочены.
+ */
+public class StripedLock {
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLock(int minStripes) {
+        int stripes = Integer.highestOneBit(Math.max(1, minStripes - 1)) << 1;
+        locks = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        mask = stripes - 1;
+    }
+
+    public StripedLock() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    public <T> T withLock(int key, Supplier<T> action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void withLock(int key, Runnable action) {
+        ReentrantLock lock = lockFor(key);
+        lock.lock();
+        try {
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock lockFor(int key) {
+        int h = key * 0x9E3779B9;
+        return locks[(h ^ (h >>> 16)) & mask];
+    }
+}
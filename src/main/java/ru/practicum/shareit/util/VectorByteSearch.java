@@ -0,0 +1,56 @@
+package ru.practicum.shareit.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+/**
+ * Поиск подстроки на Vector API: для блока из {@code SPECIES.length()} позиций одной операцией сравниваются
+ * опорный байт образца (см. {@link ByteSearch#anchor}) и его последний байт с байтами текста на соответствующих
+ * сдвигах. Полностью сравниваются только позиции, где совпали оба байта. Хвост текста проверяется последним
+ * блоком, выровненным по концу текста; текст короче блока - через {@link ByteSearch#scalarIndexOf}.
+ */
+final class VectorByteSearch implements ByteSearch.Kernel {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int BLOCK = SPECIES.length();
+
+    @Override
+    public int indexOf(byte[] text, byte[] pattern) {
+        int length = pattern.length;
+        // последняя позиция, с которой блок еще не выходит за конец текста
+        int bound = text.length - length - BLOCK + 1;
+        if (length == 0 || bound < 0) {
+            return ByteSearch.scalarIndexOf(text, pattern, 0);
+        }
+        int anchor = ByteSearch.anchor(pattern);
+        ByteVector anchorBytes = ByteVector.broadcast(SPECIES, pattern[anchor]);
+        ByteVector lastBytes = ByteVector.broadcast(SPECIES, pattern[length - 1]);
+
+        int i = 0;
+        for (; i < bound; i += BLOCK) {
+            int found = match(text, pattern, i, anchor, anchorBytes, lastBytes, -1L);
+            if (found >= 0) {
+                return found;
+            }
+        }
+        // последний блок перекрывает уже проверенные позиции, они исключаются маской
+        return match(text, pattern, bound, anchor, anchorBytes, lastBytes, -1L << (i - bound));
+    }
+
+    private static int match(byte[] text, byte[] pattern, int block, int anchor,
+                             ByteVector anchorBytes, ByteVector lastBytes, long mask) {
+        int length = pattern.length;
+        long candidates = ByteVector.fromArray(SPECIES, text, block + anchor).eq(anchorBytes)
+                .and(ByteVector.fromArray(SPECIES, text, block + length - 1).eq(lastBytes))
+                .toLong() & mask;
+        while (candidates != 0) {
+            int start = block + Long.numberOfTrailingZeros(candidates);
+            if (Arrays.equals(text, start, start + length - 1, pattern, 0, length - 1)) {
+                return start;
+            }
+            candidates &= candidates - 1;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,5 @@
+-- Выполняется после schema.sql только в H2 (тесты): частичных индексов и правил сравнения в H2 нет,
+-- строки сравниваются по кодам символов.
+
+-- Подсказки по префиксу названия
+CREATE INDEX IF NOT EXISTS idx_items_name_prefix ON items (available, name_normalized, id);
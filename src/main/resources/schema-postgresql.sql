@@ -0,0 +1,8 @@
+-- Выполняется после schema.sql только в Postgres.
+
+-- Подсказки по префиксу названия. С локалью базы, отличной от C, LIKE 'префикс%' не использует обычный индекс,
+-- а индекс с varchar_pattern_ops не дает порядка для ORDER BY. С правилом сравнения "C" (по кодам символов,
+-- как и в хранилищах в памяти) один частичный индекс по доступным вещам обслуживает и условие, и сортировку.
+ALTER TABLE items ALTER COLUMN name_normalized TYPE VARCHAR(255) COLLATE "C";
+DROP INDEX IF EXISTS idx_items_name_prefix;
+CREATE INDEX IF NOT EXISTS idx_items_name_prefix_c ON items (name_normalized, id) WHERE available;
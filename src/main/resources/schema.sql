@@ -0,0 +1,84 @@
+CREATE TABLE IF NOT EXISTS users (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(512) NOT NULL,
+    -- email без пробелов по краям в нижнем регистре, заполняется приложением
+    email_normalized VARCHAR(512) NOT NULL,
+    -- номер изменения для ETag, увеличивается приложением
+    version BIGINT NOT NULL DEFAULT 1
+);
+
+-- Базы, созданные до появления email_normalized и version: добавить столбцы и заполнить их так же, как приложение
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_normalized VARCHAR(512);
+UPDATE users SET email_normalized = LOWER(TRIM(email)) WHERE email_normalized IS NULL;
+ALTER TABLE users ALTER COLUMN email_normalized SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_email_normalized ON users (email_normalized);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+
+CREATE TABLE IF NOT EXISTS items (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    description VARCHAR(4000) NOT NULL,
+    available BOOLEAN NOT NULL,
+    owner_id INTEGER NOT NULL REFERENCES users (id),
+    -- название без пробелов по краям в нижнем регистре для подсказок, заполняется приложением
+    name_normalized VARCHAR(255) NOT NULL,
+    -- номер изменения для ETag, увеличивается приложением
+    version BIGINT NOT NULL DEFAULT 1
+);
+
+-- Базы, созданные до появления name_normalized и version: добавить столбцы и заполнить их так же, как приложение
+ALTER TABLE items ADD COLUMN IF NOT EXISTS name_normalized VARCHAR(255);
+UPDATE items SET name_normalized = LOWER(TRIM(name)) WHERE name_normalized IS NULL;
+ALTER TABLE items ALTER COLUMN name_normalized SET NOT NULL;
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 1;
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+-- индекс подсказок по префиксу названия зависит от базы: schema-postgresql.sql и schema-h2.sql
+
+-- Триграммы названия и описания в нижнем регистре для поиска по подстроке
+CREATE TABLE IF NOT EXISTS item_trigrams (
+    trigram VARCHAR(3) NOT NULL,
+    item_id INTEGER NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    PRIMARY KEY (trigram, item_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_trigrams_item ON item_trigrams (item_id);
+
+CREATE TABLE IF NOT EXISTS bookings (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    start_date TIMESTAMP NOT NULL,
+    end_date TIMESTAMP NOT NULL,
+    item_id INTEGER NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    booker_id INTEGER NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    -- WAITING, APPROVED, REJECTED
+    status VARCHAR(16) NOT NULL
+);
+
+-- проверка пересечения с подтвержденными бронированиями вещи и бронирования вещей владельца
+DROP INDEX IF EXISTS idx_bookings_item;
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_booker ON bookings (booker_id, start_date);
+
+CREATE TABLE IF NOT EXISTS item_requests (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    description VARCHAR(4000) NOT NULL,
+    requestor_id INTEGER NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    created TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requestor ON item_requests (requestor_id, id);
+
+-- Ключевые слова описаний запросов для подбора запросов к новым вещам, заполняется приложением
+CREATE TABLE IF NOT EXISTS item_request_keywords (
+    keyword VARCHAR(64) NOT NULL,
+    request_id INTEGER NOT NULL REFERENCES item_requests (id) ON DELETE CASCADE,
+    PRIMARY KEY (keyword, request_id)
+);
+
+-- Вещи, подошедшие под запросы
+CREATE TABLE IF NOT EXISTS item_request_answers (
+    request_id INTEGER NOT NULL REFERENCES item_requests (id) ON DELETE CASCADE,
+    item_id INTEGER NOT NULL REFERENCES items (id) ON DELETE CASCADE,
+    PRIMARY KEY (request_id, item_id)
+);
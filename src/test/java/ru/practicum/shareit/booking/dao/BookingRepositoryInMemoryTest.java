@@ -0,0 +1,143 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingRepositoryInMemoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    private final BookingRepository bookingRepository = new BookingRepositoryInMemory();
+
+    @Test
+    public void checkApprovedBookingsDoNotOverlap() {
+        Booking approved = bookingRepository.create(booking(1, 10, 12, BookingStatus.APPROVED));
+        Booking waiting = bookingRepository.create(booking(1, 11, 13, BookingStatus.WAITING));
+
+        assertThat(bookingRepository.isItemBooked(1, hour(11), hour(13))).isTrue();
+        assertThat(bookingRepository.isItemBooked(1, hour(12), hour(14))).isFalse();
+        assertThat(bookingRepository.isItemBooked(1, hour(8), hour(10))).isFalse();
+        assertThat(bookingRepository.isItemBooked(1, hour(8), hour(20))).isTrue();
+        assertThat(bookingRepository.isItemBooked(2, hour(11), hour(13))).isFalse();
+        assertThatThrownBy(() -> bookingRepository.updateStatus(waiting.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingRepository.create(booking(1, 9, 11, BookingStatus.APPROVED)))
+                .isInstanceOf(ValidationException.class);
+
+        bookingRepository.updateStatus(approved.getId(), BookingStatus.APPROVED, BookingStatus.REJECTED);
+        bookingRepository.updateStatus(waiting.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertThat(bookingRepository.isItemBooked(1, hour(10), hour(11))).isFalse();
+        assertThat(bookingRepository.findBookingById(waiting.getId())).get()
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void whenStatusAlreadyChangedThanExceptionThrown() {
+        Booking booking = bookingRepository.create(booking(1, 10, 12, BookingStatus.WAITING));
+        bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertThatThrownBy(() -> bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING,
+                BookingStatus.REJECTED))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.findBookingById(booking.getId())).get()
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+        assertThat(bookingRepository.isItemBooked(1, hour(10), hour(12))).isTrue();
+    }
+
+    @Test
+    public void checkFindBookingsByStateMatchesFullScan() {
+        Random random = new Random(42);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int start = random.nextInt(200) - 100;
+            Booking booking = booking(i % 7 + 1, start, start + 1 + random.nextInt(i % 50 == 0 ? 100 : 5),
+                    BookingStatus.WAITING);
+            booking.setBookerId(i % 3 + 1);
+            bookings.add(bookingRepository.create(booking));
+        }
+        for (Booking booking : bookings) {
+            if (random.nextInt(3) == 0) {
+                bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING, BookingStatus.REJECTED);
+                booking.setStatus(BookingStatus.REJECTED);
+            }
+        }
+
+        Comparator<Booking> order = Comparator.comparing(Booking::getStart).thenComparing(Booking::getId).reversed();
+        for (BookingState state : BookingState.values()) {
+            assertThat(bookingRepository.findBookingsByBooker(1, state, NOW, PageRequest.UNPAGED))
+                    .as(state.name())
+                    .containsExactlyElementsOf(bookings.stream()
+                            .filter(booking -> booking.getBookerId() == 1)
+                            .filter(booking -> BookingRepository.matches(booking, state, NOW))
+                            .sorted(order)
+                            .toList());
+            assertThat(bookingRepository.findBookingsByOwner(1, state, NOW, new PageRequest(2, 5, 0)))
+                    .as(state.name())
+                    .containsExactlyElementsOf(bookings.stream()
+                            .filter(booking -> BookingRepository.matches(booking, state, NOW))
+                            .sorted(order)
+                            .skip(2)
+                            .limit(5)
+                            .toList());
+        }
+        assertThat(bookingRepository.findBookingsByBooker(42, BookingState.ALL, NOW, PageRequest.UNPAGED)).isEmpty();
+    }
+
+    @Test
+    public void checkStateRestoredFromJournalAfterRestart(@TempDir Path directory) throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        BookingRepositoryInMemory repository = new BookingRepositoryInMemory(properties);
+        Booking rejected = repository.create(booking(1, 10, 12, BookingStatus.APPROVED));
+        Booking approved = repository.create(booking(1, 11, 13, BookingStatus.WAITING));
+        repository.updateStatus(rejected.getId(), BookingStatus.APPROVED, BookingStatus.REJECTED);
+        repository.updateStatus(approved.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+        repository.close();
+
+        BookingRepositoryInMemory restarted = new BookingRepositoryInMemory(properties);
+        Booking next = restarted.create(booking(2, 10, 12, BookingStatus.WAITING));
+        restarted.close();
+
+        assertThat(restarted.findBookingById(approved.getId())).get()
+                .hasFieldOrPropertyWithValue("start", hour(11))
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+        assertThat(restarted.isItemBooked(1, hour(10), hour(11))).isFalse();
+        assertThat(restarted.isItemBooked(1, hour(12), hour(13))).isTrue();
+        assertThat(restarted.findBookingsByBooker(2, BookingState.REJECTED, NOW, PageRequest.UNPAGED))
+                .extracting(Booking::getId).containsExactly(rejected.getId());
+        assertThat(next.getId()).isEqualTo(approved.getId() + 1);
+    }
+
+    private static Booking booking(int itemId, int startHour, int endHour, BookingStatus status) {
+        return Booking.builder()
+                .itemId(itemId)
+                .ownerId(1)
+                .bookerId(2)
+                .start(hour(startHour))
+                .end(hour(endHour))
+                .status(status)
+                .build();
+    }
+
+    private static LocalDateTime hour(int hour) {
+        return NOW.plusHours(hour);
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.booking.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.JdbcItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dao.JdbcUserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"jdbc", "test"})
+@Import({JdbcBookingRepository.class, JdbcItemRepository.class, JdbcUserRepository.class})
+class JdbcBookingRepositoryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcItemRepository itemRepository;
+    @Autowired
+    private JdbcUserRepository userRepository;
+    private int ownerId;
+    private int bookerId;
+    private int itemId;
+
+    @BeforeEach
+    public void createItem() {
+        ownerId = userRepository.create(User.builder().name("owner").email("owner@booking.test").build()).getId();
+        bookerId = userRepository.create(User.builder().name("booker").email("booker@booking.test").build()).getId();
+        itemId = itemRepository.create(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .ownerId(ownerId)
+                .build()).getId();
+    }
+
+    @Test
+    public void checkApprovedBookingsDoNotOverlap() {
+        Booking approved = bookingRepository.create(booking(10, 12, BookingStatus.APPROVED));
+        Booking waiting = bookingRepository.create(booking(11, 13, BookingStatus.WAITING));
+
+        assertThat(bookingRepository.findBookingById(approved.getId())).contains(approved);
+        assertThat(bookingRepository.isItemBooked(itemId, NOW.plusHours(11), NOW.plusHours(13))).isTrue();
+        assertThat(bookingRepository.isItemBooked(itemId, NOW.plusHours(12), NOW.plusHours(14))).isFalse();
+        assertThat(bookingRepository.isItemBooked(itemId, NOW.plusHours(8), NOW.plusHours(10))).isFalse();
+        assertThat(bookingRepository.isItemBooked(itemId, NOW.plusHours(8), NOW.plusHours(20))).isTrue();
+        assertThatThrownBy(() -> bookingRepository.updateStatus(waiting.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .isInstanceOf(ValidationException.class);
+
+        bookingRepository.updateStatus(approved.getId(), BookingStatus.APPROVED, BookingStatus.REJECTED);
+
+        assertThat(bookingRepository.updateStatus(waiting.getId(), BookingStatus.WAITING, BookingStatus.APPROVED))
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+        assertThat(bookingRepository.isItemBooked(itemId, NOW.plusHours(10), NOW.plusHours(11))).isFalse();
+    }
+
+    @Test
+    public void whenStatusAlreadyChangedThanExceptionThrown() {
+        Booking booking = bookingRepository.create(booking(10, 12, BookingStatus.WAITING));
+        bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING, BookingStatus.APPROVED);
+
+        assertThatThrownBy(() -> bookingRepository.updateStatus(booking.getId(), BookingStatus.WAITING,
+                BookingStatus.REJECTED))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingRepository.findBookingById(booking.getId())).get()
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+    }
+
+    @Test
+    public void checkFindBookingsByState() {
+        Booking past = bookingRepository.create(booking(-5, -3, BookingStatus.APPROVED));
+        Booking current = bookingRepository.create(booking(-1, 1, BookingStatus.REJECTED));
+        Booking future = bookingRepository.create(booking(2, 3, BookingStatus.WAITING));
+
+        assertThat(bookingRepository.findBookingsByBooker(bookerId, BookingState.ALL, NOW, PageRequest.UNPAGED))
+                .containsExactly(future, current, past);
+        assertThat(bookingRepository.findBookingsByOwner(ownerId, BookingState.CURRENT, NOW, PageRequest.UNPAGED))
+                .containsExactly(current);
+        assertThat(bookingRepository.findBookingsByOwner(ownerId, BookingState.PAST, NOW, PageRequest.UNPAGED))
+                .containsExactly(past);
+        assertThat(bookingRepository.findBookingsByBooker(bookerId, BookingState.FUTURE, NOW, PageRequest.UNPAGED))
+                .containsExactly(future);
+        assertThat(bookingRepository.findBookingsByBooker(bookerId, BookingState.WAITING, NOW, PageRequest.UNPAGED))
+                .containsExactly(future);
+        assertThat(bookingRepository.findBookingsByOwner(ownerId, BookingState.ALL, NOW, new PageRequest(1, 1, 0)))
+                .containsExactly(current);
+        assertThat(bookingRepository.findBookingsByOwner(bookerId, BookingState.ALL, NOW, PageRequest.UNPAGED)).isEmpty();
+    }
+
+    private Booking booking(int startHour, int endHour, BookingStatus status) {
+        return Booking.builder()
+                .itemId(itemId)
+                .ownerId(ownerId)
+                .bookerId(bookerId)
+                .start(NOW.plusHours(startHour))
+                .end(NOW.plusHours(endHour))
+                .status(status)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.booking.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dao.BookingRepositoryInMemory;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingDto;
+import ru.practicum.shareit.booking.model.BookingState;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepositoryInMemory;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.LocalDateTime;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingServiceImplTest {
+    private final UserRepository userRepository = new UserRepositoryInMemory();
+    private final ItemRepository itemRepository = new ItemRepositoryInMemory();
+    private final UserService userService = new UserServiceImpl(userRepository, itemRepository);
+    private final ItemService itemService = new ItemServiceImpl(itemRepository, userRepository,
+            new ItemRequestRepositoryInMemory());
+    private final BookingService bookingService =
+            new BookingServiceImpl(new BookingRepositoryInMemory(), itemRepository, userRepository);
+    private final UserDto owner = userService.create(UserDto.builder()
+            .name("owner")
+            .email("owner@mail.mail")
+            .build());
+    private final UserDto booker = userService.create(UserDto.builder()
+            .name("booker")
+            .email("booker@mail.mail")
+            .build());
+    private final ItemDto item = itemService.create(owner.getId(), ItemDto.builder()
+            .name("Дрель")
+            .description("Ударная")
+            .available(true)
+            .build());
+    private final LocalDateTime tomorrow = LocalDateTime.now().plusDays(1);
+
+    @Test
+    public void checkCreateAndApproveBooking() {
+        BookingDto booking = bookingService.create(booker.getId(), newBooking(0, 2));
+
+        assertThat(booking)
+                .hasFieldOrPropertyWithValue("status", BookingStatus.WAITING)
+                .hasFieldOrPropertyWithValue("start", tomorrow);
+        assertThat(booking.getItem()).hasFieldOrPropertyWithValue("name", "Дрель");
+        assertThat(booking.getBooker()).hasFieldOrPropertyWithValue("id", booker.getId());
+
+        assertThat(bookingService.approve(owner.getId(), booking.getId(), true))
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+        assertThat(bookingService.findBookingById(owner.getId(), booking.getId()))
+                .hasFieldOrPropertyWithValue("status", BookingStatus.APPROVED);
+        assertThat(bookingService.findBookerBookings(booker.getId(), BookingState.FUTURE, PageRequest.UNPAGED))
+                .extracting(BookingDto::getId)
+                .containsExactly(booking.getId());
+        assertThat(bookingService.findOwnerBookings(owner.getId(), BookingState.WAITING, PageRequest.UNPAGED)).isEmpty();
+    }
+
+    @Test
+    public void whenItemAlreadyBookedThanExceptionThrown() {
+        BookingDto booking = bookingService.create(booker.getId(), newBooking(0, 2));
+        bookingService.approve(owner.getId(), booking.getId(), true);
+
+        assertThatThrownBy(() -> bookingService.create(booker.getId(), newBooking(1, 3)))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingService.create(booker.getId(), newBooking(2, 3)).getId()).isGreaterThan(booking.getId());
+    }
+
+    @Test
+    public void whenBookingInvalidThanExceptionThrown() {
+        assertThatThrownBy(() -> bookingService.create(booker.getId(), newBooking(2, 1)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.create(booker.getId(), newBooking(-48, 1)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.create(owner.getId(), newBooking(0, 1)))
+                .isInstanceOf(NoSuchElementException.class);
+
+        itemService.update(owner.getId(), item.getId(), ItemDto.builder().available(false).build());
+        assertThatThrownBy(() -> bookingService.create(booker.getId(), newBooking(0, 1)))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void whenNotOwnerApprovesThanExceptionThrown() {
+        BookingDto booking = bookingService.create(booker.getId(), newBooking(0, 1));
+
+        assertThatThrownBy(() -> bookingService.approve(booker.getId(), booking.getId(), true))
+                .isInstanceOf(ValidationException.class);
+        bookingService.approve(owner.getId(), booking.getId(), false);
+        assertThatThrownBy(() -> bookingService.approve(owner.getId(), booking.getId(), true))
+                .isInstanceOf(ValidationException.class);
+        assertThat(bookingService.findOwnerBookings(owner.getId(), BookingState.REJECTED, PageRequest.UNPAGED))
+                .extracting(BookingDto::getId)
+                .containsExactly(booking.getId());
+    }
+
+    @Test
+    public void whenStrangerRequestsBookingThanExceptionThrown() {
+        BookingDto booking = bookingService.create(booker.getId(), newBooking(0, 1));
+        UserDto stranger = userService.create(UserDto.builder().name("stranger").email("stranger@mail.mail").build());
+
+        assertThatThrownBy(() -> bookingService.findBookingById(stranger.getId(), booking.getId()))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    private NewBookingDto newBooking(int startHour, int endHour) {
+        return NewBookingDto.builder()
+                .itemId(item.getId())
+                .start(tomorrow.plusHours(startHour))
+                .end(tomorrow.plusHours(endHour))
+                .build();
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.export;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportControllerTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    public void checkExportItemsAsNdjsonWithoutTimeout() throws Exception {
+        UserDto owner = userService.create(UserDto.builder().name("owner").email("owner@export.test").build());
+        ItemDto drill = itemService.create(owner.getId(),
+                ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+        ItemDto saw = itemService.create(owner.getId(),
+                ItemDto.builder().name("Пила").description("Ножовка").available(false).build());
+
+        MvcResult started = mvc.perform(get("/export/items"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(-1);
+
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.NDJSON))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(StandardCharsets.UTF_8);
+        List<String> lines = body.lines().toList();
+        assertThat(body).endsWith("\n");
+        assertThat(lines).contains(
+                "{\"id\":" + drill.getId() + ",\"name\":\"Дрель\",\"description\":\"Ударная\",\"available\":true}",
+                "{\"id\":" + saw.getId() + ",\"name\":\"Пила\",\"description\":\"Ножовка\",\"available\":false}");
+    }
+
+    @Test
+    public void checkExportUsersAsNdjson() throws Exception {
+        UserDto user = userService.create(UserDto.builder().name("user").email("user@export.test").build());
+
+        MvcResult started = mvc.perform(get("/export/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(ExportController.NDJSON))
+                .andExpect(content().string(containsString(
+                        "{\"id\":" + user.getId() + ",\"name\":\"user\",\"email\":\"user@export.test\"}\n")));
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingItemRepositoryTest {
+    private final ItemRepository storage = new ItemRepositoryInMemory();
+    private final CachingItemRepository itemRepository = new CachingItemRepository(storage, new CacheProperties());
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    CachingItemRepositoryTest() {
+        itemRepository.bindTo(registry);
+    }
+
+    @Test
+    public void checkFindItemByIdHitsCache() {
+        Item item = itemRepository.create(item("test"));
+
+        assertThat(itemRepository.findItemById(item.getId())).contains(item);
+        assertThat(itemRepository.findItemById(item.getId())).contains(item);
+        assertThat(itemRepository.findItemById(Integer.MAX_VALUE)).isEmpty();
+
+        assertThat(registry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tag("cache", "items").tag("result", "miss")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void checkFindItemsByIdsLoadsOnlyMissing() {
+        Item first = itemRepository.create(item("first"));
+        Item second = itemRepository.create(item("second"));
+        itemRepository.findItemById(second.getId());
+
+        assertThat(itemRepository.findItemsByIds(List.of(second.getId(), Integer.MAX_VALUE, first.getId())))
+                .containsExactly(first, second);
+        assertThat(registry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(itemRepository.findItemsByIds(List.of(first.getId()))).containsExactly(first);
+        assertThat(registry.get("cache.gets").tag("cache", "items").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void checkWritesInvalidateCache() {
+        Item item = itemRepository.create(item("test"));
+        Item other = itemRepository.create(item("other"));
+        itemRepository.findItemById(item.getId()).orElseThrow().setName("changed without update");
+        assertThat(itemRepository.findItemById(item.getId())).get().hasFieldOrPropertyWithValue("name", "test");
+
+        item.setName("updated");
+        itemRepository.update(item);
+        assertThat(itemRepository.findItemById(item.getId())).get().hasFieldOrPropertyWithValue("name", "updated");
+
+        itemRepository.findItemById(other.getId());
+        other.setName("updated other");
+        itemRepository.updateAll(List.of(other));
+        assertThat(itemRepository.findItemById(other.getId())).get().hasFieldOrPropertyWithValue("name", "updated other");
+
+        itemRepository.deleteById(item.getId());
+        assertThat(itemRepository.findItemById(item.getId())).isEmpty();
+    }
+
+    @Test
+    public void checkSearchResultsCachedUntilMatchingWrite() {
+        Item drill = itemRepository.create(item("Дрель"));
+        Item saw = itemRepository.create(item("Пила"));
+
+        assertThat(itemRepository.findItemsByParams("ДРЕЛЬ", true)).containsExactly(drill);
+        itemRepository.findItemsByParams("дрель", true).getFirst().setName("changed without update");
+        itemRepository.update(saw.toBuilder().description("ножовка").build());
+        assertThat(itemRepository.findItemsByParams("дрель", true)).containsExactly(drill);
+        assertThat(searchGets("hit")).isEqualTo(2);
+        assertThat(searchGets("miss")).isEqualTo(1);
+
+        Item hammerDrill = itemRepository.create(item("Перфоратор").toBuilder().description("дрель ударная").build());
+        assertThat(itemRepository.findItemsByParams("дрель", true)).containsExactly(drill, hammerDrill);
+
+        itemRepository.update(drill.toBuilder().available(false).build());
+        assertThat(itemRepository.findItemsByParams("дрель", true)).containsExactly(hammerDrill);
+
+        itemRepository.deleteById(hammerDrill.getId());
+        assertThat(itemRepository.findItemsByParams("дрель", true)).isEmpty();
+        assertThat(searchGets("hit")).isEqualTo(2);
+        assertThat(searchGets("miss")).isEqualTo(4);
+    }
+
+    private double searchGets(String result) {
+        return registry.get("cache.gets").tag("cache", "items.search").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private static Item item(String name) {
+        return Item.builder()
+                .name(name)
+                .description("descr")
+                .available(true)
+                .ownerId(1)
+                .build();
+    }
+}
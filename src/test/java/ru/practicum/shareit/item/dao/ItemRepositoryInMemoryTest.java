@@ -1,7 +1,21 @@
 package ru.practicum.shareit.item.dao;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -73,6 +87,73 @@ class ItemRepositoryInMemoryTest {
         assertThat(itemRepository.findItemsByUser(1)).size().isEqualTo(2);
     }
 
+    @Test
+    public void checkFindItemsByUserByPages() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(itemRepository.create(Item.builder()
+                    .name("paged" + i)
+                    .description("descr")
+                    .available(true)
+                    .ownerId(3)
+                    .build()));
+        }
+        items.get(0).setName("renamed");
+        itemRepository.update(items.get(0));
+        itemRepository.deleteById(items.get(2).getId());
+
+        assertThat(itemRepository.findItemsByUser(3, new PageRequest(0, 2, 0)))
+                .containsExactly(items.get(0), items.get(1));
+        assertThat(itemRepository.findItemsByUser(3, new PageRequest(0, 2, items.get(2).getId())))
+                .containsExactly(items.get(3), items.get(4));
+        assertThat(itemRepository.findItemsByUser(3, new PageRequest(1, 2, items.get(0).getId())))
+                .containsExactly(items.get(3), items.get(4));
+        assertThat(itemRepository.findItemsByUser(3, new PageRequest(10, 2, 0))).isEmpty();
+    }
+
+    @Test
+    public void checkSearchItemsByPages() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            items.add(itemRepository.create(Item.builder()
+                    .name("пила " + i)
+                    .description("descr")
+                    .available(i != 1)
+                    .ownerId(4)
+                    .build()));
+        }
+
+        assertThat(itemRepository.findItemsByParams("пила", true, new PageRequest(0, 2, 0)))
+                .containsExactly(items.get(0), items.get(2));
+        assertThat(itemRepository.findItemsByParams("пила", true, new PageRequest(0, 2, items.get(2).getId())))
+                .containsExactly(items.get(3), items.get(4));
+        assertThat(itemRepository.findItemsByParams("ил", false, new PageRequest(3, 2, 0)))
+                .containsExactly(items.get(3), items.get(4));
+    }
+
+    @Test
+    public void checkMetrics() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ((ItemRepositoryInMemory) itemRepository).bindTo(registry);
+        for (int i = 0; i < 3; i++) {
+            itemRepository.create(Item.builder()
+                    .name("метрика")
+                    .description("descr")
+                    .available(true)
+                    .ownerId(i == 0 ? 1 : 2)
+                    .build());
+        }
+        itemRepository.findItemsByParams("метрика", true);
+        itemRepository.findItemsByParams("нет такой", true);
+
+        assertThat(registry.get("shareit.items.count").gauge().value()).isEqualTo(3);
+        assertThat(registry.get("shareit.items.owners").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("shareit.items.per.owner.max").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("shareit.items.search").timer().count()).isEqualTo(2);
+        assertThat(registry.get("shareit.items.search.results").summary().totalAmount()).isEqualTo(3);
+        assertThat(registry.get("shareit.items.search.results").summary().max()).isEqualTo(3);
+    }
+
     @Test
     public void checkSearchItems() {
         itemRepository.create(Item.builder()
@@ -93,4 +174,231 @@ class ItemRepositoryInMemoryTest {
 
         assertThat(itemRepository.findItemsByParams("", false)).size().isEqualTo(0);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkSearchItemsIgnoresCaseAndAvailability() {
+        Item drill = itemRepository.create(Item.builder()
+                .name("Дрель")
+                .description("Простая ДРЕЛЬ")
+                .available(true)
+                .ownerId(3)
+                .build());
+
+        Item hammer = itemRepository.create(Item.builder()
+                .name("Молоток")
+                .description("Для дрели не подходит")
+                .available(false)
+                .ownerId(3)
+                .build());
+
+        assertThat(itemRepository.findItemsByParams("дРЕл", false)).containsExactly(drill, hammer);
+        assertThat(itemRepository.findItemsByParams("дРЕл", true)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("ль", false)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("простая дрель", false)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("дрелька", false)).isEmpty();
+    }
+
+    @Test
+    public void checkSearchItemsAfterUpdateAndDelete() {
+        Item item = itemRepository.create(Item.builder()
+                .name("Отвертка")
+                .description("Крестовая")
+                .available(true)
+                .ownerId(4)
+                .build());
+
+        item.setName("Пила");
+        item.setDescription("Ножовка по дереву");
+        itemRepository.update(item);
+
+        assertThat(itemRepository.findItemsByParams("отвертка", false)).isEmpty();
+        assertThat(itemRepository.findItemsByParams("ножовка", false)).containsExactly(item);
+
+        itemRepository.deleteById(item.getId());
+
+        assertThat(itemRepository.findItemsByParams("ножовка", false)).isEmpty();
+    }
+
+    @Test
+    public void checkConcurrentCreateUpdateDelete() throws Exception {
+        final int threads = 8;
+        final int itemsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<Item>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int ownerId = 100 + t % 4;
+            futures.add(executor.submit(() -> {
+                List<Item> created = new ArrayList<>();
+                for (int i = 0; i < itemsPerThread; i++) {
+                    Item item = itemRepository.create(Item.builder()
+                            .name("concurrent")
+                            .description("item " + i)
+                            .available(true)
+                            .ownerId(ownerId)
+                            .build());
+                    if (i % 2 == 0) {
+                        item.setDescription("updated " + i);
+                        itemRepository.update(item);
+                    }
+                    if (i % 5 == 0) {
+                        itemRepository.deleteById(item.getId());
+                    } else {
+                        created.add(item);
+                    }
+                }
+                return created;
+            }));
+        }
+
+        List<Item> created = new ArrayList<>();
+        for (Future<List<Item>> future : futures) {
+            created.addAll(future.get());
+        }
+        executor.shutdown();
+
+        Set<Integer> ids = created.stream().map(Item::getId).collect(Collectors.toSet());
+        assertThat(ids).hasSize(threads * itemsPerThread * 4 / 5);
+        assertThat(created).allSatisfy(item -> assertThat(itemRepository.findItemById(item.getId())).contains(item));
+
+        int ownersTotal = 0;
+        for (int ownerId = 100; ownerId < 104; ownerId++) {
+            List<Item> ownerItems = itemRepository.findItemsByUser(ownerId);
+            assertThat(ownerItems).allMatch(item -> ids.contains(item.getId()));
+            ownersTotal += ownerItems.size();
+        }
+        assertThat(ownersTotal).isEqualTo(ids.size());
+
+        assertThat(itemRepository.findItemsByParams("concurrent", false))
+                .extracting(Item::getId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(itemRepository.findItemsByNamePrefix("concur", ids.size() + 1))
+                .extracting(Item::getId)
+                .containsExactlyInAnyOrderElementsOf(ids);
+        assertThat(itemRepository.findItemsByParams("updated", false))
+                .allMatch(item -> item.getDescription().startsWith("updated"));
+    }
+
+    @Test
+    public void checkCreateAllAndUpdateAll() {
+        Item single = itemRepository.create(Item.builder().name("single").description("descr").ownerId(1).build());
+        List<Item> batch = itemRepository.createAll(List.of(
+                Item.builder().name("first").description("descr").ownerId(2).build(),
+                Item.builder().name("second").description("descr").ownerId(1).build(),
+                Item.builder().name("third").description("descr").ownerId(2).build()));
+
+        assertThat(batch).extracting(Item::getId)
+                .containsExactly(single.getId() + 1, single.getId() + 2, single.getId() + 3);
+        assertThat(itemRepository.findItemsByUser(1)).containsExactly(single, batch.get(1));
+        assertThat(itemRepository.findItemsByUser(2)).containsExactly(batch.get(0), batch.get(2));
+
+        Item missing = Item.builder().id(Integer.MAX_VALUE).name("missing").description("descr").ownerId(1).build();
+        Item renamed = Item.builder().id(batch.get(1).getId()).name("renamed").description("descr").ownerId(1).build();
+        assertThat(itemRepository.updateAll(List.of(renamed, missing))).containsExactly(renamed);
+        assertThat(itemRepository.findItemsByUser(1)).containsExactly(single, renamed);
+        assertThat(itemRepository.findItemsByParams("renamed", false)).containsExactly(renamed);
+        assertThat(itemRepository.findItemsByParams("second", false)).isEmpty();
+    }
+
+    @Test
+    public void checkOwnerIndexKeepsOrderAndDropsEmptyOwners() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ((ItemRepositoryInMemory) itemRepository).bindTo(registry);
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            items.add(itemRepository.create(Item.builder()
+                    .name("owner index " + i)
+                    .description("descr")
+                    .available(true)
+                    .ownerId(4)
+                    .build()));
+        }
+        for (int i = items.size() - 1; i >= 0; i -= 2) {
+            itemRepository.update(items.get(i));
+            itemRepository.deleteById(items.get(i - 1).getId());
+        }
+
+        List<Item> expected = new ArrayList<>();
+        for (int i = 1; i < items.size(); i += 2) {
+            expected.add(items.get(i));
+        }
+        assertThat(itemRepository.findItemsByUser(4)).containsExactlyElementsOf(expected);
+        assertThat(registry.get("shareit.items.owners").gauge().value()).isEqualTo(1);
+
+        expected.forEach(item -> itemRepository.deleteById(item.getId()));
+        assertThat(itemRepository.findItemsByUser(4)).isEmpty();
+        assertThat(registry.get("shareit.items.owners").gauge().value()).isEqualTo(0);
+    }
+
+    @Test
+    public void checkUpdateIncrementsVersion() {
+        Item item = itemRepository.create(Item.builder().name("Дрель").description("Ударная").available(true).ownerId(1).build());
+        assertThat(itemRepository.findItemVersion(item.getId())).hasValue(1);
+
+        // сервис изменяет найденный объект, то есть тот же, что лежит в хранилище
+        Item stored = itemRepository.findItemById(item.getId()).orElseThrow();
+        stored.setName("Перфоратор");
+        itemRepository.update(stored);
+
+        assertThat(itemRepository.findItemVersion(item.getId())).hasValue(2);
+        assertThat(itemRepository.findItemsByNamePrefix("перф", 10)).extracting(Item::getId).containsExactly(item.getId());
+        assertThat(itemRepository.findItemsByNamePrefix("дрель", 10)).isEmpty();
+
+        itemRepository.deleteById(item.getId());
+        assertThat(itemRepository.findItemVersion(item.getId())).isEmpty();
+    }
+
+    @Test
+    public void checkStateRestoredFromJournalAfterRestart(@TempDir Path directory) throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        ItemRepositoryInMemory repository = new ItemRepositoryInMemory(properties);
+        Item kept = repository.create(Item.builder().name("Дрель").description("Ударная").available(true).ownerId(1).build());
+        Item deleted = repository.create(Item.builder().name("Пила").description("Ручная").available(true).ownerId(1).build());
+        repository.update(kept.toBuilder().description("Аккумуляторная").available(false).build());
+        repository.deleteById(deleted.getId());
+        repository.close();
+
+        ItemRepositoryInMemory restarted = new ItemRepositoryInMemory(properties);
+        Item created = restarted.create(Item.builder().name("Молоток").description("Слесарный").available(true).ownerId(1).build());
+        restarted.close();
+
+        assertThat(restarted.findItemById(kept.getId())).hasValueSatisfying(item -> assertThat(item)
+                .hasFieldOrPropertyWithValue("description", "Аккумуляторная")
+                .hasFieldOrPropertyWithValue("available", false)
+                .hasFieldOrPropertyWithValue("version", 2L));
+        assertThat(restarted.findItemById(deleted.getId())).isEmpty();
+        assertThat(created.getId()).isGreaterThan(deleted.getId());
+        assertThat(restarted.findItemsByUser(1, PageRequest.UNPAGED)).extracting(Item::getId)
+                .containsExactly(kept.getId(), created.getId());
+        assertThat(restarted.findItemsByParams("аккумулятор", false, PageRequest.UNPAGED)).hasSize(1);
+    }
+
+    @Test
+    public void checkSuggestItemsByNamePrefix() {
+        Item drill = itemRepository.create(Item.builder().name(" Дрель ударная").description("").available(true).build());
+        Item hammerDrill = itemRepository.create(Item.builder().name("Дрель-перфоратор").description("").available(true).build());
+        Item cordless = itemRepository.create(Item.builder().name("Дрель аккумуляторная").description("").available(false).build());
+        Item sameName = itemRepository.create(Item.builder().name("дрель-ПЕРФОРАТОР").description("").available(true).build());
+        itemRepository.create(Item.builder().name("Дрезина").description("").available(true).build());
+
+        assertThat(itemRepository.findItemsByNamePrefix("ДРЕЛЬ", 10))
+                .containsExactly(drill, hammerDrill, sameName);
+        assertThat(itemRepository.findItemsByNamePrefix("дрел", 2)).containsExactly(drill, hammerDrill);
+        assertThat(itemRepository.findItemsByNamePrefix("дрели", 10)).isEmpty();
+        assertThat(itemRepository.findItemsByNamePrefix(" ", 10)).isEmpty();
+
+        itemRepository.update(cordless.toBuilder().available(true).build());
+        itemRepository.update(hammerDrill.toBuilder().name("Перфоратор").build());
+        itemRepository.deleteById(sameName.getId());
+
+        assertThat(itemRepository.findItemsByNamePrefix("дрель", 10)).extracting(Item::getId)
+                .containsExactly(cordless.getId(), drill.getId());
+        assertThat(itemRepository.findItemsByNamePrefix("дрель-", 10)).isEmpty();
+        assertThat(itemRepository.findItemsByNamePrefix("пер", 10)).extracting(Item::getId)
+                .containsExactly(hammerDrill.getId());
+        assertThat(itemRepository.findItemsByNamePrefix("дре", 10)).extracting(Item::getName)
+                .containsExactly("Дрезина", "Дрель аккумуляторная", " Дрель ударная");
+    }
+}
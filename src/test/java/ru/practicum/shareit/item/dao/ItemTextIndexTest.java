@@ -0,0 +1,29 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemTextIndexTest {
+
+    @Test
+    public void checkSearchSameWithAndWithoutUtf8() {
+        for (boolean utf8 : new boolean[]{true, false}) {
+            ItemTextIndex index = new ItemTextIndex(utf8);
+            index.put(1, "Дрель", "Ударная ДРЕЛЬ-шуруповерт");
+            index.put(2, "Пила", "Двуручная пила");
+            index.put(3, "Drill", "Cordless drill");
+            index.put(2, "Пила", "Ножовка по дереву");
+
+            assertThat(index.search("дрель-шуруп", 0).toArray()).containsExactly(1);
+            assertThat(index.search("НОЖОВКА", 0).toArray()).containsExactly(2);
+            assertThat(index.search("двуручная", 0).toArray()).isEmpty();
+            assertThat(index.search("less dr", 0).toArray()).containsExactly(3);
+            assertThat(index.search("ер", 0).toArray()).containsExactly(1, 2);
+
+            index.remove(1);
+
+            assertThat(index.search("дрель", 0).toArray()).isEmpty();
+        }
+    }
+}
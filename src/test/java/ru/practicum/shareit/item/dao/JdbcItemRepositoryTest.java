@@ -0,0 +1,152 @@
+package ru.practicum.shareit.item.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dao.JdbcUserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"jdbc", "test"})
+@Import({JdbcItemRepository.class, JdbcUserRepository.class})
+class JdbcItemRepositoryTest {
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private JdbcUserRepository userRepository;
+    private int ownerId;
+
+    @BeforeEach
+    public void createOwner() {
+        ownerId = userRepository.create(User.builder()
+                .name("owner")
+                .email("owner@jdbc.test")
+                .build()).getId();
+    }
+
+    @Test
+    public void checkCreateUpdateDeleteItem() {
+        Item item = itemRepository.create(item("Дрель", "Простая дрель", true));
+        assertThat(item.getId()).isGreaterThan(0);
+        assertThat(itemRepository.findItemById(item.getId())).contains(item);
+
+        item.setName("Дрель ударная");
+        item.setAvailable(false);
+        itemRepository.update(item);
+        assertThat(itemRepository.findItemById(item.getId())).contains(item);
+        assertThat(itemRepository.findItemVersion(item.getId())).hasValue(2);
+
+        itemRepository.deleteById(item.getId());
+        assertThat(itemRepository.findItemById(item.getId())).isEmpty();
+        assertThat(itemRepository.findItemVersion(item.getId())).isEmpty();
+        assertThat(itemRepository.findItemsByParams("дрель", false)).isEmpty();
+    }
+
+    @Test
+    public void whenUpdateMissingItemThanExceptionThrown() {
+        Item item = item("Дрель", "Простая дрель", true);
+        item.setId(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> itemRepository.update(item)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void checkSearchItems() {
+        Item drill = itemRepository.create(item("Дрель", "Простая дрель", true));
+        Item hammer = itemRepository.create(item("Молоток", "Для дрели не подходит", false));
+        Item percent = itemRepository.create(item("Скидка", "Скидка 100% на аренду", true));
+
+        assertThat(itemRepository.findItemsByParams("дРЕл", false)).containsExactly(drill, hammer);
+        assertThat(itemRepository.findItemsByParams("дРЕл", true)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("ль", false)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("простая дрель", false)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByParams("дрелька", false)).isEmpty();
+        assertThat(itemRepository.findItemsByParams("0%", false)).containsExactly(percent);
+        assertThat(itemRepository.findItemsByParams("0_", false)).isEmpty();
+        assertThat(itemRepository.findItemsByParams(" ", false)).isEmpty();
+    }
+
+    @Test
+    public void checkSearchItemsAfterUpdate() {
+        Item item = itemRepository.create(item("Пила", "Двуручная пила", true));
+
+        item.setDescription("Ножовка по дереву");
+        itemRepository.update(item);
+
+        assertThat(itemRepository.findItemsByParams("двуручная", false)).isEmpty();
+        assertThat(itemRepository.findItemsByParams("ножовка", false)).containsExactly(item);
+        assertThat(itemRepository.findItemsByParams("пила", false)).containsExactly(item);
+    }
+
+    @Test
+    public void checkFindItemsByPages() {
+        Item[] items = new Item[5];
+        for (int i = 0; i < items.length; i++) {
+            items[i] = itemRepository.create(item("Лопата " + i, "descr", true));
+        }
+
+        assertThat(itemRepository.findItemsByUser(ownerId)).containsExactly(items);
+        assertThat(itemRepository.findItemsByUser(ownerId, new PageRequest(1, 2, items[1].getId())))
+                .containsExactly(items[3], items[4]);
+        assertThat(itemRepository.findItemsByParams("лопата", true, new PageRequest(0, 2, items[0].getId())))
+                .containsExactly(items[1], items[2]);
+        assertThat(itemRepository.findItemsByParams("лопата", true, new PageRequest(1, 2, items[0].getId())))
+                .containsExactly(items[2], items[3]);
+        assertThat(itemRepository.findItemsByParams("та", true, new PageRequest(3, 2, items[0].getId() - 1)))
+                .containsExactly(items[3], items[4]);
+        assertThat(itemRepository.findItemsByUser(ownerId + 1)).isEmpty();
+    }
+
+    private Item item(String name, String description, boolean available) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .ownerId(ownerId)
+                .build();
+    }
+
+    @Test
+    public void checkCreateAllAndUpdateAll() {
+        List<Item> items = itemRepository.createAll(List.of(
+                item("Рубанок", "Ручной рубанок", true),
+                item("Стамеска", "Набор стамесок", true)));
+        assertThat(items.get(1).getId()).isEqualTo(items.get(0).getId() + 1);
+        assertThat(itemRepository.findItemsByUser(ownerId)).containsExactlyElementsOf(items);
+
+        Item missing = item("Пила", "Двуручная пила", true);
+        missing.setId(Integer.MAX_VALUE);
+        items.get(0).setDescription("Электрический рубанок");
+        assertThat(itemRepository.updateAll(List.of(items.get(0), missing))).containsExactly(items.get(0));
+        assertThat(itemRepository.findItemsByParams("ручной", false)).isEmpty();
+        assertThat(itemRepository.findItemsByParams("электрический", false)).containsExactly(items.get(0));
+        assertThat(itemRepository.findItemsByParams("стамес", false)).containsExactly(items.get(1));
+    }
+
+    @Test
+    public void checkSuggestItemsByNamePrefix() {
+        Item drill = itemRepository.create(item(" Дрель ударная", "Дрель", true));
+        Item hammerDrill = itemRepository.create(item("Дрель-перфоратор", "Перфоратор", true));
+        itemRepository.create(item("Дрель аккумуляторная", "Недоступна", false));
+        Item percent = itemRepository.create(item("100% дрель", "Скидка", true));
+
+        assertThat(itemRepository.findItemsByNamePrefix("ДРЕЛЬ", 10)).containsExactly(drill, hammerDrill);
+        assertThat(itemRepository.findItemsByNamePrefix("дрель", 1)).containsExactly(drill);
+        assertThat(itemRepository.findItemsByNamePrefix("100%", 10)).containsExactly(percent);
+        assertThat(itemRepository.findItemsByNamePrefix("1_0", 10)).isEmpty();
+        assertThat(itemRepository.findItemsByNamePrefix(" ", 10)).isEmpty();
+    }
+}
@@ -0,0 +1,156 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardedItemRepositoryTest {
+    private final ShardedItemRepository itemRepository = new ShardedItemRepository(properties(4));
+
+    @AfterEach
+    public void tearDown() {
+        itemRepository.close();
+    }
+
+    @Test
+    public void checkCreateUpdateAndDeleteItem() {
+        Item item = itemRepository.create(item("Дрель", "Ударная дрель", 3));
+
+        itemRepository.update(item.toBuilder().description("Аккумуляторная").available(false).build());
+
+        assertThat(itemRepository.findItemById(item.getId())).hasValueSatisfying(found -> assertThat(found)
+                .hasFieldOrPropertyWithValue("description", "Аккумуляторная")
+                .hasFieldOrPropertyWithValue("available", false)
+                .hasFieldOrPropertyWithValue("ownerId", 3)
+                .hasFieldOrPropertyWithValue("version", 2L));
+        assertThat(itemRepository.findItemVersion(item.getId())).hasValue(2);
+
+        itemRepository.deleteById(item.getId());
+
+        assertThat(itemRepository.findItemById(item.getId())).isEmpty();
+        assertThat(itemRepository.findItemsByUser(3)).isEmpty();
+    }
+
+    @Test
+    public void whenJournalEnabledThanExceptionThrown() {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setEnabled(true);
+
+        assertThatThrownBy(() -> new ShardedItemRepository(properties(4), journalProperties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("sharded");
+    }
+
+    @Test
+    public void whenUpdateMissingItemThanExceptionThrown() {
+        assertThatThrownBy(() -> itemRepository.update(item("Дрель", "Ударная", 1).toBuilder().id(42).build()))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void checkCreateAllKeepsIdOrderAcrossShards() {
+        List<Item> items = itemRepository.createAll(List.of(
+                item("Дрель", "Ударная", 1),
+                item("Отвертка", "Крестовая", 2),
+                item("Пила", "Ручная", 3)));
+
+        assertThat(items).extracting(Item::getId).containsExactly(1, 2, 3);
+        assertThat(itemRepository.create(item("Молоток", "Тяжелый", 4)).getId()).isEqualTo(4);
+        assertThat(itemRepository.findItemsByIds(List.of(4, 2, 2, 42))).extracting(Item::getId).containsExactly(2, 4);
+        assertThat(itemRepository.findAllItems(new PageRequest(1, 2, 1))).extracting(Item::getId).containsExactly(3, 4);
+    }
+
+    @Test
+    public void checkSearchMergedAcrossShards() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add(itemRepository.create(item("Дрель " + i, i % 3 == 0 ? "Ударная" : "Ручная", i % 7 + 1)
+                    .toBuilder().available(i % 5 != 0).build()));
+        }
+        List<Integer> available = items.stream().filter(Item::isAvailable).map(Item::getId).toList();
+
+        assertThat(itemRepository.findItemsByParams("ДРЕЛЬ", true)).extracting(Item::getId)
+                .containsExactlyElementsOf(available);
+        assertThat(itemRepository.findItemsByParams("дрель", true, new PageRequest(2, 3, 0))).extracting(Item::getId)
+                .containsExactlyElementsOf(available.subList(2, 5));
+        assertThat(itemRepository.findItemsByParams("дрель", false, new PageRequest(0, 2, items.get(10).getId())))
+                .extracting(Item::getId)
+                .containsExactly(items.get(11).getId(), items.get(12).getId());
+        assertThat(itemRepository.findItemsByParams("ударная", false)).hasSize(7);
+        assertThat(itemRepository.findItemsByParams(" ", false)).isEmpty();
+    }
+
+    @Test
+    public void checkFindItemsByUserAndNamePrefix() {
+        Item saw = itemRepository.create(item("Дрезина", "Ручная", 2));
+        Item drill = itemRepository.create(item("Дрель", "Ударная", 1));
+        Item secondDrill = itemRepository.create(item("дрель", "Ручная", 1));
+        itemRepository.create(item("Пила", "Ручная", 1));
+
+        assertThat(itemRepository.findItemsByUser(1, new PageRequest(0, 1, drill.getId()))).extracting(Item::getId)
+                .containsExactly(secondDrill.getId());
+        assertThat(itemRepository.findItemsByNamePrefix("ДРЕ", 10)).extracting(Item::getId)
+                .containsExactly(saw.getId(), drill.getId(), secondDrill.getId());
+        assertThat(itemRepository.findItemsByNamePrefix("дре", 2)).extracting(Item::getId)
+                .containsExactly(saw.getId(), drill.getId());
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        itemRepository.bindTo(registry);
+        assertThat(registry.get("shareit.items.count").gauge().value()).isEqualTo(4);
+        assertThat(registry.get("shareit.items.owners").gauge().value()).isEqualTo(2);
+        assertThat(registry.get("shareit.items.per.owner.max").gauge().value()).isEqualTo(3);
+    }
+
+    @Test
+    public void checkConcurrentWritesOfDifferentOwners() throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int owner = 1; owner <= 4; owner++) {
+                int ownerId = owner;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 250; i++) {
+                        Item item = itemRepository.create(item("Вещь " + i, "Описание", ownerId));
+                        itemRepository.update(item.toBuilder().description("Описание " + ownerId).build());
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        }
+
+        assertThat(itemRepository.findItemsByParams("описание", true)).hasSize(1000)
+                .isSortedAccordingTo((left, right) -> Integer.compare(left.getId(), right.getId()));
+        assertThat(itemRepository.findItemsByUser(2)).hasSize(250)
+                .allSatisfy(item -> assertThat(item.getDescription()).isEqualTo("Описание 2"));
+    }
+
+    private static Item item(String name, String description, int ownerId) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .ownerId(ownerId)
+                .build();
+    }
+
+    private static ItemStorageProperties properties(int shards) {
+        ItemStorageProperties properties = new ItemStorageProperties();
+        properties.setStorage(ItemStorageProperties.Storage.SHARDED);
+        properties.setShards(shards);
+        return properties;
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.item.dao;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SlabItemRepositoryTest {
+    private final SlabItemRepository itemRepository = new SlabItemRepository(properties(DataSize.ofKilobytes(4)));
+
+    @Test
+    public void checkCreateUpdateAndDeleteItem() {
+        Item item = itemRepository.create(item("Дрель", "Ударная дрель", 1));
+
+        itemRepository.update(item.toBuilder().description("Аккумуляторная").available(false).build());
+
+        assertThat(itemRepository.findItemById(item.getId())).hasValueSatisfying(found -> assertThat(found)
+                .hasFieldOrPropertyWithValue("name", "Дрель")
+                .hasFieldOrPropertyWithValue("description", "Аккумуляторная")
+                .hasFieldOrPropertyWithValue("available", false)
+                .hasFieldOrPropertyWithValue("ownerId", 1)
+                .hasFieldOrPropertyWithValue("version", 2L));
+        assertThat(itemRepository.findItemVersion(item.getId())).hasValue(2);
+
+        itemRepository.deleteById(item.getId());
+
+        assertThat(itemRepository.findItemById(item.getId())).isEmpty();
+        assertThat(itemRepository.findItemsByUser(1)).isEmpty();
+    }
+
+    @Test
+    public void whenUpdateMissingItemThanExceptionThrown() {
+        assertThatThrownBy(() -> itemRepository.update(item("Дрель", "Ударная", 1).toBuilder().id(42).build()))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void checkFindItemsByUserAndText() {
+        List<Item> items = itemRepository.createAll(List.of(
+                item("Дрель", "Ударная", 1),
+                item("Отвертка", "Крестовая", 2),
+                item("Дрель-шуруповерт", "Аккумуляторная", 1),
+                item("Пила", "ДРЕЛЬ не нужна", 1).toBuilder().available(false).build()));
+
+        assertThat(itemRepository.findItemsByUser(1, new PageRequest(1, 1, 0))).extracting(Item::getId)
+                .containsExactly(items.get(2).getId());
+        assertThat(itemRepository.findItemsByParams("дрель", false)).extracting(Item::getId)
+                .containsExactly(items.get(0).getId(), items.get(2).getId(), items.get(3).getId());
+        assertThat(itemRepository.findItemsByParams("дрель", true, new PageRequest(0, 10, items.get(0).getId())))
+                .extracting(Item::getId)
+                .containsExactly(items.get(2).getId());
+        assertThat(itemRepository.findItemsByParams(" ", false)).isEmpty();
+    }
+
+    @Test
+    public void checkSearchMatchesHeapStorage() {
+        ItemRepository heapRepository = new ItemRepositoryInMemory();
+        List<Item> items = List.of(
+                item("Дрель", "Ударная", 1),
+                item("İnce matkap", "Сверло", 2),
+                item("Дрель-шуруповерт", "Аккумуляторная", 1),
+                item("Пила", "ДРЕЛЬ не нужна", 1),
+                item("Stanley", "Молоток", 2));
+        for (Item item : items) {
+            itemRepository.create(item.toBuilder().build());
+            heapRepository.create(item.toBuilder().build());
+        }
+        Item updated = items.get(3).toBuilder().id(4).description("Ножовка").build();
+        itemRepository.update(updated.toBuilder().build());
+        heapRepository.update(updated.toBuilder().build());
+        itemRepository.deleteById(1);
+        heapRepository.deleteById(1);
+
+        for (String text : List.of("дрель", "ДРЕ", "р", "i̇nce", "İnce", "ножов", "ДРЕЛЬ не", "stan", "пила")) {
+            assertThat(itemRepository.findItemsByParams(text, false)).as(text)
+                    .containsExactlyElementsOf(heapRepository.findItemsByParams(text, false));
+        }
+        assertThat(itemRepository.findItemsByParams("i̇nce", false)).extracting(Item::getId).containsExactly(2);
+        assertThat(itemRepository.findItemsByParams("ДРЕЛЬ не", false)).isEmpty();
+    }
+
+    @Test
+    public void checkUpdatedItemsCompactedIntoFreedSegments() {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(itemRepository.create(item("Вещь " + i, "Описание " + i, i % 10 + 1)));
+        }
+        for (int round = 0; round < 50; round++) {
+            for (Item item : items) {
+                itemRepository.update(item.toBuilder().description("Описание " + item.getId() + " версия " + round).build());
+            }
+        }
+
+        for (Item item : items) {
+            assertThat(itemRepository.findItemById(item.getId()).map(Item::getDescription))
+                    .hasValue("Описание " + item.getId() + " версия 49");
+        }
+        // без переноса записей понадобилось бы около 50 * 200 * 60 байт, то есть ~150 сегментов по 4 КБ
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        itemRepository.bindTo(registry);
+        assertThat(registry.get("shareit.items.slab.allocated").gauge().value()).isLessThan(20 * 4096);
+        assertThat(itemRepository.findItemsByUser(1)).hasSize(20);
+        assertThat(itemRepository.findItemsByParams("версия 49", true)).hasSize(200);
+    }
+
+    @Test
+    public void checkReadsConsistentWhileItemsMoved() throws Exception {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(itemRepository.create(item("Вещь " + i, "Описание", 1)));
+        }
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        try (ExecutorService executor = Executors.newFixedThreadPool(3)) {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        for (Item item : items) {
+                            Item found = itemRepository.findItemById(item.getId()).orElseThrow();
+                            assertThat(found.getName()).isEqualTo(item.getName());
+                            assertThat(found.getDescription()).startsWith("Описание");
+                        }
+                    }
+                }));
+            }
+            for (int round = 0; round < 500; round++) {
+                for (Item item : items) {
+                    itemRepository.update(item.toBuilder().description("Описание " + round).build());
+                }
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get();
+            }
+        }
+    }
+
+    private static Item item(String name, String description, int ownerId) {
+        return Item.builder()
+                .name(name)
+                .description(description)
+                .available(true)
+                .ownerId(ownerId)
+                .build();
+    }
+
+    @Test
+    public void whenJournalEnabledThanExceptionThrown() {
+        JournalProperties journalProperties = new JournalProperties();
+        journalProperties.setEnabled(true);
+
+        assertThatThrownBy(() -> new SlabItemRepository(properties(DataSize.ofKilobytes(4)), journalProperties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("slab");
+    }
+
+    private static ItemStorageProperties properties(DataSize segmentSize) {
+        ItemStorageProperties properties = new ItemStorageProperties();
+        properties.setStorage(ItemStorageProperties.Storage.SLAB);
+        properties.setSlabSegmentSize(segmentSize);
+        return properties;
+    }
+
+    @Test
+    public void checkSuggestItemsByNamePrefix() {
+        Item drill = itemRepository.create(item("Дрель", "Ударная", 1));
+        Item saw = itemRepository.create(item("Дрезина", "Ручная", 1));
+
+        itemRepository.update(saw.toBuilder().available(false).build());
+
+        assertThat(itemRepository.findItemsByNamePrefix("ДРЕ", 10)).extracting(Item::getId)
+                .containsExactly(drill.getId());
+    }
+}
@@ -1,16 +1,23 @@
 package ru.practicum.shareit.item.service;
 
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepository;
 import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.Page;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepositoryInMemory;
 import ru.practicum.shareit.user.dao.UserRepository;
 import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,7 +27,8 @@ class ItemServiceImplTest {
     private final UserRepository userRepository = new UserRepositoryInMemory();
     private final ItemRepository itemRepository = new ItemRepositoryInMemory();
     private final UserService userService = new UserServiceImpl(userRepository, itemRepository);
-    private final ItemService itemService = new ItemServiceImpl(itemRepository, userRepository);
+    private final ItemService itemService = new ItemServiceImpl(itemRepository, userRepository,
+            new ItemRequestRepositoryInMemory());
     private final UserDto user1 = userService.create(UserDto.builder()
                                                         .name("user1")
                                                         .email("user1@mail.mail")
@@ -61,6 +69,25 @@ class ItemServiceImplTest {
                 .hasFieldOrPropertyWithValue("description", "new descr");
     }
 
+    @Test
+    public void checkExportItems() {
+        ItemDto item = ItemDto.builder()
+                .name("test")
+                .description("descr")
+                .available(true)
+                .build();
+        List<BatchResult<ItemDto>> created = itemService.createOrUpdateAll(user1.getId(),
+                Collections.nCopies(ItemServiceImpl.EXPORT_BATCH_SIZE, item));
+        itemService.create(user2.getId(), item);
+        int deletedId = created.get(1).getResult().getId();
+        itemService.deleteItemById(deletedId);
+
+        assertThat(itemService.exportItems().map(ItemDto::getId).toList())
+                .hasSize(ItemServiceImpl.EXPORT_BATCH_SIZE)
+                .isSorted()
+                .doesNotContain(deletedId);
+    }
+
     @Test
     public void checkDeleteItem() {
         ItemDto item = itemService.create(user1.getId(), ItemDto.builder()
@@ -90,7 +117,7 @@ class ItemServiceImplTest {
                 .available(true)
                 .build());
 
-        assertThat(itemService.findUserItems(user2.getId())).size().isEqualTo(2);
+        assertThat(itemService.findUserItems(user2.getId(), PageRequest.UNPAGED).getContent()).size().isEqualTo(2);
     }
 
     @Test
@@ -107,7 +134,39 @@ class ItemServiceImplTest {
                 .available(true)
                 .build());
 
-        assertThat(itemService.searchItems("search", true)).size().isEqualTo(2);
+        assertThat(itemService.searchItems("search", true, PageRequest.UNPAGED).getContent()).size().isEqualTo(2);
+    }
+
+    @Test
+    public void checkSearchItemsByPages() {
+        for (int i = 0; i < 5; i++) {
+            itemService.create(user2.getId(), ItemDto.builder()
+                    .name("paged" + i)
+                    .description("descr")
+                    .available(true)
+                    .build());
+        }
+
+        Page<ItemDto> first = itemService.searchItems("paged", true, PageRequest.of(null, 2, null));
+        assertThat(first.getContent()).extracting(ItemDto::getName).containsExactly("paged0", "paged1");
+        assertThat(first.getNextCursor()).isNotNull();
+
+        Page<ItemDto> second = itemService.searchItems("paged", true, PageRequest.of(null, 2, first.getNextCursor()));
+        assertThat(second.getContent()).extracting(ItemDto::getName).containsExactly("paged2", "paged3");
+
+        Page<ItemDto> last = itemService.searchItems("paged", true, PageRequest.of(null, 2, second.getNextCursor()));
+        assertThat(last.getContent()).extracting(ItemDto::getName).containsExactly("paged4");
+        assertThat(last.getNextCursor()).isNull();
+
+        assertThat(itemService.searchItems("paged", true, PageRequest.of(3, 10, null)).getContent())
+                .extracting(ItemDto::getName).containsExactly("paged3", "paged4");
+    }
+
+    @Test
+    public void whenPageParamsInvalidThanExceptionThrown() {
+        assertThatThrownBy(() -> PageRequest.of(-1, 10, null)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> PageRequest.of(0, 0, null)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> PageRequest.of(0, 10, "not a cursor")).isInstanceOf(ValidationException.class);
     }
 
     @Test
@@ -148,4 +207,89 @@ class ItemServiceImplTest {
 
         assertThatThrownBy(() -> itemService.update(user2.getId(), item.getId(), itemUpdate)).isInstanceOf(ValidationException.class);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkCreateOrUpdateAll() {
+        ItemDto own = itemService.create(user1.getId(), ItemDto.builder()
+                .name("own")
+                .description("descr")
+                .available(true)
+                .build());
+        ItemDto foreign = itemService.create(user2.getId(), ItemDto.builder()
+                .name("foreign")
+                .description("descr")
+                .available(true)
+                .build());
+
+        List<BatchResult<ItemDto>> results = itemService.createOrUpdateAll(user1.getId(), List.of(
+                ItemDto.builder().name("batch1").description("descr").available(true).build(),
+                ItemDto.builder().id(own.getId()).description("batch descr").build(),
+                ItemDto.builder().name("no description").available(true).build(),
+                ItemDto.builder().id(foreign.getId()).name("stolen").build(),
+                ItemDto.builder().id(Integer.MAX_VALUE).name("missing").build(),
+                ItemDto.builder().id(own.getId()).name("twice").build(),
+                ItemDto.builder().name("batch2").description("descr").available(false).build()));
+
+        assertThat(results).extracting(BatchResult::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(201, 200, 400, 400, 404, 400, 201);
+        assertThat(results.get(6).getResult().getId()).isEqualTo(results.get(0).getResult().getId() + 1);
+        assertThat(results.get(1).getResult()).hasFieldOrPropertyWithValue("description", "batch descr");
+        assertThat(results.get(2).getError()).isNotBlank();
+        assertThat(itemService.findItemById(foreign.getId())).hasFieldOrPropertyWithValue("name", "foreign");
+        assertThat(itemService.findUserItems(user1.getId(), PageRequest.UNPAGED).getContent())
+                .extracting(ItemDto::getName).containsExactly("own", "batch1", "batch2");
+        assertThat(itemService.searchItems("batch", false, PageRequest.UNPAGED).getContent())
+                .extracting(ItemDto::getName).containsExactly("own", "batch1", "batch2");
+    }
+
+    @Test
+    public void whenBatchForMissingUserOrTooLargeThanExceptionThrown() {
+        List<ItemDto> batch = List.of(ItemDto.builder().name("name").description("descr").available(true).build());
+        assertThatThrownBy(() -> itemService.createOrUpdateAll(Integer.MAX_VALUE, batch))
+                .isInstanceOf(NoSuchElementException.class);
+
+        List<ItemDto> tooLarge = Collections.nCopies(BatchResult.MAX_BATCH_SIZE + 1, batch.getFirst());
+        assertThatThrownBy(() -> itemService.createOrUpdateAll(user1.getId(), tooLarge))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    public void whenUpdateFailsThanStoredItemNotModified() {
+        ItemRepository failingRepository = new ItemRepositoryInMemory() {
+            @Override
+            public Item update(Item item) {
+                throw new IllegalStateException("Журнал недоступен");
+            }
+
+            @Override
+            public List<Item> updateAll(List<Item> items) {
+                throw new IllegalStateException("Журнал недоступен");
+            }
+        };
+        ItemService service = new ItemServiceImpl(failingRepository, userRepository, new ItemRequestRepositoryInMemory());
+        ItemDto created = service.create(user1.getId(), ItemDto.builder().name("test").description("descr").available(true).build());
+        Item stored = failingRepository.findItemById(created.getId()).orElseThrow();
+        ItemDto patch = ItemDto.builder().id(created.getId()).name("new").description("new descr").available(false).build();
+
+        assertThatThrownBy(() -> service.update(user1.getId(), created.getId(), patch))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> service.createOrUpdateAll(user1.getId(), List.of(patch)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(failingRepository.findItemById(created.getId())).containsSame(stored);
+        assertThat(stored)
+                .hasFieldOrPropertyWithValue("name", "test")
+                .hasFieldOrPropertyWithValue("description", "descr")
+                .hasFieldOrPropertyWithValue("available", true)
+                .hasFieldOrPropertyWithValue("version", 1L);
+    }
+
+    @Test
+    public void checkSuggestItems() {
+        itemService.create(user1.getId(), ItemDto.builder().name("Дрель").description("Ударная").available(true).build());
+
+        assertThat(itemService.suggestItems("др", 10)).extracting(ItemDto::getName).containsExactly("Дрель");
+        assertThatThrownBy(() -> itemService.suggestItems("др", 0)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.suggestItems("др", ItemServiceImpl.MAX_SUGGESTIONS + 1))
+                .isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package ru.practicum.shareit.journal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JournalTest {
+    @TempDir
+    private Path directory;
+
+    private final List<Integer> state = new ArrayList<>();
+
+    @Test
+    public void checkRecordsReplayedAfterReopen() throws IOException {
+        try (Journal journal = open(properties())) {
+            for (int i = 1; i <= 1000; i++) {
+                journal.awaitDurable(journal.append(record(i)));
+            }
+        }
+
+        List<Integer> replayed = replay(properties());
+
+        assertThat(replayed).hasSize(1000).startsWith(1, 2, 3).endsWith(999, 1000);
+    }
+
+    @Test
+    public void checkTornTailDroppedAndOverwritten() throws IOException {
+        try (Journal journal = open(properties())) {
+            journal.append(record(1));
+            journal.append(record(2));
+        }
+        // портим контрольную сумму второй записи, как будто процесс упал посреди ее записи
+        try (FileChannel file = FileChannel.open(directory.resolve("test-0.journal"), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, 42), 12 + Integer.BYTES);
+        }
+
+        try (Journal journal = open(properties())) {
+            assertThat(state).containsExactly(1);
+            journal.append(record(3));
+        }
+
+        assertThat(replay(properties())).containsExactly(1, 3);
+    }
+
+    @Test
+    public void checkSnapshotReplacesOldGenerations() throws IOException {
+        JournalProperties properties = properties();
+        properties.setSnapshotEvery(0);
+        try (Journal journal = Journal.open("test", properties, record -> state.add(record.getInt()),
+                out -> List.of(10, 20).forEach(value -> out.accept(record(value))))) {
+            journal.append(record(1));
+            journal.snapshot();
+            journal.append(record(2));
+        }
+
+        assertThat(journalFiles()).containsExactly("test-1.journal");
+        assertThat(replay(properties)).containsExactly(10, 20, 2);
+    }
+
+    @Test
+    public void checkSnapshotTakenAfterConfiguredNumberOfRecords() throws IOException {
+        JournalProperties properties = properties();
+        properties.setSnapshotEvery(100);
+        properties.setRegionSize(DataSize.ofKilobytes(1));
+        List<Integer> written = new CopyOnWriteArrayList<>();
+        try (Journal journal = Journal.open("test", properties, record -> { },
+                out -> written.forEach(value -> out.accept(record(value))))) {
+            for (int i = 1; i <= 250; i++) {
+                written.add(i);
+                journal.append(record(i));
+            }
+        }
+
+        assertThat(Files.exists(directory.resolve("test.snapshot"))).isTrue();
+        assertThat(journalFiles()).doesNotContain("test-0.journal");
+        // снимок мог захватить записи, дописанные после переключения поколения, поэтому они могут повториться
+        List<Integer> replayed = replay(properties);
+        assertThat(replayed).endsWith(250);
+        assertThat(Set.copyOf(replayed)).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, 250).boxed().toList());
+    }
+
+    private Journal open(JournalProperties properties) {
+        return Journal.open("test", properties, record -> state.add(record.getInt()), out -> { });
+    }
+
+    private List<Integer> replay(JournalProperties properties) throws IOException {
+        List<Integer> replayed = new ArrayList<>();
+        Journal.open("test", properties, record -> replayed.add(record.getInt()), out -> { }).close();
+        return replayed;
+    }
+
+    private List<String> journalFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString())
+                    .filter(file -> file.endsWith(".journal"))
+                    .toList();
+        }
+    }
+
+    private JournalProperties properties() {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        properties.setRegionSize(DataSize.ofKilobytes(4));
+        return properties;
+    }
+
+    private static byte[] record(int value) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.etag.ETags;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.pagination.Page;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonResponseCacheTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonResponseCache jsonCache = new JsonResponseCache(objectMapper, new CacheProperties());
+
+    @Test
+    public void checkEntityServedFromCacheByVersion() throws Exception {
+        ItemDto item = item(1, "Дрель", 1);
+
+        ResponseEntity<byte[]> first = jsonCache.entity(null, ItemDto.class, 1, () -> 1, () -> item, ItemDto::getVersion);
+        ResponseEntity<byte[]> cached = jsonCache.entity(null, ItemDto.class, 1, () -> 1, () -> {
+            throw new AssertionError("Сущность не должна читаться при наличии JSON ее версии");
+        }, ItemDto::getVersion);
+
+        assertThat(first.getBody()).isEqualTo(objectMapper.writeValueAsBytes(item));
+        assertThat(cached.getBody()).isSameAs(first.getBody());
+        assertThat(cached.getHeaders().getETag()).isEqualTo(ETags.of(1));
+
+        ResponseEntity<byte[]> updated = jsonCache.entity(null, ItemDto.class, 1, () -> 2,
+                () -> item(1, "Перфоратор", 2), ItemDto::getVersion);
+        assertThat(objectMapper.readValue(updated.getBody(), Map.class)).containsEntry("name", "Перфоратор");
+        assertThat(updated.getHeaders().getETag()).isEqualTo(ETags.of(2));
+
+        ResponseEntity<byte[]> notModified = jsonCache.entity("W/" + ETags.of(2), ItemDto.class, 1, () -> 2, () -> {
+            throw new AssertionError("Сущность не должна читаться при совпадении версии");
+        }, ItemDto::getVersion);
+        assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        // ETag с той же версией, выданный до перезапуска, не подходит
+        assertThat(jsonCache.entity("\"2\"", ItemDto.class, 1, () -> 2, () -> item(1, "Перфоратор", 2),
+                ItemDto::getVersion).getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    public void checkPageConcatenatesCachedElements() throws Exception {
+        List<ItemDto> items = List.of(item(1, "Дрель", 1), item(2, "Пила \"Дружба\"", 3));
+
+        ResponseEntity<byte[]> response = jsonCache.page(new Page<>(items, "next"), ItemDto.class,
+                ItemDto::getId, ItemDto::getVersion);
+
+        assertThat(response.getBody()).isEqualTo(objectMapper.writeValueAsBytes(items));
+        assertThat(response.getHeaders().getFirst(Page.NEXT_CURSOR_HEADER)).isEqualTo("next");
+        assertThat(jsonCache.toJsonArray(List.of(), ItemDto.class, ItemDto::getId, ItemDto::getVersion))
+                .isEqualTo("[]".getBytes());
+    }
+
+    private static ItemDto item(int id, String name, long version) {
+        return ItemDto.builder()
+                .id(id)
+                .name(name)
+                .description("Описание")
+                .available(true)
+                .version(version)
+                .build();
+    }
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageTest {
+    private final List<Integer> ids = IntStream.rangeClosed(1, 25).filter(id -> id % 5 != 0).boxed().toList();
+    private final List<PageRequest> requests = new ArrayList<>();
+
+    @Test
+    public void checkStreamAllReadsPagesLazily() {
+        Iterator<Integer> iterator = Page.streamAll(this::page, Integer::intValue, 10).iterator();
+
+        assertThat(requests).isEmpty();
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(requests).containsExactly(new PageRequest(0, 10, 0));
+
+        List<Integer> all = new ArrayList<>(List.of(1));
+        iterator.forEachRemaining(all::add);
+        assertThat(all).isEqualTo(ids);
+        assertThat(requests).extracting(PageRequest::getAfterId).containsExactly(0, 12, 24);
+    }
+
+    @Test
+    public void checkStreamAllStopsOnShortPage() {
+        assertThat(Page.streamAll(this::page, Integer::intValue, 30).toList()).isEqualTo(ids);
+        assertThat(requests).hasSize(1);
+    }
+
+    private List<Integer> page(PageRequest page) {
+        requests.add(page);
+        return ids.stream()
+                .filter(id -> id > page.getAfterId())
+                .limit(page.getSize())
+                .toList();
+    }
+}
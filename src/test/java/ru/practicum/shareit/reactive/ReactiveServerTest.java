@@ -0,0 +1,75 @@
+package ru.practicum.shareit.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"shareit.reactive.enabled=true", "shareit.reactive.port=0"})
+class ReactiveServerTest {
+    @Autowired
+    private ReactiveServer server;
+    @Autowired
+    private ItemService itemService;
+    private WebTestClient client;
+
+    @BeforeEach
+    public void createClient() {
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + server.port()).build();
+    }
+
+    @Test
+    public void checkItemsSharedWithMvcStack() {
+        UserDto owner = client.post().uri("/users")
+                .bodyValue(Map.of("name", "owner", "email", "owner@reactive.test"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(UserDto.class).returnResult().getResponseBody();
+        for (int i = 0; i < 5; i++) {
+            client.post().uri("/items")
+                    .header(ServerRequests.USER_ID_HEADER, String.valueOf(owner.getId()))
+                    .bodyValue(Map.of("name", "Дрель " + i, "description", "Ударная", "available", true))
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        assertThat(itemService.findUserItems(owner.getId(), PageRequest.UNPAGED)
+                .getContent()).hasSize(5);
+        client.get().uri("/items?from=1&size=2")
+                .header(ServerRequests.USER_ID_HEADER, String.valueOf(owner.getId()))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(ItemDto.class).hasSize(2)
+                .value(items -> assertThat(items).extracting(ItemDto::getName).containsExactly("Дрель 1", "Дрель 2"));
+        client.get().uri("/items/search?text=дрель")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ItemDto.class).hasSize(5);
+    }
+
+    @Test
+    public void checkErrorsMappedToStatuses() {
+        client.get().uri("/items/{itemId}", Integer.MAX_VALUE).exchange()
+                .expectStatus().isNotFound()
+                .expectBody().jsonPath("$.error").isEqualTo("Не найдена вещь с id=" + Integer.MAX_VALUE);
+        client.get().uri("/items").exchange()
+                .expectStatus().isEqualTo(HttpStatus.BAD_REQUEST);
+        client.post().uri("/users")
+                .bodyValue(Map.of("name", "user", "email", "not an email"))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+}
@@ -0,0 +1,89 @@
+package ru.practicum.shareit.request.dao;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ItemRequestRepositoryInMemoryTest {
+    private final ItemRequestRepository requestRepository = new ItemRequestRepositoryInMemory();
+
+    @Test
+    public void checkFindRequestsNewestFirst() {
+        ItemRequest first = requestRepository.create(request("Нужна дрель", 1));
+        ItemRequest second = requestRepository.create(request("Нужна пила", 2));
+        ItemRequest third = requestRepository.create(request("Нужна стремянка", 1));
+
+        assertThat(requestRepository.findRequestById(second.getId())).contains(second);
+        assertThat(requestRepository.findRequestsByRequestor(1)).containsExactly(third, first);
+        assertThat(requestRepository.findOtherRequests(2, PageRequest.UNPAGED)).containsExactly(third, first);
+        assertThat(requestRepository.findOtherRequests(3, new PageRequest(1, 1, 0))).containsExactly(second);
+    }
+
+    @Test
+    public void checkFindRequestIdsByKeywords() {
+        ItemRequest drill = requestRepository.create(request("Ищу ДРЕЛЬ на выходные", 1));
+        ItemRequest saw = requestRepository.create(request("Пила или дрель", 2));
+        requestRepository.create(request("Дрель нужна", 3));
+
+        assertThat(requestRepository.findRequestIdsByKeywords(Set.of("дрель", "пила"), 3))
+                .containsExactly(drill.getId(), saw.getId());
+        assertThat(requestRepository.findRequestIdsByKeywords(Set.of("стремянка"), 3)).isEmpty();
+        assertThat(ItemRequestRepository.keywords("Дрель-шуруповерт, 18 В")).containsExactlyInAnyOrder("дрель", "шуруповерт");
+        assertThat(ItemRequestRepository.keywords("Нужна пила для дачи")).containsExactlyInAnyOrder("пила", "дачи");
+    }
+
+    @Test
+    public void checkFindAnswerItemIds() {
+        ItemRequest drill = requestRepository.create(request("Дрель", 1));
+        ItemRequest saw = requestRepository.create(request("Пила", 1));
+
+        requestRepository.addAnswers(7, List.of(drill.getId()));
+        requestRepository.addAnswers(5, List.of(drill.getId()));
+
+        assertThat(requestRepository.findAnswerItemIds(List.of(drill.getId(), saw.getId())))
+                .containsOnlyKeys(drill.getId())
+                .containsEntry(drill.getId(), List.of(5, 7));
+    }
+
+    @Test
+    public void checkStateRestoredFromJournalAfterRestart(@TempDir Path directory) throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        ItemRequestRepositoryInMemory repository = new ItemRequestRepositoryInMemory(properties);
+        ItemRequest drill = repository.create(request("Нужна дрель", 1));
+        ItemRequest saw = repository.create(request("Нужна пила", 2));
+        repository.addAnswers(7, List.of(drill.getId(), saw.getId()));
+        repository.close();
+
+        ItemRequestRepositoryInMemory restarted = new ItemRequestRepositoryInMemory(properties);
+        ItemRequest next = restarted.create(request("Нужна стремянка", 1));
+        restarted.close();
+
+        assertThat(restarted.findRequestById(saw.getId())).contains(saw);
+        assertThat(restarted.findRequestsByRequestor(1)).containsExactly(next, drill);
+        assertThat(restarted.findRequestIdsByKeywords(Set.of("дрель"), 2)).containsExactly(drill.getId());
+        assertThat(restarted.findAnswerItemIds(List.of(drill.getId(), saw.getId())))
+                .containsEntry(drill.getId(), List.of(7))
+                .containsEntry(saw.getId(), List.of(7));
+        assertThat(next.getId()).isEqualTo(saw.getId() + 1);
+    }
+
+    private static ItemRequest request(String description, int requestorId) {
+        return ItemRequest.builder()
+                .description(description)
+                .requestorId(requestorId)
+                .created(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+}
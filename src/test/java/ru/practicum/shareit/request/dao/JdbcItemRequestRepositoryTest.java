@@ -0,0 +1,87 @@
+package ru.practicum.shareit.request.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.item.dao.JdbcItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dao.JdbcUserRepository;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"jdbc", "test"})
+@Import({JdbcItemRequestRepository.class, JdbcItemRepository.class, JdbcUserRepository.class})
+class JdbcItemRequestRepositoryTest {
+    @Autowired
+    private ItemRequestRepository requestRepository;
+    @Autowired
+    private JdbcItemRepository itemRepository;
+    @Autowired
+    private JdbcUserRepository userRepository;
+    private int firstUserId;
+    private int secondUserId;
+
+    @BeforeEach
+    public void createUsers() {
+        firstUserId = userRepository.create(User.builder().name("first").email("first@request.test").build()).getId();
+        secondUserId = userRepository.create(User.builder().name("second").email("second@request.test").build()).getId();
+    }
+
+    @Test
+    public void checkCreateAndFindRequests() {
+        ItemRequest first = requestRepository.create(request("Нужна дрель", firstUserId));
+        ItemRequest second = requestRepository.create(request("Нужна пила", secondUserId));
+        ItemRequest third = requestRepository.create(request("Нужна стремянка", firstUserId));
+
+        assertThat(requestRepository.findRequestById(second.getId())).contains(second);
+        assertThat(requestRepository.findRequestsByRequestor(firstUserId)).containsExactly(third, first);
+        assertThat(requestRepository.findOtherRequests(secondUserId, new PageRequest(0, 10, 0)))
+                .containsExactly(third, first);
+        assertThat(requestRepository.findOtherRequests(secondUserId, new PageRequest(1, 1, 0)))
+                .containsExactly(first);
+    }
+
+    @Test
+    public void checkKeywordMatchingAndAnswers() {
+        ItemRequest drill = requestRepository.create(request("Ищу дрель или перфоратор", firstUserId));
+        requestRepository.create(request("Дрель на час", secondUserId));
+        int itemId = itemRepository.create(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .ownerId(secondUserId)
+                .build()).getId();
+
+        List<Integer> requestIds = requestRepository.findRequestIdsByKeywords(Set.of("дрель", "ударная"), secondUserId);
+        assertThat(requestIds).containsExactly(drill.getId());
+
+        requestRepository.addAnswers(itemId, requestIds);
+
+        assertThat(requestRepository.findAnswerItemIds(List.of(drill.getId())))
+                .containsOnlyKeys(drill.getId())
+                .containsEntry(drill.getId(), List.of(itemId));
+        assertThat(itemRepository.findItemsByIds(List.of(itemId, Integer.MAX_VALUE))).extracting(Item::getId)
+                .containsExactly(itemId);
+    }
+
+    private static ItemRequest request(String description, int requestorId) {
+        return ItemRequest.builder()
+                .description(description)
+                .requestorId(requestorId)
+                .created(LocalDateTime.of(2024, 6, 1, 12, 0))
+                .build();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.request.service;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ValidationException;
+import ru.practicum.shareit.item.dao.ItemRepository;
+import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.request.dao.ItemRequestRepository;
+import ru.practicum.shareit.request.dao.ItemRequestRepositoryInMemory;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.dao.UserRepository;
+import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ItemRequestServiceImplTest {
+    private final UserRepository userRepository = new UserRepositoryInMemory();
+    private final ItemRepository itemRepository = new ItemRepositoryInMemory();
+    private final ItemRequestRepository requestRepository = new ItemRequestRepositoryInMemory();
+    private final UserService userService = new UserServiceImpl(userRepository, itemRepository);
+    private final ItemService itemService = new ItemServiceImpl(itemRepository, userRepository, requestRepository);
+    private final ItemRequestService requestService =
+            new ItemRequestServiceImpl(requestRepository, itemRepository, userRepository);
+    private final UserDto requestor = userService.create(UserDto.builder()
+            .name("requestor")
+            .email("requestor@mail.mail")
+            .build());
+    private final UserDto owner = userService.create(UserDto.builder()
+            .name("owner")
+            .email("owner@mail.mail")
+            .build());
+
+    @Test
+    public void checkNewItemsAnswerMatchingRequests() {
+        ItemRequestDto drill = requestService.create(requestor.getId(), request("Нужна дрель на выходные"));
+        ItemRequestDto ladder = requestService.create(requestor.getId(), request("Нужна стремянка"));
+        ItemRequestDto ownDrill = requestService.create(owner.getId(), request("Сломалась дрель"));
+
+        ItemDto item = itemService.create(owner.getId(), item("Дрель ударная"));
+        itemService.createOrUpdateAll(owner.getId(), List.of(item("Стремянка"), item("Пила")));
+
+        List<ItemRequestDto> requests = requestService.findUserRequests(requestor.getId());
+        assertThat(requests).extracting(ItemRequestDto::getId).containsExactly(ladder.getId(), drill.getId());
+        assertThat(requests.get(1).getItems()).extracting(ItemDto::getId).containsExactly(item.getId());
+        assertThat(requests.get(0).getItems()).extracting(ItemDto::getName).containsExactly("Стремянка");
+        assertThat(requestService.findRequestById(requestor.getId(), ownDrill.getId()).getItems()).isEmpty();
+    }
+
+    @Test
+    public void checkCommonWordsDoNotAnswerRequests() {
+        ItemRequestDto saw = requestService.create(requestor.getId(), request("Нужна пила для дачи"));
+
+        itemService.create(owner.getId(), item("Насадка для дрели"));
+
+        assertThat(requestService.findRequestById(requestor.getId(), saw.getId()).getItems()).isEmpty();
+    }
+
+    @Test
+    public void checkFindOtherRequests() {
+        ItemRequestDto first = requestService.create(requestor.getId(), request("Нужна дрель"));
+        ItemRequestDto second = requestService.create(requestor.getId(), request("Нужна пила"));
+        requestService.create(owner.getId(), request("Нужна стремянка"));
+
+        assertThat(requestService.findOtherRequests(owner.getId(), PageRequest.of(0, 10, null)))
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(second.getId(), first.getId());
+        assertThat(requestService.findOtherRequests(owner.getId(), PageRequest.of(1, 10, null)))
+                .extracting(ItemRequestDto::getId)
+                .containsExactly(first.getId());
+    }
+
+    @Test
+    public void whenCreateInvalidRequestThanExceptionThrown() {
+        assertThatThrownBy(() -> requestService.create(requestor.getId(), request(" ")))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> requestService.create(Integer.MAX_VALUE, request("Нужна дрель")))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> requestService.findRequestById(requestor.getId(), Integer.MAX_VALUE))
+                .isInstanceOf(NoSuchElementException.class);
+    }
+
+    private static ItemRequestDto request(String description) {
+        return ItemRequestDto.builder()
+                .description(description)
+                .build();
+    }
+
+    private static ItemDto item(String name) {
+        return ItemDto.builder()
+                .name(name)
+                .description("Описание")
+                .available(true)
+                .build();
+    }
+}
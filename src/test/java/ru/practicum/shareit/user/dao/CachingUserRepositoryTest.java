@@ -0,0 +1,43 @@
+package ru.practicum.shareit.user.dao;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.cache.CacheProperties;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CachingUserRepositoryTest {
+    private final UserRepository userRepository = new CachingUserRepository(new UserRepositoryInMemory(), new CacheProperties());
+
+    @Test
+    public void checkFindUserByEmailAfterEmailChange() {
+        User user = userRepository.create(User.builder().name("test").email("old@test.test").build());
+        assertThat(userRepository.findUserByEmail("old@test.test")).contains(user);
+
+        User changed = user.toBuilder().email("new@test.test").build();
+        userRepository.update(changed);
+        assertThat(userRepository.findUserByEmail("old@test.test")).isEmpty();
+        assertThat(userRepository.findUserByEmail("new@test.test")).contains(changed);
+
+        User other = userRepository.create(User.builder().name("other").email("old@test.test").build());
+        assertThat(userRepository.findUserByEmail("old@test.test")).contains(other);
+    }
+
+    @Test
+    public void checkWritesInvalidateCache() {
+        List<User> users = userRepository.createAll(List.of(
+                User.builder().name("first").email("first@test.test").build(),
+                User.builder().name("second").email("second@test.test").build()));
+        users.forEach(user -> userRepository.findUserById(user.getId()));
+
+        User renamed = users.getFirst().toBuilder().name("renamed").build();
+        userRepository.updateAll(List.of(renamed));
+        assertThat(userRepository.findUserById(renamed.getId())).contains(renamed);
+
+        userRepository.deleteById(users.get(1).getId());
+        assertThat(userRepository.findUserById(users.get(1).getId())).isEmpty();
+        assertThat(userRepository.findUserByEmail("second@test.test")).isEmpty();
+    }
+}
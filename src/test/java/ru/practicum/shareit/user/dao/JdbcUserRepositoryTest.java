@@ -0,0 +1,103 @@
+package ru.practicum.shareit.user.dao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.pagination.PageRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JdbcTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles({"jdbc", "test"})
+@Import(JdbcUserRepository.class)
+class JdbcUserRepositoryTest {
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    public void checkCreateUpdateDeleteUser() {
+        User user = userRepository.create(user("test1@jdbc.test"));
+        assertThat(user.getId()).isGreaterThan(0);
+        assertThat(userRepository.findUserById(user.getId())).contains(user);
+
+        user.setEmail("test2@jdbc.test");
+        userRepository.update(user);
+        assertThat(user.getVersion()).isEqualTo(2);
+        assertThat(userRepository.findUserByEmail("test2@jdbc.test")).contains(user);
+        assertThat(userRepository.findUserVersion(user.getId())).hasValue(2);
+        assertThat(userRepository.findUserByEmail("test1@jdbc.test")).isEmpty();
+
+        userRepository.deleteById(user.getId());
+        assertThat(userRepository.findUserById(user.getId())).isEmpty();
+    }
+
+    @Test
+    public void whenEmailDuplicatedThanExceptionThrown() {
+        userRepository.create(user("test3@jdbc.test"));
+        User other = userRepository.create(user("test4@jdbc.test"));
+
+        assertThatThrownBy(() -> userRepository.create(user("test3@jdbc.test")))
+                .isInstanceOf(UserEmailConfilct.class);
+        assertThatThrownBy(() -> userRepository.create(user(" Test3@JDBC.test")))
+                .isInstanceOf(UserEmailConfilct.class);
+        assertThat(userRepository.findUserByEmail("TEST3@jdbc.test")).isPresent();
+        other.setEmail("test3@jdbc.test");
+        assertThatThrownBy(() -> userRepository.update(other)).isInstanceOf(UserEmailConfilct.class);
+    }
+
+    @Test
+    public void whenUpdateMissingUserThanExceptionThrown() {
+        User user = user("test5@jdbc.test");
+        user.setId(Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> userRepository.update(user)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    public void checkFindAllUsersByPages() {
+        User first = userRepository.create(user("test6@jdbc.test"));
+        User second = userRepository.create(user("test7@jdbc.test"));
+        User third = userRepository.create(user("test8@jdbc.test"));
+
+        assertThat(userRepository.findAllUsers(new PageRequest(0, 2, first.getId() - 1)))
+                .containsExactly(first, second);
+        assertThat(userRepository.findAllUsers(new PageRequest(1, 2, first.getId())))
+                .containsExactly(third);
+    }
+
+    private static User user(String email) {
+        return User.builder()
+                .name("test")
+                .email(email)
+                .build();
+    }
+
+    @Test
+    public void checkCreateAllAndUpdateAll() {
+        List<User> users = userRepository.createAll(List.of(user("test6@jdbc.test"), user("test7@jdbc.test")));
+        assertThat(users.get(1).getId()).isEqualTo(users.get(0).getId() + 1);
+
+        users.get(0).setName("renamed");
+        User missing = user("test8@jdbc.test");
+        missing.setId(Integer.MAX_VALUE);
+        assertThat(userRepository.updateAll(List.of(users.get(0), missing))).containsExactly(users.get(0));
+        assertThat(userRepository.findUserById(users.get(0).getId())).contains(users.get(0));
+
+        User created = user("test9@jdbc.test");
+        assertThat(userRepository.createAll(List.of(user("test6@jdbc.test"), created, user("TEST9@jdbc.test"))))
+                .containsExactly(created);
+        assertThat(userRepository.findUserByEmail("test9@jdbc.test")).map(User::getId).hasValue(created.getId());
+        assertThatThrownBy(() -> userRepository.create(user("test7@jdbc.test")))
+                .isInstanceOf(UserEmailConfilct.class);
+    }
+}
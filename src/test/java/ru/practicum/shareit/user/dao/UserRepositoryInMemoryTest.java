@@ -1,9 +1,24 @@
 package ru.practicum.shareit.user.dao;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.practicum.shareit.journal.JournalProperties;
+import ru.practicum.shareit.exception.UserEmailConfilct;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 class UserRepositoryInMemoryTest {
     private final UserRepository userRepository = new UserRepositoryInMemory();
@@ -36,7 +51,9 @@ class UserRepositoryInMemoryTest {
                 .build();
 
         assertThat(userRepository.update(userUpdate))
-                .hasFieldOrPropertyWithValue("email", "new@email.com");
+                .hasFieldOrPropertyWithValue("email", "new@email.com")
+                .hasFieldOrPropertyWithValue("version", 2L);
+        assertThat(userRepository.findUserVersion(user.getId())).hasValue(2);
 
         assertThat(userRepository.findUserByEmail("test2@test.test")).isEmpty();
     }
@@ -70,6 +87,40 @@ class UserRepositoryInMemoryTest {
         assertThat(userRepository.findAllUsers()).size().isGreaterThan(1);
     }
 
+    @Test
+    public void checkFindAllUsersByPages() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            users.add(userRepository.create(User.builder()
+                    .name("paged")
+                    .email("paged" + i + "@test.test")
+                    .build()));
+        }
+        userRepository.deleteById(users.get(1).getId());
+
+        assertThat(userRepository.findAllUsers(new PageRequest(0, 2, 0)))
+                .containsExactly(users.get(0), users.get(2));
+        assertThat(userRepository.findAllUsers(new PageRequest(0, 2, users.get(2).getId())))
+                .containsExactly(users.get(3), users.get(4));
+        assertThat(userRepository.findAllUsers(new PageRequest(1, 10, users.get(0).getId())))
+                .containsExactly(users.get(3), users.get(4));
+        assertThat(userRepository.findAllUsers(new PageRequest(0, 2, users.get(4).getId()))).isEmpty();
+    }
+
+    @Test
+    public void checkUsersCountGauge() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ((UserRepositoryInMemory) userRepository).bindTo(registry);
+        User user = userRepository.create(User.builder()
+                .name("test")
+                .email("gauge@test.test")
+                .build());
+        assertThat(registry.get("shareit.users.count").gauge().value()).isEqualTo(1);
+
+        userRepository.deleteById(user.getId());
+        assertThat(registry.get("shareit.users.count").gauge().value()).isZero();
+    }
+
     @Test
     public void checkFindUserByEmail() {
         User user = userRepository.create(User.builder()
@@ -80,4 +131,134 @@ class UserRepositoryInMemoryTest {
         assertThat(userRepository.findUserByEmail(user.getEmail())).isPresent();
     }
 
-}
\ No newline at end of file
+    @Test
+    public void checkConcurrentCreateUsers() throws Exception {
+        final int threads = 8;
+        final int usersPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<List<User>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                List<User> created = new ArrayList<>();
+                for (int i = 0; i < usersPerThread; i++) {
+                    created.add(userRepository.create(User.builder()
+                            .name("concurrent")
+                            .email("concurrent" + thread + "_" + i + "@test.test")
+                            .build()));
+                }
+                return created;
+            }));
+        }
+
+        List<User> created = new ArrayList<>();
+        for (Future<List<User>> future : futures) {
+            created.addAll(future.get());
+        }
+        executor.shutdown();
+
+        assertThat(created).extracting(User::getId).doesNotHaveDuplicates();
+        assertThat(created).allSatisfy(user -> {
+            assertThat(userRepository.findUserById(user.getId())).contains(user);
+            assertThat(userRepository.findUserByEmail(user.getEmail())).contains(user);
+        });
+        assertThat(userRepository.findAllUsers()).hasSize(threads * usersPerThread);
+    }
+
+    @Test
+    public void checkCreateAllAndUpdateAll() {
+        List<User> users = userRepository.createAll(List.of(
+                User.builder().name("batch1").email("batch1@test.test").build(),
+                User.builder().name("batch2").email("batch2@test.test").build()));
+        assertThat(users.get(1).getId()).isEqualTo(users.get(0).getId() + 1);
+
+        User renamed = User.builder().id(users.get(0).getId()).name("renamed").email("batch1@test.test").build();
+        User missing = User.builder().id(Integer.MAX_VALUE).name("missing").email("missing@test.test").build();
+        assertThat(userRepository.updateAll(List.of(renamed, missing))).containsExactly(renamed);
+        assertThat(userRepository.findUserById(renamed.getId())).contains(renamed);
+        assertThat(userRepository.findUserById(missing.getId())).isEmpty();
+    }
+
+    @Test
+    public void checkConcurrentCreateUsersWithSameEmail() throws Exception {
+        final int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    userRepository.create(User.builder()
+                            .name("race" + thread)
+                            .email(thread % 2 == 0 ? "Race@Test.test" : " race@test.TEST ")
+                            .build());
+                    return true;
+                } catch (UserEmailConfilct e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int succeeded = 0;
+        for (Future<Boolean> future : futures) {
+            succeeded += future.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(succeeded).isEqualTo(1);
+        assertThat(userRepository.findAllUsers()).hasSize(1);
+        assertThat(userRepository.findUserByEmail("RACE@test.test")).isPresent();
+    }
+
+    @Test
+    public void checkEmailReservationIsAllOrNothing() {
+        User first = userRepository.create(User.builder().name("first").email("first@test.test").build());
+
+        User created = User.builder().name("new").email("new@test.test").build();
+        assertThat(userRepository.createAll(List.of(created,
+                User.builder().name("taken").email("FIRST@test.test").build(),
+                User.builder().name("repeated").email("new@test.test").build())))
+                .containsExactly(created);
+        assertThat(userRepository.findUserByEmail("new@test.test")).contains(created);
+        assertThat(userRepository.findUserByEmail("first@test.test")).contains(first);
+
+        User second = userRepository.create(User.builder().name("second").email("second@test.test").build());
+        User renamed = User.builder().id(second.getId()).name("second").email("Second2@test.test").build();
+        User conflicting = User.builder().id(first.getId()).name("first").email("second@test.test").build();
+        assertThatThrownBy(() -> userRepository.updateAll(List.of(renamed, conflicting)))
+                .isInstanceOf(UserEmailConfilct.class);
+        assertThat(userRepository.findUserByEmail("second2@test.test")).isEmpty();
+        assertThat(userRepository.findUserByEmail("second@test.test")).contains(second);
+
+        userRepository.update(renamed);
+        assertThat(userRepository.findUserByEmail("second@test.test")).isEmpty();
+        assertThat(userRepository.create(User.builder().name("reused").email("second@test.test").build()).getId())
+                .isGreaterThan(0);
+    }
+
+    @Test
+    public void checkStateRestoredFromJournalAfterRestart(@TempDir Path directory) throws IOException {
+        JournalProperties properties = new JournalProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+        UserRepositoryInMemory repository = new UserRepositoryInMemory(properties);
+        User user = repository.create(User.builder().name("test").email("old@mail.ru").build());
+        User deleted = repository.create(User.builder().name("test2").email("deleted@mail.ru").build());
+        repository.update(user.toBuilder().email("New@mail.ru").build());
+        repository.deleteById(deleted.getId());
+        repository.close();
+
+        UserRepositoryInMemory restarted = new UserRepositoryInMemory(properties);
+        restarted.close();
+
+        assertThat(restarted.findUserByEmail("new@mail.ru")).map(User::getId).hasValue(user.getId());
+        assertThat(restarted.findUserVersion(user.getId())).hasValue(2);
+        assertThat(restarted.findUserByEmail("old@mail.ru")).isEmpty();
+        assertThat(restarted.findUserById(deleted.getId())).isEmpty();
+        assertThat(restarted.findAllUsers(PageRequest.UNPAGED)).hasSize(1);
+    }
+}
@@ -1,12 +1,16 @@
 package ru.practicum.shareit.user.service;
 
 import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.batch.BatchResult;
 import ru.practicum.shareit.exception.UserEmailConfilct;
 import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dao.ItemRepositoryInMemory;
+import ru.practicum.shareit.pagination.PageRequest;
 import ru.practicum.shareit.user.dao.UserRepositoryInMemory;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.model.User;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -59,6 +63,13 @@ class UserServiceImplTest {
                 .build();
 
         assertThatThrownBy(() -> userService.create(user2)).isInstanceOf(UserEmailConfilct.class);
+
+        UserDto user3 = UserDto.builder()
+                .name("test upper")
+                .email("TEST1@test.test")
+                .build();
+
+        assertThatThrownBy(() -> userService.create(user3)).isInstanceOf(UserEmailConfilct.class);
     }
 
     @Test
@@ -128,6 +139,55 @@ class UserServiceImplTest {
                 .email("test5@test.test")
                 .build());
 
-        assertThat(userService.getAllUsers()).size().isGreaterThan(1);
+        assertThat(userService.getAllUsers(PageRequest.UNPAGED).getContent()).size().isGreaterThan(1);
+    }
+
+    @Test
+    public void checkCreateOrUpdateAll() {
+        UserDto existing = userService.create(UserDto.builder()
+                .name("existing")
+                .email("batch0@test.test")
+                .build());
+
+        List<BatchResult<UserDto>> results = userService.createOrUpdateAll(List.of(
+                UserDto.builder().name("batch1").email("batch1@test.test").build(),
+                UserDto.builder().id(existing.getId()).name("renamed").build(),
+                UserDto.builder().name("no email").build(),
+                UserDto.builder().name("taken").email("batch0@test.test").build(),
+                UserDto.builder().name("batch1 again").email("batch1@test.test").build(),
+                UserDto.builder().id(Integer.MAX_VALUE).name("missing").build(),
+                UserDto.builder().name("batch2").email("batch2@test.test").build()));
+
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(201, 200, 400, 409, 409, 404, 201);
+        assertThat(results.get(6).getResult().getId()).isEqualTo(results.get(0).getResult().getId() + 1);
+        assertThat(userService.getUserById(existing.getId()))
+                .hasFieldOrPropertyWithValue("name", "renamed")
+                .hasFieldOrPropertyWithValue("email", "batch0@test.test");
+        assertThat(userService.getAllUsers(PageRequest.UNPAGED).getContent())
+                .extracting(UserDto::getName).containsExactly("renamed", "batch1", "batch2");
+    }
+
+    @Test
+    public void whenEmailTakenDuringBatchThanOnlyThatUserFails() {
+        UserRepositoryInMemory userRepository = new UserRepositoryInMemory() {
+            @Override
+            public List<User> createAll(List<User> users) {
+                if (users.size() > 1) {
+                    // параллельный запрос занимает email после проверки пакета
+                    create(User.builder().name("racer").email("race@test.test").build());
+                }
+                return super.createAll(users);
+            }
+        };
+        UserServiceImpl service = new UserServiceImpl(userRepository, new ItemRepositoryInMemory());
+
+        List<BatchResult<UserDto>> results = service.createOrUpdateAll(List.of(
+                UserDto.builder().name("first").email("first@test.test").build(),
+                UserDto.builder().name("race").email("Race@test.test").build(),
+                UserDto.builder().name("last").email("last@test.test").build()));
+
+        assertThat(results).extracting(BatchResult::getStatus).containsExactly(201, 409, 201);
+        assertThat(userRepository.findUserByEmail("race@test.test")).map(User::getName).hasValue("racer");
+        assertThat(userRepository.findUserByEmail("last@test.test")).isPresent();
     }
- }
\ No newline at end of file
+}
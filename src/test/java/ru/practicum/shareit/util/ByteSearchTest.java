@@ -0,0 +1,81 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ByteSearchTest {
+    private final ByteSearch.Kernel vector = new VectorByteSearch();
+
+    @Test
+    public void checkVectorKernelUsedWithModule() {
+        // тесты запускаются с --add-modules jdk.incubator.vector
+        assertThat(ByteSearch.isVectorized()).isTrue();
+    }
+
+    @Test
+    public void checkEdgeCases() {
+        byte[] text = utf8("ударная дрель, дрель-шуруповерт");
+
+        for (ByteSearch.Kernel kernel : kernels()) {
+            assertThat(kernel.indexOf(text, utf8("дрель"))).isEqualTo(utf8("ударная ").length);
+            assertThat(kernel.indexOf(text, utf8("шуруповерт"))).isEqualTo(text.length - utf8("шуруповерт").length);
+            assertThat(kernel.indexOf(text, utf8("т"))).isEqualTo(text.length - 2);
+            assertThat(kernel.indexOf(text, utf8("пила"))).isEqualTo(-1);
+            assertThat(kernel.indexOf(text, new byte[0])).isZero();
+            assertThat(kernel.indexOf(utf8("дре"), utf8("дрель"))).isEqualTo(-1);
+            assertThat(kernel.indexOf(new byte[0], utf8("д"))).isEqualTo(-1);
+            // последний байт текста отличается от последнего байта образца только младшим битом
+            assertThat(kernel.indexOf(utf8("ba`xxxxxxxxxxxx"), utf8("aa"))).isEqualTo(-1);
+            assertThat(kernel.indexOf(utf8("пррсссссссссссс"), utf8("рр"))).isEqualTo(2);
+            assertThat(kernel.indexOf(utf8("прсссссссссссс"), utf8("рр"))).isEqualTo(-1);
+        }
+    }
+
+    @Test
+    public void checkKernelsMatchStringIndexOf() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            String text = randomText(random, random.nextInt(300));
+            String pattern = random.nextBoolean() && !text.isEmpty()
+                    ? substring(random, text)
+                    : randomText(random, 1 + random.nextInt(6));
+            int expected = text.indexOf(pattern) < 0 ? -1 : utf8(text.substring(0, text.indexOf(pattern))).length;
+
+            for (ByteSearch.Kernel kernel : kernels()) {
+                assertThat(kernel.indexOf(utf8(text), utf8(pattern)))
+                        .as("'%s' в '%s'", pattern, text)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    private ByteSearch.Kernel[] kernels() {
+        return new ByteSearch.Kernel[]{vector, (text, pattern) -> ByteSearch.scalarIndexOf(text, pattern, 0)};
+    }
+
+    /**
+     * Маленький алфавит из латиницы и кириллицы, чтобы совпадений первого и последнего байта было много;
+     * пары a и `, р и с отличаются младшим битом последнего байта.
+     */
+    private static String randomText(Random random, int length) {
+        String alphabet = "ab`дрс ";
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return text.toString();
+    }
+
+    private static String substring(Random random, String text) {
+        int start = random.nextInt(text.length());
+        return text.substring(start, start + 1 + random.nextInt(Math.min(40, text.length() - start)));
+    }
+
+    private static byte[] utf8(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+}
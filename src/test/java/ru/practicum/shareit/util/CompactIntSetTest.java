@@ -0,0 +1,63 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactIntSetTest {
+    private final CompactIntSet set = new CompactIntSet();
+
+    @Test
+    public void checkAddRemoveContains() {
+        assertThat(set.add(5)).isTrue();
+        assertThat(set.add(1)).isTrue();
+        assertThat(set.add(70_000)).isTrue();
+        assertThat(set.add(5)).isFalse();
+
+        assertThat(set.contains(5)).isTrue();
+        assertThat(set.contains(6)).isFalse();
+        assertThat(set.size()).isEqualTo(3);
+        assertThat(set.stream().toArray()).containsExactly(1, 5, 70_000);
+
+        assertThat(set.remove(5)).isTrue();
+        assertThat(set.remove(5)).isFalse();
+        assertThat(set.remove(70_000)).isTrue();
+        assertThat(set.stream().toArray()).containsExactly(1);
+    }
+
+    @Test
+    public void checkDenseBlocksMatchTreeSet() {
+        Random random = new Random(7);
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 200_000; i++) {
+            int value = random.nextInt(150_000);
+            if (random.nextInt(4) == 0) {
+                assertThat(set.remove(value)).isEqualTo(expected.remove(value));
+            } else {
+                assertThat(set.add(value)).isEqualTo(expected.add(value));
+            }
+        }
+
+        assertThat(set.size()).isEqualTo(expected.size());
+        assertThat(set.stream().boxed().toList()).isEqualTo(expected.stream().toList());
+        for (int from : new int[]{-1, 0, 1, 65_535, 65_536, 70_001, 131_072, 150_000}) {
+            assertThat(set.stream(from).boxed().toList()).isEqualTo(expected.tailSet(from).stream().toList());
+        }
+
+        expected.forEach(set::remove);
+        assertThat(set.isEmpty()).isTrue();
+        assertThat(set.stream().count()).isZero();
+    }
+
+    @Test
+    public void checkBlockBoundaries() {
+        set.add(65_535);
+        set.add(65_536);
+        set.add(0);
+
+        assertThat(set.stream().toArray()).containsExactly(0, 65_535, 65_536);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntObjectMapTest {
+    private final IntObjectMap<String> map = new IntObjectMap<>();
+
+    @Test
+    public void checkPutGetRemove() {
+        assertThat(map.put(1, "one")).isNull();
+        assertThat(map.put(0, "zero")).isNull();
+        assertThat(map.put(-5, "minus five")).isNull();
+        assertThat(map.put(1, "uno")).isEqualTo("one");
+
+        assertThat(map.get(1)).isEqualTo("uno");
+        assertThat(map.get(0)).isEqualTo("zero");
+        assertThat(map.get(-5)).isEqualTo("minus five");
+        assertThat(map.get(2)).isNull();
+        assertThat(map.size()).isEqualTo(3);
+
+        assertThat(map.remove(1)).isEqualTo("uno");
+        assertThat(map.remove(1)).isNull();
+        assertThat(map.containsKey(1)).isFalse();
+        assertThat(map.size()).isEqualTo(2);
+
+        assertThat(map.put(1, "again")).isNull();
+        assertThat(map.get(1)).isEqualTo("again");
+    }
+
+    @Test
+    public void checkConditionalWrites() {
+        assertThat(map.replace(7, "seven")).isNull();
+        assertThat(map.containsKey(7)).isFalse();
+
+        assertThat(map.putIfAbsent(7, "seven")).isNull();
+        assertThat(map.putIfAbsent(7, "other")).isEqualTo("seven");
+        assertThat(map.replace(7, "SEVEN")).isEqualTo("seven");
+        assertThat(map.get(7)).isEqualTo("SEVEN");
+    }
+
+    @Test
+    public void checkGrowAndIterate() {
+        for (int i = 0; i < 100_000; i++) {
+            map.put(i, "v" + i);
+        }
+        for (int i = 0; i < 100_000; i += 2) {
+            map.remove(i);
+        }
+
+        assertThat(map.size()).isEqualTo(50_000);
+        assertThat(map.values()).hasSize(50_000).allMatch(v -> Integer.parseInt(v.substring(1)) % 2 == 1);
+        assertThat(map.get(99_999)).isEqualTo("v99999");
+        assertThat(map.get(99_998)).isNull();
+    }
+
+    @Test
+    public void checkInsertAndRemoveNearThreshold() {
+        IntObjectMap<String> small = new IntObjectMap<>();
+        for (int i = 0; i < 1_000; i++) {
+            small.put(i, "v" + i);
+        }
+        for (int i = 1_000; i < 200_000; i++) {
+            small.put(i, "v" + i);
+            small.remove(i - 1_000);
+        }
+
+        assertThat(small.size()).isEqualTo(1_000);
+        assertThat(small.get(199_000)).isEqualTo("v199000");
+        assertThat(small.get(198_999)).isNull();
+        assertThat(small.values()).hasSize(1_000);
+    }
+
+    @Test
+    public void checkConcurrentWritersAndReaders() throws Exception {
+        final int threads = 8;
+        final int keysPerThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads * 2);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final int base = t * keysPerThread;
+            futures.add(executor.submit(() -> {
+                for (int i = base; i < base + keysPerThread; i++) {
+                    map.put(i, "v" + i);
+                }
+            }));
+            futures.add(executor.submit(() -> {
+                for (int i = base; i < base + keysPerThread; i++) {
+                    String value = map.get(i);
+                    assertThat(value == null || value.equals("v" + i)).isTrue();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(map.size()).isEqualTo(threads * keysPerThread);
+        for (int i = 0; i < threads * keysPerThread; i++) {
+            assertThat(map.get(i)).isEqualTo("v" + i);
+        }
+    }
+}